@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets the replica service of docker-compose-dev.yml stream WAL from this instance
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
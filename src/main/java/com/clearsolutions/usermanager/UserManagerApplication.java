@@ -2,8 +2,13 @@ package com.clearsolutions.usermanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * The servlet application, backed by JDBC and JPA.
+ * R2DBC is only used by the reactive variant, see {@link com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication}.
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class UserManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,340 @@
+package com.clearsolutions.usermanager.cache;
+
+import com.clearsolutions.usermanager.properties.CacheInvalidationProperties;
+import com.clearsolutions.usermanager.utils.Logger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the users cache of every instance sharing the database in step, with PostgreSQL {@code NOTIFY}
+ * and {@code LISTEN} instead of a message broker.
+ *
+ * <p>Users evicted on this instance, which happens once the writing transaction has committed,
+ * are collected for {@code app.cacheInvalidation.batchWindowMillis} and sent with a single statement
+ * on the {@value #CHANNEL} channel. Each notification carries the ID of the sending instance and
+ * a comma-separated list of user IDs, or {@value #FLUSH_ALL} to flush the whole cache, which is also
+ * sent when a burst exceeds {@code app.cacheInvalidation.maxBatchSize} users or sending failed.
+ * Emails registered in the {@link EmailBloomFilter} are sent the same way on the {@value #EMAILS_CHANNEL}
+ * channel, one per line, so the other instances never rule out an email taken here.
+ *
+ * <p>A dedicated connection, outside the pool and always to the primary, listens for the notifications
+ * of the other instances and applies them in batches the same way. Notifications sent while it is
+ * not listening are lost, so the cache is flushed every time it starts listening, after losing
+ * its connection as well as on startup, and the email filter is loaded again after a lost connection.
+ *
+ * <p>Publishes the metric {@value #INVALIDATIONS_METRIC}: users sent and received, and flushes of the cache.
+ */
+public class CacheInvalidationBus implements DisposableBean {
+
+    public static final String CHANNEL = "user_cache_invalidation";
+    public static final String EMAILS_CHANNEL = "user_email_registration";
+    public static final String FLUSH_ALL = "*";
+    public static final String APPLICATION_NAME = "user-cache-invalidation";
+    public static final String INVALIDATIONS_METRIC = "users.cache.invalidations";
+
+    private static final String NOTIFY = """
+            SELECT pg_notify(channel, payload)
+            FROM unnest(?::text[], ?::text[]) AS notification(channel, payload)""";
+
+    /**
+     * PostgreSQL rejects payloads of 8000 bytes or more.
+     */
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+    private static final int POLL_MILLIS = 1000;
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 10_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSource listenerDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final long batchWindowMillis;
+    private final int maxBatchSize;
+    private final long reconnectDelayMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Object> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingEmails = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingFlush = new AtomicBoolean();
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter flushedCounter;
+    private final ScheduledExecutorService publisher;
+    private final Thread listener;
+
+    private volatile boolean running = true;
+
+    public CacheInvalidationBus(DataSource listenerDataSource, JdbcTemplate jdbcTemplate, Cache cache,
+                                EmailBloomFilter emailBloomFilter,
+                                CacheInvalidationProperties cacheInvalidationProperties,
+                                MeterRegistry meterRegistry) {
+        this.listenerDataSource = listenerDataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = cache;
+        this.emailBloomFilter = emailBloomFilter;
+        this.batchWindowMillis = cacheInvalidationProperties.getBatchWindowMillis();
+        this.maxBatchSize = cacheInvalidationProperties.getMaxBatchSize();
+        this.reconnectDelayMillis = cacheInvalidationProperties.getReconnectDelayMillis();
+
+        this.sentCounter = Counter.builder(INVALIDATIONS_METRIC)
+                .tag("result", "sent")
+                .description("Users evicted on this instance and sent to the other instances")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder(INVALIDATIONS_METRIC)
+                .tag("result", "received")
+                .description("Users evicted on another instance and evicted here")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder(INVALIDATIONS_METRIC)
+                .tag("result", "flushed")
+                .description("Flushes of the whole cache sent or applied")
+                .register(meterRegistry);
+
+        this.publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "cache-invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::send, batchWindowMillis, batchWindowMillis, TimeUnit.MILLISECONDS);
+
+        this.listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Evicts the user from the cache of the other instances with the next batch.
+     *
+     * @param key The key of the user in the cache.
+     */
+    public void publish(Object key) {
+        pendingKeys.add(key);
+    }
+
+    /**
+     * Flushes the cache of the other instances with the next batch.
+     */
+    public void publishAll() {
+        pendingFlush.set(true);
+    }
+
+    /**
+     * Adds the email to the email filter of the other instances with the next batch.
+     *
+     * @param email The registered email.
+     */
+    public void publishEmail(String email) {
+        pendingEmails.add(email);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        publisher.shutdown();
+        if (publisher.awaitTermination(batchWindowMillis + POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            // Sends what was evicted since the last batch, as long as the database is still reachable
+            send();
+        }
+        listener.interrupt();
+        listener.join(POLL_MILLIS);
+    }
+
+    private void send() {
+        var flush = pendingFlush.getAndSet(false);
+        var keys = drain(pendingKeys);
+        var emails = drain(pendingEmails);
+        if (!flush && keys.isEmpty() && emails.isEmpty()) {
+            return;
+        }
+
+        var flushAll = flush || keys.size() > maxBatchSize;
+        var channels = new ArrayList<String>();
+        var payloads = new ArrayList<String>();
+        if (flushAll) {
+            channels.add(CHANNEL);
+            payloads.add(nodeId + ":" + FLUSH_ALL);
+        } else if (!keys.isEmpty()) {
+            payloads(keys, ',').forEach(payload -> {
+                channels.add(CHANNEL);
+                payloads.add(payload);
+            });
+        }
+        if (!emails.isEmpty()) {
+            payloads(emails, '\n').forEach(payload -> {
+                channels.add(EMAILS_CHANNEL);
+                payloads.add(payload);
+            });
+        }
+
+        try {
+            jdbcTemplate.query(NOTIFY, (RowCallbackHandler) resultSet -> { },
+                    channels.toArray(String[]::new), payloads.toArray(String[]::new));
+        } catch (DataAccessException e) {
+            // The evicted users are no longer known, so the other instances must drop everything
+            pendingFlush.set(true);
+            emails.forEach(email -> pendingEmails.add((String) email));
+            Logger.warning("Cache invalidation", "Unable to send invalidations: " + e.getMessage());
+            return;
+        }
+        if (flushAll) {
+            flushedCounter.increment();
+        } else {
+            sentCounter.increment(keys.size());
+        }
+    }
+
+    private static List<Object> drain(Set<?> pending) {
+        var values = new ArrayList<>();
+        for (var iterator = pending.iterator(); iterator.hasNext(); ) {
+            values.add(iterator.next());
+            iterator.remove();
+        }
+        return values;
+    }
+
+    private List<String> payloads(List<Object> values, char separator) {
+        var payloads = new ArrayList<String>();
+        var payload = new StringBuilder(nodeId).append(':');
+        var empty = payload.length();
+        for (var value : values) {
+            var text = value.toString();
+            if (payload.length() > empty && payload.length() + text.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(empty);
+            }
+            if (payload.length() > empty) {
+                payload.append(separator);
+            }
+            payload.append(text);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void listen() {
+        var connected = false;
+        while (running) {
+            try (var connection = listenerDataSource.getConnection()) {
+                connection.setClientInfo("ApplicationName", APPLICATION_NAME);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                    statement.execute("LISTEN " + EMAILS_CHANNEL);
+                }
+                cache.clear();
+                flushedCounter.increment();
+                if (connected) {
+                    // On startup the filter is loaded once the application is ready
+                    emailBloomFilter.load();
+                }
+                connected = true;
+                Logger.info("Cache invalidation", "Listening for invalidations, flushed the users cache");
+
+                var notifications = connection.unwrap(PGConnection.class);
+                var lastReceived = System.currentTimeMillis();
+                while (running) {
+                    var batch = receive(notifications);
+                    if (!batch.isEmpty()) {
+                        apply(batch);
+                        lastReceived = System.currentTimeMillis();
+                    } else if (System.currentTimeMillis() - lastReceived > VALIDATE_AFTER_IDLE_MILLIS) {
+                        // A connection that silently went away would otherwise just look idle
+                        if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                            throw new SQLException("Listening connection is no longer valid");
+                        }
+                        lastReceived = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                Logger.warning("Cache invalidation", "Stopped listening for invalidations: " + e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for notifications and, once the first arrives, collects the ones arriving within the batch window.
+     */
+    private List<PGNotification> receive(PGConnection connection) throws SQLException {
+        var first = connection.getNotifications(POLL_MILLIS);
+        if (first == null || first.length == 0) {
+            return List.of();
+        }
+        var batch = new ArrayList<PGNotification>();
+        Collections.addAll(batch, first);
+        var deadline = System.currentTimeMillis() + batchWindowMillis;
+        for (var remaining = batchWindowMillis; remaining > 0; remaining = deadline - System.currentTimeMillis()) {
+            var more = connection.getNotifications((int) remaining);
+            if (more != null) {
+                Collections.addAll(batch, more);
+            }
+        }
+        return batch;
+    }
+
+    private void apply(List<PGNotification> batch) {
+        var keys = new HashSet<Long>();
+        var flush = false;
+        for (var notification : batch) {
+            var payload = notification.getParameter();
+            var separator = payload.indexOf(':');
+            if (separator < 0) {
+                flush = true;
+                continue;
+            }
+            if (payload.startsWith(nodeId) && separator == nodeId.length()) {
+                // Applied here already
+                continue;
+            }
+            var body = payload.substring(separator + 1);
+            if (EMAILS_CHANNEL.equals(notification.getName())) {
+                body.lines().forEach(emailBloomFilter::add);
+                continue;
+            }
+            if (FLUSH_ALL.equals(body)) {
+                flush = true;
+                continue;
+            }
+            try {
+                for (var id : body.split(",")) {
+                    keys.add(Long.valueOf(id));
+                }
+            } catch (NumberFormatException e) {
+                flush = true;
+            }
+        }
+
+        if (flush || keys.size() > maxBatchSize) {
+            cache.clear();
+            flushedCounter.increment();
+        } else {
+            keys.forEach(cache::evict);
+            receivedCounter.increment(keys.size());
+        }
+    }
+}
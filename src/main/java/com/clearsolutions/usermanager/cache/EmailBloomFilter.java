@@ -0,0 +1,136 @@
+package com.clearsolutions.usermanager.cache;
+
+import com.clearsolutions.usermanager.properties.EmailFilterProperties;
+import com.clearsolutions.usermanager.repository.UserExportRepository;
+import com.clearsolutions.usermanager.utils.Logger;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * In-memory Bloom filter of the normalized emails of all users.
+ * A negative answer means that no user has the email, so the uniqueness query can be skipped.
+ * A positive answer is only a hint and must be confirmed against the database.
+ * Emails are never removed, so deleted users only add to the false positive rate.
+ * With the {@link CacheInvalidationBus} enabled, emails registered on one instance are added
+ * to the filter of every other instance too.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private final UserExportRepository userExportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+    private final BloomFilter<String> filter;
+    private final Counter absentCounter;
+    private final Counter presentCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile boolean loaded;
+
+    public EmailBloomFilter(UserExportRepository userExportRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                            EmailFilterProperties emailFilterProperties,
+                            MeterRegistry meterRegistry) {
+        this.userExportRepository = userExportRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.filter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                emailFilterProperties.getExpectedInsertions(), emailFilterProperties.getFalsePositiveRate());
+
+        Gauge.builder("users.email.filter.false.positive.probability", filter, BloomFilter::expectedFpp)
+                .description("Current probability that an unknown email is reported as possibly registered")
+                .register(meterRegistry);
+        Gauge.builder("users.email.filter.target.false.positive.probability",
+                        emailFilterProperties::getFalsePositiveRate)
+                .description("Configured false positive probability")
+                .register(meterRegistry);
+        this.absentCounter = Counter.builder("users.email.filter.checks")
+                .tag("result", "absent")
+                .description("Email uniqueness checks answered without a query")
+                .register(meterRegistry);
+        this.presentCounter = Counter.builder("users.email.filter.checks")
+                .tag("result", "maybe")
+                .description("Email uniqueness checks that had to query the database")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("users.email.filter.false.positives")
+                .description("Checks the filter reported as possibly registered that the database did not confirm")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the emails of all users once the application has started, and again whenever emails
+     * registered on other instances may have been missed.
+     * Emails registered meanwhile are added by {@link #put(String)}, so none are missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var started = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> userExportRepository.forEachEmail(this::add));
+        loaded = true;
+
+        Logger.info("Email filter loaded", String.format("Loaded %d emails in %d ms, false positive probability %.4f",
+                filter.approximateElementCount(), System.currentTimeMillis() - started, filter.expectedFpp()));
+    }
+
+    /**
+     * Checks whether a user with the given email might exist.
+     * Until the filter is loaded every email might exist.
+     *
+     * @param email The email to check.
+     * @return false if no user has the email, true if one might.
+     */
+    public boolean mightContain(String email) {
+        var mightContain = !loaded || filter.mightContain(normalize(email));
+        (mightContain ? presentCounter : absentCounter).increment();
+
+        return mightContain;
+    }
+
+    /**
+     * Registers the email of a user created or updated on this instance, and passes it on
+     * to the other instances.
+     *
+     * @param email The email to register.
+     */
+    public void put(String email) {
+        add(email);
+        var bus = cacheInvalidationBus.getIfAvailable();
+        if (bus != null) {
+            bus.publishEmail(email);
+        }
+    }
+
+    /**
+     * Registers the email of a user created or updated on another instance.
+     *
+     * @param email The email to register.
+     */
+    public void add(String email) {
+        filter.put(normalize(email));
+    }
+
+    /**
+     * Records that an email reported as possibly registered was not found in the database.
+     */
+    public void recordFalsePositive() {
+        falsePositiveCounter.increment();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.clearsolutions.usermanager.cache;
+
+import com.clearsolutions.usermanager.properties.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs each distinct query at most once at a time: a request for a query that is already running
+ * waits for it and shares its result, or its failure, instead of running it again.
+ * Results are not kept once the query finishes, so a later request runs the query anew.
+ * A request that has waited longer than {@code app.coalescing.maxJoinWaitMillis} stops waiting
+ * and runs the query on its own.
+ */
+@Component
+public class InFlightQueries {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> running = new ConcurrentHashMap<>();
+    private final long maxJoinWaitMillis;
+    private final Counter coalescedCounter;
+    private final Counter timedOutCounter;
+
+    public InFlightQueries(CoalescingProperties coalescingProperties, MeterRegistry meterRegistry) {
+        this.maxJoinWaitMillis = coalescingProperties.getMaxJoinWaitMillis();
+        this.coalescedCounter = Counter.builder("users.queries.coalesced")
+                .tag("result", "shared")
+                .description("Requests answered with the result of an identical query that was already running")
+                .register(meterRegistry);
+        this.timedOutCounter = Counter.builder("users.queries.coalesced")
+                .tag("result", "timed_out")
+                .description("Requests that stopped waiting for an identical query and ran their own")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the query, or waits for the identical one that is already running.
+     *
+     * @param key   Identifies the query and all its parameters; must implement {@code equals} and {@code hashCode}.
+     * @param query Runs the query.
+     * @return The result of the query.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Supplier<V> query) {
+        var own = new CompletableFuture<Object>();
+        var existing = running.putIfAbsent(key, own);
+        if (existing == null) {
+            return (V) lead(key, own, query);
+        }
+        return (V) join(existing, query);
+    }
+
+    private Object lead(Object key, CompletableFuture<Object> own, Supplier<?> query) {
+        try {
+            var result = query.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, own);
+        }
+    }
+
+    private Object join(CompletableFuture<Object> existing, Supplier<?> query) {
+        try {
+            var result = existing.get(maxJoinWaitMillis, TimeUnit.MILLISECONDS);
+            coalescedCounter.increment();
+            return result;
+        } catch (TimeoutException | CancellationException e) {
+            timedOutCounter.increment();
+            return query.get();
+        } catch (ExecutionException e) {
+            coalescedCounter.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical query", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.clearsolutions.usermanager.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Passes every eviction on to the {@link CacheInvalidationBus} after applying it to the cache,
+ * so the other instances evict the same entries.
+ */
+class InvalidationPublishingCache implements Cache {
+
+    private final Cache cache;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    InvalidationPublishingCache(Cache cache, CacheInvalidationBus cacheInvalidationBus) {
+        this.cache = cache;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return cache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return cache.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return cache.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return cache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.evict(key);
+        cacheInvalidationBus.publish(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        var present = cache.evictIfPresent(key);
+        // Another instance may hold the entry even when this one does not
+        cacheInvalidationBus.publish(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+        cacheInvalidationBus.publishAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        var invalidated = cache.invalidate();
+        cacheInvalidationBus.publishAll();
+        return invalidated;
+    }
+}
@@ -0,0 +1,35 @@
+package com.clearsolutions.usermanager.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheEvictOperation;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+
+import java.util.Collection;
+
+/**
+ * Resolves caches like {@link SimpleCacheResolver}, but hands {@code @CacheEvict} operations caches
+ * that also evict the entries on the other instances through the {@link CacheInvalidationBus}.
+ * Entries evicted because they expired or the cache is full stay local.
+ */
+public class InvalidationPublishingCacheResolver extends SimpleCacheResolver {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public InvalidationPublishingCacheResolver(CacheManager cacheManager, CacheInvalidationBus cacheInvalidationBus) {
+        super(cacheManager);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        var caches = super.resolveCaches(context);
+        if (!(context.getOperation() instanceof CacheEvictOperation)) {
+            return caches;
+        }
+        return caches.stream()
+                .map(cache -> new InvalidationPublishingCache(cache, cacheInvalidationBus))
+                .toList();
+    }
+}
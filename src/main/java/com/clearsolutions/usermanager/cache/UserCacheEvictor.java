@@ -0,0 +1,52 @@
+package com.clearsolutions.usermanager.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+
+/**
+ * Evicts a set of users from the users cache that is only known once they were written,
+ * which {@code @CacheEvict} cannot express. Like {@code @CacheEvict}, the eviction is passed on
+ * to the other instances when the {@link CacheInvalidationBus} is enabled.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+
+    /**
+     * Evicts the users with the given IDs. Within a transaction, they are evicted once it has committed,
+     * so they cannot be reloaded with the rows it is about to change.
+     *
+     * @param ids The unique identifiers of the users.
+     */
+    public void evictAll(Collection<Long> ids) {
+        var cache = cacheManager.getCache(USERS);
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        var bus = cacheInvalidationBus.getIfAvailable();
+        Cache target = bus == null ? cache : new InvalidationPublishingCache(cache, bus);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(target::evict);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(target::evict);
+            }
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.clearsolutions.usermanager.changefeed;
+
+import com.clearsolutions.usermanager.dto.ChangePage;
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.exceptions.custom.ChangeTokenExpiredException;
+import com.clearsolutions.usermanager.properties.ChangeFeedProperties;
+import com.clearsolutions.usermanager.service.UserChangeService;
+import com.clearsolutions.usermanager.utils.Logger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Streams changes of users to clients as server-sent events. Every event carries its change token as its ID,
+ * so a client that reconnects with {@code Last-Event-ID} resumes right after the last change it received.
+ *
+ * <p>A single thread polls the change feed every {@code app.changeFeed.pollMillis} for all open streams.
+ * Streams at the same position, usually all of them once they have caught up, share one query.
+ * A stream without changes gets a keep-alive comment every {@code app.changeFeed.heartbeatMillis},
+ * which also detects clients that went away.
+ *
+ * <p>Publishes the metrics {@value #SUBSCRIBERS_METRIC}, the number of open streams,
+ * and {@value #DELIVERED_METRIC}, the number of changes sent over all streams.
+ */
+@Component
+public class UserChangeFeed implements DisposableBean {
+
+    public static final String EVENT_NAME = "user-change";
+    public static final String SUBSCRIBERS_METRIC = "users.changes.subscribers";
+    public static final String DELIVERED_METRIC = "users.changes.delivered";
+
+    private final UserChangeService userChangeService;
+    private final int batchSize;
+    private final long heartbeatMillis;
+    private final long streamTimeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter deliveredCounter;
+    private final ScheduledExecutorService scheduler;
+
+    public UserChangeFeed(UserChangeService userChangeService, ChangeFeedProperties changeFeedProperties,
+                          MeterRegistry meterRegistry) {
+        this.userChangeService = userChangeService;
+        this.batchSize = changeFeedProperties.getMaxBatchSize();
+        this.heartbeatMillis = changeFeedProperties.getHeartbeatMillis();
+        this.streamTimeoutMillis = changeFeedProperties.getStreamTimeoutMillis();
+
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+                .description("Open change streams")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder(DELIVERED_METRIC)
+                .description("Changes sent to change streams")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "user-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = changeFeedProperties.getPollMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of the changes after the given position.
+     * The stream ends after {@code app.changeFeed.streamTimeoutMillis}; clients reconnect to continue.
+     *
+     * @param since The position to stream after, or null to stream only changes committed from now on.
+     * @return The emitter of the stream.
+     * @throws ChangeTokenExpiredException if changes after the position were already purged.
+     */
+    public SseEmitter subscribe(ChangeToken since) throws ChangeTokenExpiredException {
+        var position = since;
+        if (position == null) {
+            position = userChangeService.currentPosition();
+        } else {
+            // Fails before the stream opens, while the client can still be answered with an error status
+            userChangeService.findChangesSince(position, 0);
+        }
+
+        var emitter = new SseEmitter(streamTimeoutMillis);
+        var subscriber = new Subscriber(emitter, position.encode());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void poll() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        var byPosition = subscribers.stream().collect(Collectors.groupingBy(subscriber -> subscriber.position));
+        byPosition.forEach((position, group) -> {
+            try {
+                var page = userChangeService.findChangesSince(ChangeToken.decode(position), batchSize);
+                group.forEach(subscriber -> deliver(subscriber, page));
+            } catch (ChangeTokenExpiredException e) {
+                // The client reconnects with its last event ID and is told to read all users again
+                group.forEach(subscriber -> end(subscriber, e));
+            } catch (RuntimeException e) {
+                // Keeps the poller alive; the streams are polled again on the next tick
+                Logger.warning("Change feed", "Unable to read changes: " + e.getMessage());
+            }
+        });
+    }
+
+    private void deliver(Subscriber subscriber, ChangePage page) {
+        var now = System.currentTimeMillis();
+        try {
+            if (page.changes().isEmpty()) {
+                if (now - subscriber.lastSentMillis >= heartbeatMillis) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                    subscriber.lastSentMillis = now;
+                }
+                return;
+            }
+            for (var change : page.changes()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(change.token())
+                        .name(EVENT_NAME)
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+            deliveredCounter.increment(page.changes().size());
+            subscriber.position = page.token();
+            subscriber.lastSentMillis = now;
+        } catch (IOException | IllegalStateException e) {
+            end(subscriber, e);
+        }
+    }
+
+    private void end(Subscriber subscriber, Exception cause) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(cause);
+    }
+
+    /**
+     * An open stream. Its position and send time are only changed by the polling thread.
+     */
+    private static class Subscriber {
+
+        private final SseEmitter emitter;
+        private volatile String position;
+        private volatile long lastSentMillis = System.currentTimeMillis();
+
+        Subscriber(SseEmitter emitter, String position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+    }
+}
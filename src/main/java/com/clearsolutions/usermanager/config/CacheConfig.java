@@ -0,0 +1,37 @@
+package com.clearsolutions.usermanager.config;
+
+import com.clearsolutions.usermanager.cache.CacheInvalidationBus;
+import com.clearsolutions.usermanager.cache.InvalidationPublishingCacheResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables caching of service results.
+ * The caching advice is ordered around the transactional one, so cache entries are evicted
+ * only after the surrounding transaction has committed and cannot be reloaded with stale rows.
+ * With the {@link CacheInvalidationBus} enabled, evictions are passed on to the other instances as well.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class CacheConfig implements CachingConfigurer {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+
+    @Override
+    public CacheResolver cacheResolver() {
+        var bus = cacheInvalidationBus.getIfAvailable();
+        if (bus == null) {
+            return new SimpleCacheResolver(cacheManager.getObject());
+        }
+        return new InvalidationPublishingCacheResolver(cacheManager.getObject(), bus);
+    }
+}
@@ -0,0 +1,42 @@
+package com.clearsolutions.usermanager.config;
+
+import com.clearsolutions.usermanager.cache.CacheInvalidationBus;
+import com.clearsolutions.usermanager.cache.EmailBloomFilter;
+import com.clearsolutions.usermanager.properties.CacheInvalidationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+
+/**
+ * Evicts users changed on one instance from the users cache of every instance sharing the database.
+ * Only active when {@code app.cacheInvalidation.enabled} is set; a single instance does not need it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cacheInvalidation.enabled", havingValue = "true")
+public class CacheInvalidationConfig {
+
+    /**
+     * Listens on a connection of its own, opened with the settings of the primary datasource,
+     * since a pooled connection would be held for good and a replica never receives notifications.
+     */
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(DataSourceProperties dataSourceProperties,
+                                                     JdbcTemplate jdbcTemplate,
+                                                     CacheManager cacheManager,
+                                                     EmailBloomFilter emailBloomFilter,
+                                                     CacheInvalidationProperties cacheInvalidationProperties,
+                                                     MeterRegistry meterRegistry) {
+        var listenerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        return new CacheInvalidationBus(listenerDataSource, jdbcTemplate, cacheManager.getCache(USERS),
+                emailBloomFilter, cacheInvalidationProperties, meterRegistry);
+    }
+}
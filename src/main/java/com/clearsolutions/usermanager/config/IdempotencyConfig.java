@@ -0,0 +1,52 @@
+package com.clearsolutions.usermanager.config;
+
+import com.clearsolutions.usermanager.idempotency.IdempotencyFilter;
+import com.clearsolutions.usermanager.idempotency.IdempotencyStore;
+import com.clearsolutions.usermanager.idempotency.InMemoryIdempotencyStore;
+import com.clearsolutions.usermanager.idempotency.JdbcIdempotencyStore;
+import com.clearsolutions.usermanager.properties.IdempotencyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Makes the endpoints that create users idempotent for requests sent with an {@code Idempotency-Key} header.
+ * Responses are kept in memory, or in the {@code idempotency_keys} table when
+ * {@code app.idempotency.table.enabled} is set.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.table.enabled", havingValue = "false", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties idempotencyProperties) {
+        return new InMemoryIdempotencyStore(idempotencyProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.table.enabled", havingValue = "true")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                                 IdempotencyProperties idempotencyProperties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, idempotencyProperties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            IdempotencyProperties idempotencyProperties,
+            MeterRegistry meterRegistry) {
+        var filter = new IdempotencyFilter(idempotencyStore, exceptionResolver,
+                idempotencyProperties.getMaxResponseBytes(), idempotencyProperties.getMaxWaitMillis(), meterRegistry);
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/users", "/api/users/batch", "/api/users/import");
+        return registration;
+    }
+}
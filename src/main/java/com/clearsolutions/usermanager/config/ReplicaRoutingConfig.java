@@ -0,0 +1,104 @@
+package com.clearsolutions.usermanager.config;
+
+import com.clearsolutions.usermanager.datasource.ReadYourWritesFilter;
+import com.clearsolutions.usermanager.datasource.ReplicaLagMonitor;
+import com.clearsolutions.usermanager.datasource.ReplicaRoutingDataSource;
+import com.clearsolutions.usermanager.properties.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the read replicas listed in {@code app.replicas.urls}
+ * and everything else to the primary datasource configured under {@code spring.datasource}.
+ * Only active when {@code app.replicas.enabled} is set; otherwise Spring Boot configures
+ * the single primary datasource as usual.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * The primary datasource, built like the one Spring Boot configures on its own.
+     * Flyway migrates it directly, since migrations must never reach a replica.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties dataSourceProperties,
+                                               HikariDataSource primaryDataSource,
+                                               ReplicaProperties replicaProperties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicas(dataSourceProperties, primaryDataSource, replicaProperties),
+                replicaProperties, meterRegistry);
+    }
+
+    /**
+     * The datasource used by JPA, JdbcTemplate and the transaction manager.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        var routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor.getReplicas(),
+                replicaLagMonitor, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties replicaProperties) {
+        var window = replicaProperties.getReadYourWritesMillis();
+        var registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/api/*");
+        registration.setEnabled(window > 0);
+        return registration;
+    }
+
+    /**
+     * Creates one read-only pool per replica URL, sized like the primary pool
+     * and with the credentials of the primary datasource.
+     */
+    private static Map<String, DataSource> replicas(DataSourceProperties dataSourceProperties,
+                                                    HikariDataSource primaryDataSource,
+                                                    ReplicaProperties replicaProperties) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        var urls = replicaProperties.getUrls();
+        for (int i = 0; i < urls.size(); i++) {
+            var name = "replica-" + (i + 1);
+            var replica = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i))
+                    .build();
+            replica.setPoolName(name);
+            replica.setReadOnly(true);
+            if (primaryDataSource.getMaximumPoolSize() > 0) {
+                // Left unset, Hikari picks the same default size for both pools
+                replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            }
+            replica.setConnectionTimeout(replicaProperties.getConnectionTimeoutMillis());
+            replicas.put(name, replica);
+        }
+        return replicas;
+    }
+}
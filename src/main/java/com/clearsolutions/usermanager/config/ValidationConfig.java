@@ -0,0 +1,20 @@
+package com.clearsolutions.usermanager.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/**
+ * Lets Hibernate validate entities before writing them with the validator of the application context
+ * instead of building its own, so that constraint validators get their configuration injected there too.
+ */
+@Configuration
+public class ValidationConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer validatorFactoryCustomizer(LocalValidatorFactoryBean validatorFactory) {
+        return properties -> properties.put(AvailableSettings.JAKARTA_VALIDATION_FACTORY, validatorFactory);
+    }
+}
@@ -0,0 +1,8 @@
+package com.clearsolutions.usermanager.constants;
+
+public final class CacheNames {
+
+    private CacheNames() {}
+
+    public static final String USERS = "users";
+}
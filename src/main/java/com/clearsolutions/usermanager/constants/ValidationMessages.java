@@ -8,6 +8,37 @@ public final class ValidationMessages {
     public static final String LAST_NAME_REQUIRED = "Last name is required";
     public static final String EMAIL_REQUIRED = "Email is required";
     public static final String INVALID_EMAIL_FORMAT = "Invalid email format";
+    public static final String FIRST_NAME_TOO_LONG = "First name must be at most 255 characters long";
+    public static final String LAST_NAME_TOO_LONG = "Last name must be at most 255 characters long";
+    public static final String EMAIL_TOO_LONG = "Email must be at most 255 characters long";
+    public static final String ADDRESS_TOO_LONG = "Address must be at most 255 characters long";
+    public static final String PHONE_TOO_LONG = "Phone must be at most 255 characters long";
     public static final String BIRTH_DATE_REQUIRED = "Birth date is required";
     public static final String BIRTH_DATE_PAST = "Birth date must be in the past";
+    public static final String INVALID_CURSOR = "Cursor is malformed";
+    public static final String INVALID_CHANGE_TOKEN = "Change token is malformed";
+    public static final String INVALID_COUNT_MODE = "Count mode must be either 'none' or 'estimate'";
+    public static final String USER_REQUIRED = "User is required";
+    public static final String USERS_REQUIRED = "At least one user is required";
+    public static final String BULK_LIMIT_EXCEEDED = "At most %d users can be created at once";
+    public static final String BULK_DELETE_LIMIT_EXCEEDED = "At most %d users can be deleted at once";
+    public static final String IDS_REQUIRED = "At least one ID is required";
+    public static final String EMAILS_REQUIRED = "At least one email is required";
+    public static final String LOOKUP_KEYS_REQUIRED = "Exactly one of 'ids' or 'emails' is required";
+    public static final String FIELDS_REQUIRED = "At least one field is required";
+    public static final String UNKNOWN_USER_FIELD = "Unknown user field '%s'";
+    public static final String UNKNOWN_SORT_PROPERTY = "Users cannot be sorted by '%s'";
+    public static final String INVALID_IF_MATCH = "If-Match must be * or a single ETag returned for the user";
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be between 1 and 255 characters long";
+    public static final String MULTI_GET_LIMIT_EXCEEDED = "At most %d users can be fetched at once";
+    public static final String DELETE_RANGE_REQUIRED = "At least one of 'from' or 'to' is required to delete users by birth date";
+    public static final String EMAIL_REPEATED_IN_BULK = "Email is repeated in the request";
+    public static final String EMAIL_ALREADY_EXISTS = "Email already exists";
+    public static final String INVALID_EXPORT_FORMAT = "Export format must be either 'ndjson' or 'csv'";
+    public static final String INVALID_BIRTH_DATE_FORMAT = "Birth date must be formatted as yyyy-MM-dd";
+    public static final String MALFORMED_JSON_ROW = "Row is not a valid JSON object";
+    public static final String MERGE_PATCH_NOT_OBJECT = "Merge patch must be a JSON object";
+    public static final String UNKNOWN_PATCH_FIELD = "Field '%s' cannot be patched";
+    public static final String PATCH_VALUE_NOT_STRING = "Field '%s' must be a string or null";
+    public static final String MALFORMED_CSV_FILE = "CSV file is malformed at row %d: %s";
 }
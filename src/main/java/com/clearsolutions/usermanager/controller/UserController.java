@@ -1,24 +1,55 @@
 package com.clearsolutions.usermanager.controller;
 
+import com.clearsolutions.usermanager.changefeed.UserChangeFeed;
+import com.clearsolutions.usermanager.dto.BulkCreateResult;
+import com.clearsolutions.usermanager.dto.BulkDeleteResult;
+import com.clearsolutions.usermanager.dto.ChangePage;
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.dto.CursorPage;
 import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.IfMatch;
+import com.clearsolutions.usermanager.dto.ImportReport;
+import com.clearsolutions.usermanager.dto.MultiGetResult;
+import com.clearsolutions.usermanager.dto.PageResult;
+import com.clearsolutions.usermanager.dto.SlicePage;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserLookupRequest;
+import com.clearsolutions.usermanager.dto.UserView;
 import com.clearsolutions.usermanager.dto.annotation.OnlyAdult;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
 import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.service.UserBulkService;
+import com.clearsolutions.usermanager.service.UserChangeService;
+import com.clearsolutions.usermanager.service.UserExportService;
+import com.clearsolutions.usermanager.service.UserImportService;
 import com.clearsolutions.usermanager.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 
 import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
 
@@ -29,26 +60,170 @@ import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserBulkService userBulkService;
+    private final UserImportService userImportService;
+    private final UserChangeService userChangeService;
+    private final UserChangeFeed userChangeFeed;
 
-    @GetMapping
-    public ResponseEntity<Page<User>> getUsersByBirthDateRange(Pageable pageable, @Valid @ModelAttribute DateRange dateRange) {
-        var users = userService.findUsersByBirthDateRange(dateRange, pageable);
+    @GetMapping(params = {"!ids", "!emails", "!cursor", "!count"})
+    public ResponseEntity<PageResult<?>> getUsersByBirthDateRange(
+            Pageable pageable,
+            @Valid @ModelAttribute DateRange dateRange,
+            @RequestParam(required = false) UserFields fields) {
+        var users = fields == null
+                ? PageResult.of(userService.findUsersByBirthDateRange(dateRange, pageable))
+                : PageResult.of(userService.findUsersByBirthDateRange(dateRange, pageable, fields).map(fields::select));
 
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getUserById(
+            @PathVariable @Min(1L) Long id, @RequestParam(required = false) UserFields fields) {
+        var user = userService.getById(id);
+
+        return ResponseEntity.ok().eTag(eTag(user.version(), fields)).body(narrow(user, fields));
+    }
+
+    @GetMapping(params = {"ids", "!emails", "!cursor", "!count"})
+    public ResponseEntity<MultiGetResult<?, Long>> getUsersByIds(
+            @RequestParam @NotEmpty(message = IDS_REQUIRED) List<@Min(1L) Long> ids,
+            @RequestParam(required = false) UserFields fields) {
+        var users = userService.getAllById(ids, fields == null ? UserFields.ALL : fields);
+
+        return ResponseEntity.ok(new MultiGetResult<>(narrow(users.users(), fields), users.missing()));
+    }
+
+    @GetMapping(params = {"emails", "!ids", "!cursor", "!count"})
+    public ResponseEntity<MultiGetResult<?, String>> getUsersByEmails(
+            @RequestParam @NotEmpty(message = EMAILS_REQUIRED)
+            List<@Email(message = INVALID_EMAIL_FORMAT) String> emails,
+            @RequestParam(required = false) UserFields fields) {
+        var users = userService.getAllByEmail(emails, fields == null ? UserFields.ALL : fields);
+
+        return ResponseEntity.ok(new MultiGetResult<>(narrow(users.users(), fields), users.missing()));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<MultiGetResult<?, ?>> lookupUsers(
+            @RequestBody @Valid UserLookupRequest request, @RequestParam(required = false) UserFields fields) {
+        var readFields = fields == null ? UserFields.ALL : fields;
+        var users = request.ids() != null
+                ? userService.getAllById(request.ids(), readFields)
+                : userService.getAllByEmail(request.emails(), readFields);
+
+        return ResponseEntity.ok(new MultiGetResult<>(narrow(users.users(), fields), users.missing()));
+    }
+
+    @GetMapping(params = {"cursor", "!count", "!ids", "!emails"})
+    public ResponseEntity<CursorPage<?>> scrollUsersByBirthDateRange(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int size,
+            @Valid @ModelAttribute DateRange dateRange,
+            @RequestParam(required = false) UserFields fields) {
+        var users = userService.scrollUsersByBirthDateRange(dateRange, cursor, size);
+
+        return ResponseEntity.ok(new CursorPage<>(narrow(users.content(), fields), users.nextCursor(), users.hasNext()));
+    }
+
+    @GetMapping(params = {"count", "!cursor", "!ids", "!emails"})
+    public ResponseEntity<SlicePage<?>> getUsersSliceByBirthDateRange(
+            Pageable pageable,
+            @Valid @ModelAttribute DateRange dateRange,
+            @RequestParam @Pattern(regexp = "none|estimate", message = INVALID_COUNT_MODE) String count,
+            @RequestParam(required = false) UserFields fields) {
+        var users = userService.findUsersSliceByBirthDateRange(dateRange, pageable);
+        var approximateTotal = "estimate".equals(count)
+                ? userService.estimateUsersByBirthDateRange(dateRange)
+                : null;
+
+        return ResponseEntity.ok(new SlicePage<>(narrow(users.getContent(), fields),
+                users.getNumber(), users.getSize(), users.hasNext(), approximateTotal));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsersByBirthDateRange(
+            @Valid @ModelAttribute DateRange dateRange,
+            @RequestParam(defaultValue = "ndjson")
+            @Pattern(regexp = "ndjson|csv", message = INVALID_EXPORT_FORMAT) String format) {
+        var exportFormat = FileFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        var contentDisposition = ContentDisposition.attachment()
+                .filename("users." + exportFormat.getFileExtension())
+                .build();
+        StreamingResponseBody body = outputStream ->
+                userExportService.exportUsersByBirthDateRange(dateRange, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangePage> getChanges(
+            @RequestParam(required = false) ChangeToken since,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size) {
+        var changes = userChangeService.findChangesSince(since, size);
+
+        return ResponseEntity.ok(changes);
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(required = false) ChangeToken since,
+            @RequestHeader(value = "Last-Event-ID", required = false) ChangeToken lastEventId) {
+        return userChangeFeed.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody @Valid User user) {
+    public ResponseEntity<?> createUser(
+            @RequestBody @Valid User user, @RequestParam(required = false) UserFields fields) {
         var createdUser = userService.create(user);
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(createdUser.getVersion(), fields))
+                .body(narrow(createdUser, fields));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BulkCreateResult> createUsers(
+            @RequestBody @NotEmpty(message = USERS_REQUIRED) List<User> users) {
+        var result = userBulkService.createAll(users);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        var importFormat = MediaType.parseMediaType(FileFormat.CSV.getContentType()).isCompatibleWith(contentType)
+                ? FileFormat.CSV
+                : FileFormat.NDJSON;
+        var report = userImportService.importUsers(importFormat, body);
+
+        return ResponseEntity.ok(report);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable @Min(1L) Long id, @RequestBody @Valid User user) {
-        var updatedUser = userService.update(id, user);
+    public ResponseEntity<?> updateUser(
+            @PathVariable @Min(1L) Long id,
+            @RequestBody @Valid User user,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.update(id, user, expectedVersion(ifMatch));
+
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<?> patchUser(
+            @PathVariable @Min(1L) Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var patchedUser = userService.patch(id, patch, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(patchedUser.getVersion(), fields)).body(narrow(patchedUser, fields));
     }
 
     @DeleteMapping("/{id}")
@@ -58,55 +233,118 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<BulkDeleteResult> deleteUsers(
+            @RequestParam @NotEmpty(message = IDS_REQUIRED) List<@Min(1L) Long> ids) {
+        var result = userBulkService.deleteAllById(ids);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping(params = "!ids")
+    public ResponseEntity<BulkDeleteResult> deleteUsersByBirthDateRange(@Valid @ModelAttribute DateRange dateRange) {
+        var result = userBulkService.deleteByBirthDateRange(dateRange);
+
+        return ResponseEntity.ok(result);
+    }
+
     @PatchMapping("/{id}/first-name")
-    public ResponseEntity<User> updateUserFirstName(
+    public ResponseEntity<?> updateUserFirstName(
             @PathVariable @Min(1L) Long id,
-            @RequestParam @NotBlank(message = FIRST_NAME_REQUIRED) String firstName) {
-        var updatedUser = userService.updateFirstName(id, firstName);
+            @RequestParam @NotBlank(message = FIRST_NAME_REQUIRED) String firstName,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.updateFirstName(id, firstName, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
     }
 
     @PatchMapping("/{id}/last-name")
-    public ResponseEntity<User> updateUserLastName(
+    public ResponseEntity<?> updateUserLastName(
             @PathVariable @Min(1L) Long id,
-            @RequestParam @NotBlank(message = LAST_NAME_REQUIRED) String lastName) {
-        var updatedUser = userService.updateLastName(id, lastName);
+            @RequestParam @NotBlank(message = LAST_NAME_REQUIRED) String lastName,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.updateLastName(id, lastName, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
     }
 
     @PatchMapping("/{id}/email")
-    public ResponseEntity<User> updateUserEmail(
+    public ResponseEntity<?> updateUserEmail(
             @PathVariable @Min(1L) Long id,
-            @RequestParam @NotBlank(message = EMAIL_REQUIRED) @Email(message = INVALID_EMAIL_FORMAT) String email) {
-        var updatedUser = userService.updateEmail(id, email);
+            @RequestParam @NotBlank(message = EMAIL_REQUIRED) @Email(message = INVALID_EMAIL_FORMAT) String email,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.updateEmail(id, email, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
     }
 
     @PatchMapping("/{id}/birth-date")
-    public ResponseEntity<User> updateUserBirthDate(
+    public ResponseEntity<?> updateUserBirthDate(
             @PathVariable @Min(1L) Long id,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            @Past(message = BIRTH_DATE_PAST) @OnlyAdult LocalDate birthDate) {
-        var updatedUser = userService.updateBirthdate(id, birthDate);
+            @Past(message = BIRTH_DATE_PAST) @OnlyAdult LocalDate birthDate,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.updateBirthdate(id, birthDate, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
     }
 
     @PatchMapping("/{id}/address")
-    public ResponseEntity<User> updateUserAddress(@PathVariable @Min(1L) Long id, @RequestParam String address) {
-        var updatedUser = userService.updateAddress(id, address);
+    public ResponseEntity<?> updateUserAddress(
+            @PathVariable @Min(1L) Long id,
+            @RequestParam String address,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.updateAddress(id, address, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
     }
 
     @PatchMapping("/{id}/phone")
-    public ResponseEntity<User> updateUserPhone(@PathVariable @Min(1L) Long id, @RequestParam String phone) {
-        var updatedUser = userService.updatePhone(id, phone);
+    public ResponseEntity<?> updateUserPhone(
+            @PathVariable @Min(1L) Long id,
+            @RequestParam String phone,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) IfMatch ifMatch,
+            @RequestParam(required = false) UserFields fields) {
+        var updatedUser = userService.updatePhone(id, phone, expectedVersion(ifMatch));
 
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok().eTag(eTag(updatedUser.getVersion(), fields)).body(narrow(updatedUser, fields));
     }
 
+    /**
+     * Formats the version of a user as its ETag, or null when the version is unknown.
+     * Only the full representation gets the strong tag that If-Match compares against; a representation
+     * narrowed to some fields differs from it byte for byte, so it gets the weak tag of the same version.
+     * GET responses carrying either are answered with 304 Not Modified, without writing the body,
+     * when the request's If-None-Match matches.
+     */
+    private static String eTag(Long version, UserFields fields) {
+        if (version == null) {
+            return null;
+        }
+        return (fields == null ? "" : "W/") + "\"" + version + "\"";
+    }
+
+    private static Long expectedVersion(IfMatch ifMatch) {
+        return ifMatch == null ? null : ifMatch.version();
+    }
+
+    /**
+     * Narrows the user to the requested fields, or keeps it whole when no fields were requested.
+     */
+    private static Object narrow(User user, UserFields fields) {
+        return fields == null ? user : fields.select(user);
+    }
+
+    private static Object narrow(UserView user, UserFields fields) {
+        return fields == null ? user : fields.select(user);
+    }
+
+    private static List<?> narrow(List<UserView> users, UserFields fields) {
+        return fields == null ? users : users.stream().map(fields::select).toList();
+    }
 }
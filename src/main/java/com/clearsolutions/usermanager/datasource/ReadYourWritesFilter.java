@@ -0,0 +1,76 @@
+package com.clearsolutions.usermanager.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Sends the reads of a client to the primary for a while after the client wrote, so that it sees
+ * its own writes even when the replicas lag behind. The end of the window is kept by the client
+ * in the {@value #COOKIE} cookie, so it holds across instances of the application.
+ * A client that does not keep cookies reads from the replicas right after its writes.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "primary-reads-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var now = System.currentTimeMillis();
+        var write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the response is committed; a write that fails only costs a few reads on the primary
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(now + windowMillis))
+                    .path("/")
+                    .httpOnly(true)
+                    .maxAge(Duration.ofMillis(windowMillis))
+                    .build()
+                    .toString());
+        }
+        if (!write && !withinWindow(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var previous = RoutingContext.pinToPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoutingContext.restore(previous);
+        }
+    }
+
+    private static boolean withinWindow(HttpServletRequest request, long now) {
+        var cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (var cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return now < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
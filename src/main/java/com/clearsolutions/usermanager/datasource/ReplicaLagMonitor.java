@@ -0,0 +1,143 @@
+package com.clearsolutions.usermanager.datasource;
+
+import com.clearsolutions.usermanager.properties.ReplicaProperties;
+import com.clearsolutions.usermanager.utils.Logger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the replication lag of every replica at a fixed interval and hands out the replicas
+ * that are reachable and no further behind the primary than {@code app.replicas.maxLagMillis},
+ * in turn. Replicas are measured once before the monitor is used, so no read reaches a replica
+ * that was never checked.
+ *
+ * <p>Publishes the metric {@value #LAG_METRIC}, the last measured lag of every replica,
+ * which is NaN while the replica cannot be reached.
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+
+    public static final String LAG_METRIC = "users.datasource.replica.lag";
+
+    /**
+     * A replica that has replayed everything it received is not behind, however long ago
+     * the last transaction was, so an idle primary does not make its replicas look stale.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END""";
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMillis;
+    private final Map<String, Double> lagMillis = new ConcurrentHashMap<>();
+    private final AtomicInteger turn = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private volatile List<String> available = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, ReplicaProperties replicaProperties,
+                             MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagMillis = replicaProperties.getMaxLagMillis();
+
+        replicas.keySet().forEach(name -> {
+            lagMillis.put(name, Double.NaN);
+            Gauge.builder(LAG_METRIC, lagMillis, lags -> lags.get(name))
+                    .tag("replica", name)
+                    .description("Last measured replication lag of the replica in milliseconds")
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        });
+        checkReplicas();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = replicaProperties.getLagCheckIntervalMillis();
+        scheduler.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the monitored replicas.
+     *
+     * @return The replicas by name.
+     */
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Picks the next replica that may serve reads.
+     *
+     * @return The name of the replica, or empty if every replica is unreachable or too far behind.
+     */
+    public Optional<String> nextReplica() {
+        var candidates = available;
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(Math.floorMod(turn.getAndIncrement(), candidates.size())));
+    }
+
+    /**
+     * Measures the lag of every replica now and updates which of them may serve reads.
+     * Runs on its own every {@code app.replicas.lagCheckIntervalMillis}.
+     */
+    public synchronized void checkReplicas() {
+        var previous = available;
+        var fresh = new ArrayList<String>(replicas.size());
+        replicas.forEach((name, replica) -> {
+            var lag = measureLag(replica);
+            lagMillis.put(name, lag);
+            if (lag <= maxLagMillis) {
+                fresh.add(name);
+                if (!previous.contains(name)) {
+                    Logger.info("Replica routing", "Replica " + name + " serves reads");
+                }
+            } else if (previous.contains(name)) {
+                Logger.warning("Replica routing", "Replica " + name + " stops serving reads, "
+                        + (Double.isNaN(lag) ? "it is unreachable" : "it lags " + Math.round(lag) + " ms behind"));
+            }
+        });
+        available = List.copyOf(fresh);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scheduler.shutdownNow();
+        for (var replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static double measureLag(DataSource replica) {
+        try (var connection = replica.getConnection();
+             var statement = connection.prepareStatement(LAG_QUERY);
+             var resultSet = statement.executeQuery()) {
+            resultSet.next();
+            var lag = resultSet.getDouble(1);
+            return resultSet.wasNull() ? Double.POSITIVE_INFINITY : lag;
+        } catch (SQLException | RuntimeException e) {
+            // Hikari fails with an unchecked exception when it cannot start the pool of a replica that is down
+            return Double.NaN;
+        }
+    }
+}
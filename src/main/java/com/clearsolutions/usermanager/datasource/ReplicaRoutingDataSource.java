@@ -0,0 +1,78 @@
+package com.clearsolutions.usermanager.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections to a replica inside read-only transactions and to the primary otherwise.
+ * Reads fall back to the primary while no replica is fresh enough, and while the current thread
+ * is pinned to the primary by {@link RoutingContext}.
+ *
+ * <p>The route is chosen when the connection is requested, so the data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: transaction managers ask
+ * for the connection before they mark the transaction read-only.
+ *
+ * <p>Publishes the metric {@value #ROUTE_METRIC}, the number of connections handed out
+ * by route and by the reason for the route.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String ROUTE_METRIC = "users.datasource.routed";
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter readWrite;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+
+        var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.readWrite = routeCounter(meterRegistry, PRIMARY, "read_write");
+        this.pinnedReads = routeCounter(meterRegistry, PRIMARY, "read_your_writes");
+        this.fallbackReads = routeCounter(meterRegistry, PRIMARY, "no_fresh_replica");
+        replicas.keySet().forEach(name -> replicaReads.put(name, routeCounter(meterRegistry, name, "read")));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return PRIMARY;
+        }
+        if (RoutingContext.isPrimaryPinned()) {
+            pinnedReads.increment();
+            return PRIMARY;
+        }
+
+        var replica = replicaLagMonitor.nextReplica();
+        if (replica.isEmpty()) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.get(replica.get()).increment();
+        return replica.get();
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route, String reason) {
+        return Counter.builder(ROUTE_METRIC)
+                .tag("route", route)
+                .tag("reason", reason)
+                .description("Connections handed out by the routing data source")
+                .register(meterRegistry);
+    }
+}
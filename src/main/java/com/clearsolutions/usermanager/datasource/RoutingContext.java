@@ -0,0 +1,63 @@
+package com.clearsolutions.usermanager.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets the current thread pin its reads to the primary database, for reads that must not see
+ * replication lag. Without replicas every read goes to the primary anyway and pinning has no effect.
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * Checks whether reads of the current thread are pinned to the primary.
+     *
+     * @return true if read-only transactions of the current thread must use the primary.
+     */
+    public static boolean isPrimaryPinned() {
+        return Boolean.TRUE.equals(PRIMARY_PINNED.get());
+    }
+
+    /**
+     * Pins the reads of the current thread to the primary until {@link #restore(boolean)} is called.
+     *
+     * @return Whether the reads were pinned before, to be passed to {@link #restore(boolean)}.
+     */
+    public static boolean pinToPrimary() {
+        var previous = isPrimaryPinned();
+        PRIMARY_PINNED.set(true);
+        return previous;
+    }
+
+    /**
+     * Restores the pinning of the current thread from before {@link #pinToPrimary()} was called.
+     *
+     * @param previous The value returned by {@link #pinToPrimary()}.
+     */
+    public static void restore(boolean previous) {
+        if (previous) {
+            PRIMARY_PINNED.set(true);
+        } else {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    /**
+     * Runs the reads on the primary.
+     *
+     * @param reads Runs the reads.
+     * @return The result of the reads.
+     */
+    public static <T> T onPrimary(Supplier<T> reads) {
+        var previous = pinToPrimary();
+        try {
+            return reads.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
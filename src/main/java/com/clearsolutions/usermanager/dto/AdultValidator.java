@@ -1,25 +1,31 @@
 package com.clearsolutions.usermanager.dto;
 
 import com.clearsolutions.usermanager.dto.annotation.OnlyAdult;
-import com.clearsolutions.usermanager.properties.ValidationProperties;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.time.LocalDate;
 import java.time.Period;
 
-@Component
-@RequiredArgsConstructor
+/**
+ * Created by the validator factory for each {@link OnlyAdult} constraint, which injects the minimal age
+ * from the environment, so it does not depend on other beans having been created first.
+ */
 public class AdultValidator implements ConstraintValidator<OnlyAdult, LocalDate> {
 
+    private final int minimalAge;
+
+    public AdultValidator(@Value("${app.validation.minimalAge}") int minimalAge) {
+        this.minimalAge = minimalAge;
+    }
+
     @Override
     public boolean isValid(LocalDate birthDate, ConstraintValidatorContext context) {
         if (birthDate == null) return false;
         var today = LocalDate.now();
         var period = Period.between(birthDate, today);
 
-        return period.getYears() >= ValidationProperties.getMinimalAge();
+        return period.getYears() >= minimalAge;
     }
 }
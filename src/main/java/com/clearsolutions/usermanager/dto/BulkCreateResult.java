@@ -0,0 +1,20 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.dto.enums.BulkItemStatus;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk request.
+ *
+ * @param created The number of created users.
+ * @param failed  The number of users that were not created.
+ * @param items   The outcome for every user, in request order.
+ */
+public record BulkCreateResult(int created, int failed, List<BulkItemResult> items) {
+
+    public static BulkCreateResult of(List<BulkItemResult> items) {
+        var created = (int) items.stream().filter(item -> item.status() == BulkItemStatus.CREATED).count();
+        return new BulkCreateResult(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,9 @@
+package com.clearsolutions.usermanager.dto;
+
+/**
+ * Outcome of a bulk delete.
+ *
+ * @param deleted The number of deleted users.
+ */
+public record BulkDeleteResult(int deleted) {
+}
@@ -0,0 +1,24 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.dto.enums.BulkItemStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of creating one user of a bulk request.
+ *
+ * @param index   The position of the user in the request.
+ * @param status  Whether the user was created, and if not, why.
+ * @param id      The ID of the created user, or {@code null} if it was not created.
+ * @param message The reason the user was not created, or {@code null} if it was.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, BulkItemStatus status, Long id, String message) {
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, BulkItemStatus.CREATED, id, null);
+    }
+
+    public static BulkItemResult rejected(int index, BulkItemStatus status, String message) {
+        return new BulkItemResult(index, status, null, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.clearsolutions.usermanager.dto;
+
+import java.util.List;
+
+/**
+ * A batch of changes from the change feed.
+ *
+ * @param changes The changes, in feed order.
+ * @param token   The token to request the following changes with; the requested one if there were no changes.
+ * @param hasMore Whether more changes are already available after this batch.
+ */
+public record ChangePage(List<UserChange> changes, String token, boolean hasMore) {
+}
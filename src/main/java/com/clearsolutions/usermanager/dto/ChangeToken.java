@@ -0,0 +1,84 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_CHANGE_TOKEN;
+
+/**
+ * Position of a change in the (transaction ID, ID) ordering of the change feed.
+ * Clients receive it as an opaque, URL-safe token to resume the feed from.
+ */
+public record ChangeToken(long txid, long id) implements Comparable<ChangeToken> {
+
+    /**
+     * The position before the first change.
+     */
+    public static final ChangeToken START = new ChangeToken(0, 0);
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Creates the position after every change of the transactions with IDs below the given one.
+     *
+     * @param txid The ID of the oldest transaction that may still record changes.
+     * @return The position just before the first change of that transaction.
+     */
+    public static ChangeToken before(long txid) {
+        return new ChangeToken(txid - 1, Long.MAX_VALUE);
+    }
+
+    /**
+     * Encodes the position into an opaque token.
+     *
+     * @return A URL-safe Base64 token.
+     */
+    public String encode() {
+        var raw = txid + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The token.
+     * @return The decoded position.
+     * @throws ValidationException if the token is malformed.
+     */
+    public static ChangeToken decode(String token) throws ValidationException {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new ValidationException(INVALID_CHANGE_TOKEN);
+            }
+            var txid = Long.parseLong(parts[0]);
+            var id = Long.parseLong(parts[1]);
+            if (txid < 0 || id < 0) {
+                throw new ValidationException(INVALID_CHANGE_TOKEN);
+            }
+            return new ChangeToken(txid, id);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(INVALID_CHANGE_TOKEN);
+        }
+    }
+
+    /**
+     * Parses a token. Used by Spring to bind the {@code since} parameter and the {@code Last-Event-ID} header.
+     *
+     * @param token The token.
+     * @return The decoded position.
+     * @throws ValidationException if the token is malformed.
+     */
+    public static ChangeToken valueOf(String token) throws ValidationException {
+        return decode(token.strip());
+    }
+
+    @Override
+    public int compareTo(ChangeToken other) {
+        var byTxid = Long.compare(txid, other.txid);
+        return byTxid != 0 ? byTxid : Long.compare(id, other.id);
+    }
+}
@@ -0,0 +1,13 @@
+package com.clearsolutions.usermanager.dto;
+
+import java.util.List;
+
+/**
+ * A page of results fetched with keyset pagination.
+ *
+ * @param content    The elements of the current page.
+ * @param nextCursor The token to request the next page with, or {@code null} on the last page.
+ * @param hasNext    Whether another page follows.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,43 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_IF_MATCH;
+
+/**
+ * The {@code If-Match} precondition of a write, e.g. {@code If-Match: "3"}.
+ * The ETag of a user is its version, so the write only succeeds while the user still has that version.
+ *
+ * @param version The version the user must have, or null for {@code *}, which matches any existing user.
+ */
+public record IfMatch(Long version) {
+
+    /**
+     * Matches any existing user, as sent with {@code If-Match: *}.
+     */
+    public static final IfMatch ANY = new IfMatch(null);
+
+    /**
+     * Parses the header value. Used by Spring to bind the {@code If-Match} header.
+     * Only {@code *} and a single strong ETag are accepted, since those are all this API hands out.
+     *
+     * @param value The header value, e.g. {@code "3"} or {@code *}.
+     * @return The parsed precondition.
+     * @throws ValidationException if the value is not {@code *} or a single quoted version.
+     */
+    public static IfMatch valueOf(String value) throws ValidationException {
+        var tag = value.strip();
+        if (tag.equals("*")) {
+            return ANY;
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new ValidationException(INVALID_IF_MATCH);
+        }
+
+        try {
+            return new IfMatch(Long.parseLong(tag.substring(1, tag.length() - 1)));
+        } catch (NumberFormatException e) {
+            throw new ValidationException(INVALID_IF_MATCH);
+        }
+    }
+}
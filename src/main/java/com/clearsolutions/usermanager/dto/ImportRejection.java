@@ -0,0 +1,10 @@
+package com.clearsolutions.usermanager.dto;
+
+/**
+ * A row of an import that was not imported.
+ *
+ * @param row     The number of the row, starting at 1: the line for NDJSON, the record after the header for CSV.
+ * @param message The reason the row was not imported.
+ */
+public record ImportRejection(long row, String message) {
+}
@@ -0,0 +1,13 @@
+package com.clearsolutions.usermanager.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of an import.
+ *
+ * @param imported   The number of imported users.
+ * @param rejected   The number of rows that were not imported.
+ * @param rejections The rejected rows in row order, up to the configured limit.
+ */
+public record ImportReport(long imported, long rejected, List<ImportRejection> rejections) {
+}
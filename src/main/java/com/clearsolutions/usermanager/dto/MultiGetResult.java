@@ -0,0 +1,12 @@
+package com.clearsolutions.usermanager.dto;
+
+import java.util.List;
+
+/**
+ * Users fetched by a list of keys in one call.
+ *
+ * @param users   The users found, in the order their keys were requested.
+ * @param missing The requested keys without a user, in request order.
+ */
+public record MultiGetResult<T, K>(List<T> users, List<K> missing) {
+}
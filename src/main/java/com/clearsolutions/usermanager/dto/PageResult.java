@@ -0,0 +1,30 @@
+package com.clearsolutions.usermanager.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * A page of results with its position and the total count, serialized as a flat object.
+ * Replaces the serialized {@link org.springframework.data.domain.PageImpl}, whose JSON repeats
+ * the pageable and sort settings and is not guaranteed to stay stable across Spring Data versions.
+ *
+ * @param content       The elements of the current page.
+ * @param number        The zero-based index of the current page.
+ * @param size          The requested page size.
+ * @param totalElements The number of elements across all pages.
+ * @param totalPages    The number of pages.
+ */
+public record PageResult<T>(List<T> content, int number, int size, long totalElements, int totalPages) {
+
+    /**
+     * Copies the content and page metadata of the Spring Data page.
+     *
+     * @param page The page to copy.
+     * @return The page result.
+     */
+    public static <T> PageResult<T> of(Page<T> page) {
+        return new PageResult<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
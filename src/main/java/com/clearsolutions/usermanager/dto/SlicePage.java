@@ -0,0 +1,22 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A page of results fetched without counting all matching elements.
+ *
+ * @param content          The elements of the current page.
+ * @param number           The zero-based index of the current page.
+ * @param size             The requested page size.
+ * @param hasNext          Whether another page follows.
+ * @param approximateTotal The planner's estimate of all matching elements, if requested.
+ */
+public record SlicePage<T>(
+        List<T> content,
+        int number,
+        int size,
+        boolean hasNext,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long approximateTotal) {
+}
@@ -0,0 +1,18 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+
+import java.time.Instant;
+
+/**
+ * A change of one user, as published by the change feed. It names the user and its version only;
+ * consumers that need the new state read the user.
+ *
+ * @param token     The position of the change, to resume the feed after it.
+ * @param userId    The ID of the changed user.
+ * @param type      Whether the user was created, updated or deleted.
+ * @param version   The version of the user after the change, or the last version of a deleted user.
+ * @param changedAt When the transaction that changed the user started.
+ */
+public record UserChange(String token, Long userId, UserChangeType type, Long version, Instant changedAt) {
+}
@@ -0,0 +1,59 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_CURSOR;
+
+/**
+ * Position of a user in the (birth date, id) ordering used by keyset pagination.
+ * Clients receive it as an opaque, URL-safe continuation token.
+ */
+public record UserCursor(LocalDate birthDate, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Creates a cursor pointing at the given user.
+     *
+     * @param user The last user of the current page.
+     * @return The cursor positioned on the given user.
+     */
+    public static UserCursor of(UserView user) {
+        return new UserCursor(user.birthDate(), user.id());
+    }
+
+    /**
+     * Encodes the cursor into an opaque continuation token.
+     *
+     * @return A URL-safe Base64 token.
+     */
+    public String encode() {
+        var raw = birthDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token produced by {@link #encode()}.
+     *
+     * @param token The continuation token.
+     * @return The decoded cursor.
+     * @throws ValidationException if the token is malformed.
+     */
+    public static UserCursor decode(String token) throws ValidationException {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new ValidationException(INVALID_CURSOR);
+            }
+            return new UserCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException(INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.dto.enums.UserField;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.FIELDS_REQUIRED;
+import static com.clearsolutions.usermanager.constants.ValidationMessages.UNKNOWN_USER_FIELD;
+
+/**
+ * The user properties requested with the {@code fields} query parameter, e.g. {@code fields=id,firstName}.
+ * Responses are narrowed to these properties and, where the query allows it, only their columns are read.
+ *
+ * @param fields The requested fields.
+ */
+public record UserFields(Set<UserField> fields) {
+
+    /**
+     * Every user property, as returned when no fields are requested.
+     */
+    public static final UserFields ALL = new UserFields(EnumSet.allOf(UserField.class));
+
+    public UserFields {
+        fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    /**
+     * Parses a comma-separated list of property names. Used by Spring to bind the {@code fields} parameter.
+     *
+     * @param value The property names, e.g. {@code id,firstName,lastName}.
+     * @return The requested fields.
+     * @throws ValidationException if the list is blank or names a property the user does not have.
+     */
+    public static UserFields valueOf(String value) throws ValidationException {
+        var fields = EnumSet.noneOf(UserField.class);
+        for (var property : value.split(",")) {
+            var name = property.strip();
+            if (!name.isEmpty()) {
+                fields.add(UserField.fromProperty(name)
+                        .orElseThrow(() -> new ValidationException(String.format(UNKNOWN_USER_FIELD, name))));
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new ValidationException(FIELDS_REQUIRED);
+        }
+
+        return new UserFields(fields);
+    }
+
+    public boolean contains(UserField field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Copies the requested properties of the user, in declaration order.
+     *
+     * @param user The user to narrow.
+     * @return The requested properties by name; properties that are null are kept.
+     */
+    public Map<String, Object> select(UserView user) {
+        var selected = new LinkedHashMap<String, Object>(fields.size() * 2);
+        for (var field : fields) {
+            selected.put(field.getProperty(), field.getReader().apply(user));
+        }
+        return selected;
+    }
+
+    /**
+     * Copies the requested properties of the user entity, in declaration order.
+     *
+     * @param user The user to narrow.
+     * @return The requested properties by name; properties that are null are kept.
+     */
+    public Map<String, Object> select(User user) {
+        return select(UserView.of(user));
+    }
+}
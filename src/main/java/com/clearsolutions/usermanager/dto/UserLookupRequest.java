@@ -0,0 +1,29 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
+
+/**
+ * Keys of the users to fetch in one call, for lists too long for a query string.
+ * Exactly one of the lists must be given.
+ *
+ * @param ids    The unique identifiers of the users.
+ * @param emails The email addresses of the users.
+ */
+public record UserLookupRequest(
+        List<@NotNull @Min(1L) Long> ids,
+        List<@NotNull @Email(message = INVALID_EMAIL_FORMAT) String> emails) {
+
+    @JsonIgnore
+    @AssertTrue(message = LOOKUP_KEYS_REQUIRED)
+    public boolean isSingleKeyList() {
+        return ids == null ^ emails == null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable, read-only view of a user returned by the query endpoints.
+ * Unlike the {@link User} entity it is never tracked by Hibernate and can be safely cached.
+ *
+ * @param id        The unique identifier of the user.
+ * @param firstName The first name of the user.
+ * @param lastName  The last name of the user.
+ * @param email     The email address of the user.
+ * @param birthDate The birth date of the user.
+ * @param address   The address of the user, may be null.
+ * @param phone     The phone number of the user, may be null.
+ * @param version   The version of the user, incremented by every write; sent as the ETag
+ *                  instead of in the body, and null when it was not read.
+ */
+public record UserView(Long id, String firstName, String lastName, String email, LocalDate birthDate,
+                       String address, String phone, @JsonIgnore Long version) {
+
+    /**
+     * Creates a view of the current state of the given user.
+     *
+     * @param user The user to create the view of.
+     * @return The view of the given user.
+     */
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getBirthDate(), user.getAddress(), user.getPhone(), user.getVersion());
+    }
+}
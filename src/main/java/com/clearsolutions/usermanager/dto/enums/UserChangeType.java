@@ -0,0 +1,7 @@
+package com.clearsolutions.usermanager.dto.enums;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,40 @@
+package com.clearsolutions.usermanager.dto.enums;
+
+import com.clearsolutions.usermanager.dto.UserView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A user property that can be requested on its own, with the column it is stored in.
+ */
+@Getter
+@AllArgsConstructor
+public enum UserField {
+    ID("id", "id", UserView::id),
+    FIRST_NAME("firstName", "first_name", UserView::firstName),
+    LAST_NAME("lastName", "last_name", UserView::lastName),
+    EMAIL("email", "email", UserView::email),
+    BIRTH_DATE("birthDate", "birth_date", UserView::birthDate),
+    ADDRESS("address", "address", UserView::address),
+    PHONE("phone", "phone", UserView::phone);
+
+    private final String property;
+    private final String column;
+    private final Function<UserView, Object> reader;
+
+    /**
+     * Finds the field by its JSON property name.
+     *
+     * @param property The property name, e.g. {@code firstName}.
+     * @return The field, or empty if the user has no such property.
+     */
+    public static Optional<UserField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+}
@@ -4,20 +4,30 @@ import com.clearsolutions.usermanager.exceptions.custom.BasicApplicationExceptio
 import com.clearsolutions.usermanager.exceptions.errors.ErrorResponse;
 import com.clearsolutions.usermanager.utils.Logger;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.UnsatisfiedServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
 
 import java.util.ArrayList;
 
+/**
+ * Maps exceptions to error responses for both the servlet and the reactive application,
+ * so that clients see the same status codes and error bodies from either of them.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -36,6 +46,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, ex.getHttpStatus());
     }
 
+    /**
+     * Handles writes that lost the race against a concurrent write of the same entity
+     * and logs the error before returning a conflict response.
+     *
+     * @param ex The exception to handle.
+     * @return A ResponseEntity containing an error response
+     * with the exception message and timestamp.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponse> handleConcurrentWrite(final OptimisticLockingFailureException ex) {
+        Logger.error(ex.getClass().getSimpleName(), ex.getMessage());
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles server exceptions and logs the error
      * before returning an internal server error response.
@@ -49,7 +75,9 @@ public class GlobalExceptionHandler {
             ConstraintViolationException.class,
             MethodArgumentNotValidException.class,
             HttpMessageNotReadableException.class,
-            MissingServletRequestParameterException.class})
+            MissingServletRequestParameterException.class,
+            UnsatisfiedServletRequestParameterException.class,
+            ServerWebInputException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponse> handleBadRequest(final Exception ex) {
         var errorMessage = getValidationErrorMessage(ex);
@@ -59,6 +87,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles requests whose body has a content type the endpoint does not accept
+     * and logs the error before returning an unsupported media type response.
+     *
+     * @param ex The exception to handle.
+     * @return A ResponseEntity containing an error response
+     * with the exception message and timestamp.
+     */
+    @ExceptionHandler({HttpMediaTypeNotSupportedException.class, UnsupportedMediaTypeStatusException.class})
+    @ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+    public ResponseEntity<ErrorResponse> handleUnsupportedMediaType(final Exception ex) {
+        Logger.error(ex.getClass().getSimpleName(), ex.getMessage());
+        ErrorResponse response = new ErrorResponse(ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
     /**
      * Handles server exceptions and logs the error
      * before returning an internal server error response.
@@ -83,8 +127,7 @@ public class GlobalExceptionHandler {
      */
     private String getValidationErrorMessage(Exception ex) {
         var errorMessages = new ArrayList<String>();
-        if (ex instanceof MethodArgumentNotValidException validationEx) {
-            var bindingResult = validationEx.getBindingResult();
+        if (ex instanceof BindingResult bindingResult) {
             for (FieldError error : bindingResult.getFieldErrors()) {
                 errorMessages.add(error.getDefaultMessage());
             }
@@ -0,0 +1,17 @@
+package com.clearsolutions.usermanager.exceptions.custom;
+
+import org.springframework.http.HttpStatus;
+
+public class ChangeTokenExpiredException extends BasicApplicationException {
+
+    /**
+     * Constructs a new ChangeTokenExpiredException for a token
+     * whose following changes have already been purged.
+     *
+     * @param token The token the client asked to resume from.
+     */
+    public ChangeTokenExpiredException(final String token) {
+        super(String.format("Changes after token `%s` are no longer kept, read all users again!", token),
+                HttpStatus.GONE);
+    }
+}
@@ -0,0 +1,17 @@
+package com.clearsolutions.usermanager.exceptions.custom;
+
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyKeyReusedException extends BasicApplicationException {
+
+    /**
+     * Constructs a new IdempotencyKeyReusedException for a key
+     * that was already sent with a different request.
+     *
+     * @param idempotencyKey The idempotency key that was reused.
+     */
+    public IdempotencyKeyReusedException(final String idempotencyKey) {
+        super(String.format("Idempotency key `%s` was already used for a different request!", idempotencyKey),
+                HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+}
@@ -0,0 +1,19 @@
+package com.clearsolutions.usermanager.exceptions.custom;
+
+import org.springframework.http.HttpStatus;
+
+public class PreconditionFailedException extends BasicApplicationException {
+
+    /**
+     * Constructs a new PreconditionFailedException for an entity
+     * that no longer has the version the client expected.
+     *
+     * @param entityType      The type of entity that was to be changed.
+     * @param details         The field or property by which the entity was identified.
+     * @param expectedVersion The version the client expected the entity to have.
+     */
+    public PreconditionFailedException(final String entityType, final String details, final long expectedVersion) {
+        super(String.format("%s with `%s` has changed since version %d!", entityType, details, expectedVersion),
+                HttpStatus.PRECONDITION_FAILED);
+    }
+}
@@ -0,0 +1,17 @@
+package com.clearsolutions.usermanager.exceptions.custom;
+
+import org.springframework.http.HttpStatus;
+
+public class RequestInProgressException extends BasicApplicationException {
+
+    /**
+     * Constructs a new RequestInProgressException for a retried request
+     * whose original request is still running.
+     *
+     * @param idempotencyKey The idempotency key of the request.
+     */
+    public RequestInProgressException(final String idempotencyKey) {
+        super(String.format("Request with idempotency key `%s` is still in progress!", idempotencyKey),
+                HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,311 @@
+package com.clearsolutions.usermanager.idempotency;
+
+import com.clearsolutions.usermanager.exceptions.custom.BasicApplicationException;
+import com.clearsolutions.usermanager.exceptions.custom.IdempotencyKeyReusedException;
+import com.clearsolutions.usermanager.exceptions.custom.RequestInProgressException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_IDEMPOTENCY_KEY;
+
+/**
+ * Answers a POST request sent again with the same {@value #HEADER} header with the response to the
+ * first request, without running the request, its validation or its queries again. A request that
+ * arrives while the first one with its key is still running waits for it, for at most
+ * {@code app.idempotency.maxWaitMillis}. A key sent with a different request, told apart by a hash
+ * of its path, query and body, is rejected.
+ *
+ * <p>Responses with a server error status, or larger than {@code app.idempotency.maxResponseBytes},
+ * are not kept, so retries of such requests run again.
+ *
+ * <p>Publishes the metric {@value #REQUESTS_METRIC}, the number of requests with an idempotency key
+ * by whether they were executed, replayed from the store, or answered with a request they waited for.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String REQUESTS_METRIC = "users.idempotency.requests";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final int maxResponseBytes;
+    private final long maxWaitMillis;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> running = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter joinedCounter;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, HandlerExceptionResolver exceptionResolver,
+                             int maxResponseBytes, long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.idempotencyStore = idempotencyStore;
+        this.exceptionResolver = exceptionResolver;
+        this.maxResponseBytes = maxResponseBytes;
+        this.maxWaitMillis = maxWaitMillis;
+        this.executedCounter = requestCounter(meterRegistry, "executed");
+        this.replayedCounter = requestCounter(meterRegistry, "replayed");
+        this.joinedCounter = requestCounter(meterRegistry, "joined");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey == null || !HttpMethod.POST.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+                throw new ValidationException(INVALID_IDEMPOTENCY_KEY);
+            }
+            handle(idempotencyKey, request, response, chain);
+        } catch (BasicApplicationException e) {
+            // Filters run outside the dispatcher servlet, so its exception handlers are invoked directly
+            exceptionResolver.resolveException(request, response, null, e);
+        }
+    }
+
+    private void handle(String idempotencyKey, HttpServletRequest request, HttpServletResponse response,
+                        FilterChain chain) throws ServletException, IOException {
+        var own = new CompletableFuture<StoredResponse>();
+        var existing = running.putIfAbsent(idempotencyKey, own);
+        while (existing != null) {
+            var original = await(idempotencyKey, existing);
+            if (original != null) {
+                joinedCounter.increment();
+                replay(idempotencyKey, hash(request, request.getInputStream()), original, response);
+                return;
+            }
+            // The request waited for failed on the server, so this one runs as its retry and is waited for in turn
+            running.remove(idempotencyKey, existing);
+            existing = running.putIfAbsent(idempotencyKey, own);
+        }
+
+        try {
+            var stored = idempotencyStore.find(idempotencyKey);
+            if (stored.isPresent()) {
+                own.complete(stored.get());
+                replayedCounter.increment();
+                replay(idempotencyKey, hash(request, request.getInputStream()), stored.get(), response);
+                return;
+            }
+
+            var original = execute(request, response, chain);
+            executedCounter.increment();
+            if (original != null) {
+                idempotencyStore.save(idempotencyKey, original);
+            }
+            own.complete(original);
+        } catch (RuntimeException | Error | ServletException | IOException e) {
+            own.complete(null);
+            throw e;
+        } finally {
+            running.remove(idempotencyKey, own);
+        }
+    }
+
+    /**
+     * Runs the request and records its response.
+     *
+     * @return The response to keep, or null if it must not be replayed.
+     */
+    private StoredResponse execute(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var digestingRequest = new DigestingRequest(request);
+        var recordingResponse = new ContentCachingResponseWrapper(response);
+        chain.doFilter(digestingRequest, recordingResponse);
+
+        var status = recordingResponse.getStatus();
+        var body = recordingResponse.getContentAsByteArray();
+        var original = status >= 500 || body.length > maxResponseBytes
+                ? null
+                : new StoredResponse(digestingRequest.hash(), status, recordingResponse.getContentType(),
+                        recordingResponse.getHeader(HttpHeaders.ETAG),
+                        recordingResponse.getHeader(HttpHeaders.LOCATION), body);
+        recordingResponse.copyBodyToResponse();
+        return original;
+    }
+
+    private StoredResponse await(String idempotencyKey, CompletableFuture<StoredResponse> existing) {
+        try {
+            return existing.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | CancellationException | ExecutionException e) {
+            throw new RequestInProgressException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException(idempotencyKey);
+        }
+    }
+
+    private static void replay(String idempotencyKey, String requestHash, StoredResponse original,
+                               HttpServletResponse response) throws IOException {
+        if (!original.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+
+        response.setStatus(original.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (original.contentType() != null) {
+            response.setContentType(original.contentType());
+        }
+        if (original.eTag() != null) {
+            response.setHeader(HttpHeaders.ETAG, original.eTag());
+        }
+        if (original.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, original.location());
+        }
+        response.setContentLength(original.body().length);
+        response.getOutputStream().write(original.body());
+    }
+
+    /**
+     * Hashes what identifies the request apart from its key: its path, its query and the rest of its body.
+     */
+    private static String hash(HttpServletRequest request, InputStream body) throws IOException {
+        var digest = newDigest(request);
+        var buffer = new byte[8192];
+        for (int read; (read = body.read(buffer)) != -1; ) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest(HttpServletRequest request) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '?');
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .tag("result", result)
+                .description("Requests sent with an idempotency key")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes the body while the application reads it, so that streamed bodies such as imports
+     * are never held in memory as a whole.
+     */
+    private static class DigestingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest;
+        private ServletInputStream inputStream;
+
+        DigestingRequest(HttpServletRequest request) {
+            super(request);
+            this.digest = newDigest(request);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new DigestingInputStream(super.getInputStream(), digest);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            var encoding = getCharacterEncoding() == null ? StandardCharsets.UTF_8.name() : getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+
+        /**
+         * Hashes the part of the body the application did not read, then returns the hash of the request.
+         */
+        String hash() throws IOException {
+            var body = getInputStream();
+            var buffer = new byte[8192];
+            while (body.read(buffer) != -1) {
+                // Read only to update the digest
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    private static class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final MessageDigest digest;
+
+        DigestingInputStream(ServletInputStream delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var read = delegate.read();
+            if (read != -1) {
+                digest.update((byte) read);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            var read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                digest.update(buffer, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+    }
+}
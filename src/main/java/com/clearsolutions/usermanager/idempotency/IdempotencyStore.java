@@ -0,0 +1,27 @@
+package com.clearsolutions.usermanager.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Keeps the responses to requests sent with an idempotency key for a limited time,
+ * so that retries of the requests can be answered without running them again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Finds the response to the request sent with the given key.
+     *
+     * @param idempotencyKey The idempotency key sent with the request.
+     * @return The response, or empty if no request with the key completed or its response expired.
+     */
+    Optional<StoredResponse> find(String idempotencyKey);
+
+    /**
+     * Keeps the response to the request sent with the given key.
+     * A response already kept for the key is not replaced.
+     *
+     * @param idempotencyKey The idempotency key sent with the request.
+     * @param response       The response to the request.
+     */
+    void save(String idempotencyKey, StoredResponse response);
+}
@@ -0,0 +1,35 @@
+package com.clearsolutions.usermanager.idempotency;
+
+import com.clearsolutions.usermanager.properties.IdempotencyProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps responses in the memory of this instance, at most {@code app.idempotency.maxEntries} of them,
+ * each for {@code app.idempotency.ttlSeconds}. Retries that reach another instance, or arrive after
+ * a restart, run again.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties idempotencyProperties) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(idempotencyProperties.getMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(idempotencyProperties.getTtlSeconds()))
+                .build();
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String idempotencyKey) {
+        return Optional.ofNullable(responses.getIfPresent(idempotencyKey));
+    }
+
+    @Override
+    public void save(String idempotencyKey, StoredResponse response) {
+        responses.asMap().putIfAbsent(idempotencyKey, response);
+    }
+}
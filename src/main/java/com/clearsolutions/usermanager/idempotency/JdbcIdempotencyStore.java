@@ -0,0 +1,103 @@
+package com.clearsolutions.usermanager.idempotency;
+
+import com.clearsolutions.usermanager.properties.IdempotencyProperties;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps responses in the {@code idempotency_keys} table, so that retries are answered by any instance
+ * and after restarts. Responses older than {@code app.idempotency.ttlSeconds} are no longer replayed;
+ * once a minute they are deleted, together with the oldest responses beyond {@code app.idempotency.maxEntries}.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore, DisposableBean {
+
+    private static final long PURGE_INTERVAL_SECONDS = 60;
+
+    private static final String SELECT_RESPONSE = """
+            SELECT request_hash, status, content_type, etag, location, body
+            FROM idempotency_keys
+            WHERE idempotency_key = ? AND created_at > now() - make_interval(secs => ?)""";
+
+    /**
+     * An expired row is replaced, since it is no longer replayed.
+     */
+    private static final String INSERT_RESPONSE = """
+            INSERT INTO idempotency_keys (idempotency_key, request_hash, status, content_type, etag, location, body)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (idempotency_key) DO UPDATE SET
+                request_hash = excluded.request_hash, status = excluded.status, content_type = excluded.content_type,
+                etag = excluded.etag, location = excluded.location, body = excluded.body, created_at = now()
+            WHERE idempotency_keys.created_at <= now() - make_interval(secs => ?)""";
+
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM idempotency_keys
+            WHERE created_at <= now() - make_interval(secs => ?)
+               OR idempotency_key IN (
+                   SELECT idempotency_key FROM idempotency_keys ORDER BY created_at DESC OFFSET ?)""";
+
+    private static final RowMapper<StoredResponse> RESPONSE_ROW_MAPPER = (rs, rowNum) -> new StoredResponse(
+            rs.getString("request_hash"),
+            rs.getInt("status"),
+            rs.getString("content_type"),
+            rs.getString("etag"),
+            rs.getString("location"),
+            rs.getBytes("body"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlSeconds;
+    private final long maxEntries;
+    private final ScheduledExecutorService scheduler;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties idempotencyProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlSeconds = idempotencyProperties.getTtlSeconds();
+        this.maxEntries = idempotencyProperties.getMaxEntries();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "idempotency-key-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purge, PURGE_INTERVAL_SECONDS, PURGE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String idempotencyKey) {
+        return jdbcTemplate.query(SELECT_RESPONSE, RESPONSE_ROW_MAPPER, idempotencyKey, ttlSeconds)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void save(String idempotencyKey, StoredResponse response) {
+        jdbcTemplate.update(INSERT_RESPONSE, idempotencyKey, response.requestHash(), response.status(),
+                response.contentType(), response.eTag(), response.location(), response.body(), ttlSeconds);
+    }
+
+    /**
+     * Deletes the expired responses and the oldest responses beyond the maximum number of entries.
+     *
+     * @return The number of deleted responses.
+     */
+    public int purge() {
+        try {
+            return jdbcTemplate.update(DELETE_EXPIRED, ttlSeconds, maxEntries);
+        } catch (DataAccessException e) {
+            Logger.warning("Idempotency keys", "Unable to delete expired responses: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package com.clearsolutions.usermanager.idempotency;
+
+/**
+ * The response to a request sent with an idempotency key, kept to answer retries of the request.
+ *
+ * @param requestHash Hash of the request the response belongs to, to tell a retry from another request
+ *                    that reuses the key.
+ * @param status      The HTTP status of the response.
+ * @param contentType The content type of the response, or null if it had none.
+ * @param eTag        The ETag header of the response, or null if it had none.
+ * @param location    The Location header of the response, or null if it had none.
+ * @param body        The body of the response.
+ */
+public record StoredResponse(String requestHash, int status, String contentType, String eTag, String location,
+                             byte[] body) {
+}
@@ -1,11 +1,13 @@
 package com.clearsolutions.usermanager.model;
 
 import com.clearsolutions.usermanager.dto.annotation.OnlyAdult;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.proxy.HibernateProxy;
@@ -26,20 +28,32 @@ import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
 @Table(name = "users")
 public class User {
 
+    public static final String ID_SEQUENCE = "users_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final long INITIAL_VERSION = 0L;
+    /**
+     * The length of the varchar columns of the users table.
+     */
+    public static final int MAX_TEXT_LENGTH = 255;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = FIRST_NAME_REQUIRED)
+    @Size(max = MAX_TEXT_LENGTH, message = FIRST_NAME_TOO_LONG)
     @Column(nullable = false)
     private String firstName;
 
     @NotBlank(message = LAST_NAME_REQUIRED)
+    @Size(max = MAX_TEXT_LENGTH, message = LAST_NAME_TOO_LONG)
     @Column(nullable = false)
     private String lastName;
 
     @Email(message = INVALID_EMAIL_FORMAT)
     @NotBlank(message = EMAIL_REQUIRED)
+    @Size(max = MAX_TEXT_LENGTH, message = EMAIL_TOO_LONG)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -49,10 +63,16 @@ public class User {
     @Column(nullable = false)
     private LocalDate birthDate;
 
+    @Size(max = MAX_TEXT_LENGTH, message = ADDRESS_TOO_LONG)
     private String address;
 
+    @Size(max = MAX_TEXT_LENGTH, message = PHONE_TOO_LONG)
     private String phone;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
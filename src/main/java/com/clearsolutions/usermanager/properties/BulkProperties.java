@@ -0,0 +1,22 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class BulkProperties {
+
+    /**
+     * Number of inserts sent to the database in one JDBC batch.
+     */
+    @Value("${app.bulk.batchSize}")
+    private int batchSize;
+
+    /**
+     * Maximum number of users accepted in one bulk request.
+     */
+    @Value("${app.bulk.maxItems}")
+    private int maxItems;
+}
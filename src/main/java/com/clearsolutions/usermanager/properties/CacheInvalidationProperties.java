@@ -0,0 +1,28 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class CacheInvalidationProperties {
+
+    /**
+     * Time in milliseconds invalidations are collected for before they are sent, or applied once received.
+     */
+    @Value("${app.cacheInvalidation.batchWindowMillis}")
+    private long batchWindowMillis;
+
+    /**
+     * Number of users invalidated at once above which the whole cache is flushed instead.
+     */
+    @Value("${app.cacheInvalidation.maxBatchSize}")
+    private int maxBatchSize;
+
+    /**
+     * Time in milliseconds to wait before listening again after the listening connection was lost.
+     */
+    @Value("${app.cacheInvalidation.reconnectDelayMillis}")
+    private long reconnectDelayMillis;
+}
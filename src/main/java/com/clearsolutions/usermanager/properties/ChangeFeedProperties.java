@@ -0,0 +1,40 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class ChangeFeedProperties {
+
+    /**
+     * Interval in milliseconds at which open change streams are checked for new changes.
+     */
+    @Value("${app.changeFeed.pollMillis}")
+    private long pollMillis;
+
+    /**
+     * Maximum number of changes read with one query, for a stream or a request.
+     */
+    @Value("${app.changeFeed.maxBatchSize}")
+    private int maxBatchSize;
+
+    /**
+     * Interval in milliseconds at which a keep-alive comment is sent on a stream without changes.
+     */
+    @Value("${app.changeFeed.heartbeatMillis}")
+    private long heartbeatMillis;
+
+    /**
+     * Time in milliseconds after which a stream is ended, for the client to reconnect.
+     */
+    @Value("${app.changeFeed.streamTimeoutMillis}")
+    private long streamTimeoutMillis;
+
+    /**
+     * Time in hours changes are kept for consumers to resume from.
+     */
+    @Value("${app.changeFeed.retentionHours}")
+    private long retentionHours;
+}
@@ -0,0 +1,17 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class CoalescingProperties {
+
+    /**
+     * Longest time in milliseconds a request waits for an identical query that is already running.
+     * A request that waits longer runs the query itself.
+     */
+    @Value("${app.coalescing.maxJoinWaitMillis}")
+    private long maxJoinWaitMillis;
+}
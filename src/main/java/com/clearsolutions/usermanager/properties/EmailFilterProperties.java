@@ -0,0 +1,22 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class EmailFilterProperties {
+
+    /**
+     * Number of distinct emails the filter is sized for.
+     */
+    @Value("${app.emailFilter.expectedInsertions}")
+    private long expectedInsertions;
+
+    /**
+     * Target probability that an email that is not registered is reported as possibly registered.
+     */
+    @Value("${app.emailFilter.falsePositiveRate}")
+    private double falsePositiveRate;
+}
@@ -0,0 +1,23 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class ExportProperties {
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip from the server-side cursor.
+     */
+    @Value("${app.export.fetchSize}")
+    private int fetchSize;
+
+    /**
+     * Number of rows written between two flushes of the response stream;
+     * zero or less flushes only once every row is written.
+     */
+    @Value("${app.export.flushEvery}")
+    private int flushEvery;
+}
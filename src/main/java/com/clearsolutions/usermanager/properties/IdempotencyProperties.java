@@ -0,0 +1,36 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class IdempotencyProperties {
+
+    /**
+     * Time in seconds a response is kept for replay after the request with its idempotency key completed.
+     */
+    @Value("${app.idempotency.ttlSeconds}")
+    private long ttlSeconds;
+
+    /**
+     * Maximum number of responses kept for replay. The oldest ones are dropped first.
+     */
+    @Value("${app.idempotency.maxEntries}")
+    private long maxEntries;
+
+    /**
+     * Largest response body in bytes that is kept for replay.
+     * Requests with larger responses run again when they are retried.
+     */
+    @Value("${app.idempotency.maxResponseBytes}")
+    private int maxResponseBytes;
+
+    /**
+     * Longest time in milliseconds a request waits for a request with the same idempotency key
+     * that is still running before it is rejected as a conflict.
+     */
+    @Value("${app.idempotency.maxWaitMillis}")
+    private long maxWaitMillis;
+}
@@ -0,0 +1,22 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class ImportProperties {
+
+    /**
+     * Number of merge outcomes the JDBC driver fetches per round trip.
+     */
+    @Value("${app.import.fetchSize}")
+    private int fetchSize;
+
+    /**
+     * Maximum number of rejected rows listed in an import report; the rest are only counted.
+     */
+    @Value("${app.import.maxReportedRejections}")
+    private int maxReportedRejections;
+}
@@ -0,0 +1,32 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of UserViewBatchLoader, which is only created when {@code app.lookupBatching.enabled} is set.
+ */
+@Component
+@Getter
+public class LookupBatchingProperties {
+
+    /**
+     * Maximum number of lookups answered by one query.
+     */
+    @Value("${app.lookupBatching.maxBatchSize}")
+    private int maxBatchSize;
+
+    /**
+     * Longest time in microseconds the first lookup of a batch waits for others to join it.
+     */
+    @Value("${app.lookupBatching.maxWaitMicros}")
+    private long maxWaitMicros;
+
+    /**
+     * Maximum number of batch queries running at the same time.
+     * Once they are all busy, the next batch keeps collecting lookups until one of them finishes.
+     */
+    @Value("${app.lookupBatching.concurrentBatches}")
+    private int concurrentBatches;
+}
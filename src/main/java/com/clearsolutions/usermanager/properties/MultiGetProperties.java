@@ -0,0 +1,16 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+public class MultiGetProperties {
+
+    /**
+     * Maximum number of distinct IDs or emails accepted in one multi-get request.
+     */
+    @Value("${app.multiGet.maxItems}")
+    private int maxItems;
+}
@@ -0,0 +1,47 @@
+package com.clearsolutions.usermanager.properties;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Settings of the read replicas, which are only used when {@code app.replicas.enabled} is set.
+ */
+@Component
+@Getter
+public class ReplicaProperties {
+
+    /**
+     * JDBC URLs of the replicas. They are reached with the credentials of the primary datasource.
+     */
+    @Value("${app.replicas.urls}")
+    private List<String> urls;
+
+    /**
+     * Largest replication lag in milliseconds a replica may have and still serve reads.
+     */
+    @Value("${app.replicas.maxLagMillis}")
+    private long maxLagMillis;
+
+    /**
+     * Time in milliseconds between two measurements of the lag of every replica.
+     */
+    @Value("${app.replicas.lagCheckIntervalMillis}")
+    private long lagCheckIntervalMillis;
+
+    /**
+     * Longest time in milliseconds to wait for a connection to a replica,
+     * so that an unreachable replica is taken out of rotation quickly.
+     */
+    @Value("${app.replicas.connectionTimeoutMillis}")
+    private long connectionTimeoutMillis;
+
+    /**
+     * Time in milliseconds after a write during which reads of the same client go to the primary,
+     * so that the client sees its own write even on a lagging replica. Zero turns this off.
+     */
+    @Value("${app.replicas.readYourWritesMillis}")
+    private long readYourWritesMillis;
+}
@@ -0,0 +1,43 @@
+package com.clearsolutions.usermanager.reactive;
+
+import com.clearsolutions.usermanager.exceptions.GlobalExceptionHandler;
+import com.clearsolutions.usermanager.properties.ExportProperties;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-blocking variant of the users API, served by WebFlux and backed by R2DBC.
+ * It runs against the same Flyway-managed schema as the servlet application
+ * and shares its validation rules and error responses.
+ * Start it with the main class set to this one, e.g.
+ * {@code mvn spring-boot:run -Dspring-boot.run.main-class=com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication}.
+ * Its beans are only active under the {@value #PROFILE} profile, so the servlet application skips them.
+ */
+@Profile(ReactiveUserManagerApplication.PROFILE)
+@SpringBootApplication
+@Import({ExportProperties.class, GlobalExceptionHandler.class})
+public class ReactiveUserManagerApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveUserManagerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+
+    /**
+     * Serves requests on Netty's event loops. Tomcat is on the classpath for the servlet application
+     * and would otherwise be chosen as the reactive server too.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
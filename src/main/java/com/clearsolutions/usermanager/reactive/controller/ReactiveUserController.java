@@ -0,0 +1,54 @@
+package com.clearsolutions.usermanager.reactive.controller;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import com.clearsolutions.usermanager.reactive.service.ReactiveUserService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Validated
+@Profile(ReactiveUserManagerApplication.PROFILE)
+public class ReactiveUserController {
+
+    private final ReactiveUserService userService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserView> streamUsersByBirthDateRange(@Valid @ModelAttribute DateRange dateRange) {
+        return userService.findUsersByBirthDateRange(dateRange);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<UserView>> getUserById(@PathVariable @Min(1L) Long id) {
+        return userService.getById(id).map(ResponseEntity::ok);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<User>> createUser(@RequestBody @Valid User user) {
+        return userService.create(user)
+                .map(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<User>> updateUser(@PathVariable @Min(1L) Long id, @RequestBody @Valid User user) {
+        return userService.update(id, user).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteUser(@PathVariable @Min(1L) Long id) {
+        return userService.deleteById(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
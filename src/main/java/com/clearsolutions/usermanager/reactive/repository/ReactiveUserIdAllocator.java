@@ -0,0 +1,57 @@
+package com.clearsolutions.usermanager.reactive.repository;
+
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static com.clearsolutions.usermanager.model.User.ID_ALLOCATION_SIZE;
+import static com.clearsolutions.usermanager.model.User.ID_SEQUENCE;
+
+/**
+ * Hands out user IDs from the users sequence in blocks, the same way
+ * {@link com.clearsolutions.usermanager.repository.UserIdAllocator} does for the servlet application,
+ * so that both can insert into the same table.
+ * Concurrent callers that find the block used up may each reserve a new one; the IDs left in the
+ * replaced block are skipped.
+ */
+@Component
+@Profile(ReactiveUserManagerApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveUserIdAllocator {
+
+    private final DatabaseClient databaseClient;
+
+    private long nextId = 1;
+    private long blockEnd = 0;
+
+    /**
+     * Reserves one ID, querying the sequence only when the current block is used up.
+     *
+     * @return The reserved ID.
+     */
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            var id = takeFromBlock();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return databaseClient.sql("SELECT nextval('" + ID_SEQUENCE + "')")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(this::startBlock);
+        });
+    }
+
+    private synchronized Long takeFromBlock() {
+        return nextId <= blockEnd ? nextId++ : null;
+    }
+
+    private synchronized long startBlock(long end) {
+        nextId = end - ID_ALLOCATION_SIZE + 2;
+        blockEnd = end;
+        return end - ID_ALLOCATION_SIZE + 1;
+    }
+}
@@ -0,0 +1,194 @@
+package com.clearsolutions.usermanager.reactive.repository;
+
+import com.clearsolutions.usermanager.cache.CacheInvalidationBus;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static com.clearsolutions.usermanager.cache.CacheInvalidationBus.CHANNEL;
+import static com.clearsolutions.usermanager.cache.CacheInvalidationBus.EMAILS_CHANNEL;
+import static com.clearsolutions.usermanager.repository.UserChangeRepository.RECORD_CHANGES;
+
+/**
+ * Reads and writes users with single SQL statements over R2DBC, without blocking the calling thread.
+ */
+@Repository
+@Profile(ReactiveUserManagerApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    private static final String USER_COLUMNS = "id, first_name, last_name, email, birth_date, address, phone, version";
+
+    /**
+     * Each write records its change in the same statement as the servlet variant does, and notifies
+     * the {@link CacheInvalidationBus} of the servlet instances, which receive it once the write commits.
+     */
+    private static final String INSERT_USER = """
+            WITH inserted AS (
+                INSERT INTO users (id, first_name, last_name, email, birth_date, address, phone)
+                VALUES (:id, :firstName, :lastName, :email, :birthDate, :address, :phone)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, email, version
+            ),
+            recorded AS (
+            """ + RECORD_CHANGES.formatted(UserChangeType.CREATED, "inserted") + """
+            )
+            SELECT id, pg_notify('%s', :nodeId || ':' || email) FROM inserted""".formatted(EMAILS_CHANNEL);
+
+    private static final String UPDATE_USER = """
+            WITH updated AS (
+                UPDATE users
+                SET first_name = :firstName, last_name = :lastName, email = :email,
+                    birth_date = :birthDate, address = :address, phone = :phone, version = version + 1
+                WHERE id = :id
+                RETURNING %1$s
+            ),
+            recorded AS (
+            %2$s
+            )
+            SELECT %1$s, pg_notify('%3$s', :nodeId || ':' || id), pg_notify('%4$s', :nodeId || ':' || email)
+            FROM updated""".formatted(USER_COLUMNS, RECORD_CHANGES.formatted(UserChangeType.UPDATED, "updated"),
+            CHANNEL, EMAILS_CHANNEL);
+
+    private static final String DELETE_USER = """
+            WITH deleted AS (
+                DELETE FROM users WHERE id = :id
+                RETURNING id, version
+            ),
+            recorded AS (
+            """ + RECORD_CHANGES.formatted(UserChangeType.DELETED, "deleted") + """
+            )
+            SELECT id, pg_notify('%s', :nodeId || ':' || id) FROM deleted""".formatted(CHANNEL);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final DatabaseClient databaseClient;
+    private final ReactiveUserIdAllocator userIdAllocator;
+
+    /**
+     * Reads the user with the given ID.
+     *
+     * @param id The unique identifier of the user.
+     * @return The user, or empty if no user with the ID exists.
+     */
+    public Mono<UserView> findById(Long id) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one()
+                .map(UserView::of);
+    }
+
+    /**
+     * Streams every user with a birth date within the given bounds, ordered by birth date and ID.
+     * Rows are fetched from the server in batches of the given size as the subscriber requests them,
+     * so a slow subscriber holds back the query instead of buffering the whole result.
+     *
+     * @param from      The inclusive lower bound, or null for an open range.
+     * @param to        The inclusive upper bound, or null for an open range.
+     * @param fetchSize The number of rows fetched per round trip.
+     * @return The matching users.
+     */
+    public Flux<UserView> findByBirthDateBetween(LocalDate from, LocalDate to, int fetchSize) {
+        var conditions = new ArrayList<String>();
+        if (from != null) {
+            conditions.add("birth_date >= :from");
+        }
+        if (to != null) {
+            conditions.add("birth_date <= :to");
+        }
+        var sql = "SELECT " + USER_COLUMNS + " FROM users"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY birth_date, id";
+
+        var spec = databaseClient.sql(sql).filter(statement -> statement.fetchSize(fetchSize));
+        if (from != null) {
+            spec = spec.bind("from", from);
+        }
+        if (to != null) {
+            spec = spec.bind("to", to);
+        }
+        return spec.map(ReactiveUserRepository::toUser)
+                .all()
+                .map(UserView::of);
+    }
+
+    /**
+     * Inserts the user unless a user with the same email already exists.
+     * The unique index on email decides atomically, so concurrent inserts of the same email
+     * cannot both succeed.
+     *
+     * @param user The user to insert.
+     * @return The generated ID, or empty if the email is already taken.
+     */
+    public Mono<Long> insertIfEmailAbsent(User user) {
+        return userIdAllocator.nextId().flatMap(id -> bindNotification(bindUser(databaseClient.sql(INSERT_USER), id, user))
+                .map(row -> id)
+                .one());
+    }
+
+    /**
+     * Replaces every field of the user with a single statement, without loading the user first.
+     * Fails with {@link org.springframework.dao.DuplicateKeyException} if another user has the new email.
+     *
+     * @param id   The unique identifier of the user.
+     * @param user The new user data.
+     * @return The updated user, or empty if no user with the ID exists.
+     */
+    public Mono<User> update(Long id, User user) {
+        return bindNotification(bindUser(databaseClient.sql(UPDATE_USER), id, user))
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    /**
+     * Deletes the user with a single statement, without loading it first.
+     *
+     * @param id The unique identifier of the user.
+     * @return Whether a user with the ID existed.
+     */
+    public Mono<Boolean> deleteById(Long id) {
+        return bindNotification(databaseClient.sql(DELETE_USER).bind("id", id))
+                .map(row -> id)
+                .one()
+                .hasElement();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindNotification(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.bind("nodeId", nodeId);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindUser(DatabaseClient.GenericExecuteSpec spec, Long id, User user) {
+        spec = spec.bind("id", id)
+                .bind("firstName", user.getFirstName())
+                .bind("lastName", user.getLastName())
+                .bind("email", user.getEmail())
+                .bind("birthDate", user.getBirthDate());
+        spec = user.getAddress() == null ? spec.bindNull("address", String.class) : spec.bind("address", user.getAddress());
+        return user.getPhone() == null ? spec.bindNull("phone", String.class) : spec.bind("phone", user.getPhone());
+    }
+
+    private static User toUser(Readable row) {
+        return User.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .birthDate(row.get("birth_date", LocalDate.class))
+                .address(row.get("address", String.class))
+                .phone(row.get("phone", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.clearsolutions.usermanager.reactive.service;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.clearsolutions.usermanager.service.UserService}.
+ * Errors are signalled through the returned publishers instead of being thrown.
+ */
+public interface ReactiveUserService {
+
+    /**
+     * Retrieves a user by their unique identifier.
+     *
+     * @param id The unique identifier of the user.
+     * @return The read-only view of the user with the specified ID.
+     * @throws EntityNotFoundException if no user with the specified ID is found.
+     */
+    Mono<UserView> getById(Long id) throws EntityNotFoundException;
+
+    /**
+     * Streams the users whose birth dates fall within the specified range, ordered by birth date and ID.
+     * Missing bounds leave the range open on that side.
+     * Users are read from the database only as fast as the subscriber consumes them.
+     *
+     * @param dateRange The {@link DateRange} representing the range of birth dates to filter by.
+     * @return The matching users.
+     */
+    Flux<UserView> findUsersByBirthDateRange(DateRange dateRange);
+
+    /**
+     * Creates a new user.
+     * The user is inserted with a single statement, so concurrent creates with the same email
+     * cannot both succeed.
+     *
+     * @param user The user to create.
+     * @return The created user.
+     * @throws EntityAlreadyExistsException if a user with the same email already exists.
+     */
+    Mono<User> create(User user) throws EntityAlreadyExistsException;
+
+    /**
+     * Updates an existing user.
+     * The user is updated and read back with a single statement, without being loaded first.
+     *
+     * @param id   The unique identifier of the user to update.
+     * @param user The updated user data.
+     * @return The updated user.
+     * @throws EntityNotFoundException      if no user with the specified ID is found.
+     * @throws EntityAlreadyExistsException if a user with the same email already exists.
+     */
+    Mono<User> update(Long id, User user) throws EntityNotFoundException, EntityAlreadyExistsException;
+
+    /**
+     * Deletes a user by their unique identifier.
+     * The user is deleted with a single statement, without being loaded first.
+     *
+     * @param id The unique identifier of the user to delete.
+     * @return Completes once the user is deleted.
+     * @throws EntityNotFoundException if no user with the specified ID is found.
+     */
+    Mono<Void> deleteById(Long id) throws EntityNotFoundException;
+}
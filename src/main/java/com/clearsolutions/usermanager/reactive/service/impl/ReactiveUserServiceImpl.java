@@ -0,0 +1,64 @@
+package com.clearsolutions.usermanager.reactive.service.impl;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.properties.ExportProperties;
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import com.clearsolutions.usermanager.reactive.repository.ReactiveUserRepository;
+import com.clearsolutions.usermanager.reactive.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile(ReactiveUserManagerApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+
+    private final ReactiveUserRepository userRepository;
+    private final ExportProperties exportProperties;
+
+    @Override
+    public Mono<UserView> getById(Long id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id)));
+    }
+
+    @Override
+    public Flux<UserView> findUsersByBirthDateRange(DateRange dateRange) {
+        return userRepository.findByBirthDateBetween(dateRange.from(), dateRange.to(), exportProperties.getFetchSize());
+    }
+
+    @Override
+    public Mono<User> create(User user) {
+        return userRepository.insertIfEmailAbsent(user)
+                .switchIfEmpty(Mono.error(() ->
+                        new EntityAlreadyExistsException(User.class.getSimpleName(), "Email: " + user.getEmail())))
+                .map(id -> {
+                    user.setId(id);
+                    return user;
+                });
+    }
+
+    @Override
+    public Mono<User> update(Long id, User user) {
+        return userRepository.update(id, user)
+                .onErrorMap(DuplicateKeyException.class, ex ->
+                        new EntityAlreadyExistsException(User.class.getSimpleName(), "Email already exists: " + user.getEmail()))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id)));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return userRepository.deleteById(id)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id)))
+                .then();
+    }
+}
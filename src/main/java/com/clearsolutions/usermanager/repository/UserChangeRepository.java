@@ -0,0 +1,121 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.dto.UserChange;
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads and writes the {@code user_changes} outbox. Changes are ordered by the ID of the transaction
+ * that recorded them and then by their own ID, and only changes of transactions older than every
+ * running transaction are read, so that no change can later appear before one that was already read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserChangeRepository {
+
+    /**
+     * Records a change of the rows a data-modifying CTE named {@code %s} returns with their
+     * {@code id} and {@code version}, in the same statement and so in the same transaction.
+     */
+    public static final String RECORD_CHANGES = """
+            INSERT INTO user_changes (user_id, operation, version)
+            SELECT id, '%s', version FROM %s""";
+
+    private static final String SAFE_TXID = "pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String SELECT_CHANGES = """
+            SELECT txid, id, user_id, operation, version, changed_at
+            FROM user_changes
+            WHERE (txid, id) > (?, ?) AND txid < %s
+            ORDER BY txid, id
+            LIMIT ?""".formatted(SAFE_TXID);
+
+    private static final String PURGE_CHANGES = """
+            WITH horizon AS (
+                SELECT txid, id FROM user_changes
+                WHERE changed_at < now() - ? * interval '1 hour'
+                ORDER BY txid DESC, id DESC
+                LIMIT 1
+            ),
+            purged AS (
+                DELETE FROM user_changes
+                USING horizon
+                WHERE (user_changes.txid, user_changes.id) <= (horizon.txid, horizon.id)
+                RETURNING 1
+            )
+            UPDATE user_changes_horizon
+            SET txid = horizon.txid, id = horizon.id
+            FROM horizon
+            RETURNING (SELECT count(*) FROM purged)""";
+
+    private static final RowMapper<UserChange> CHANGE_ROW_MAPPER = (resultSet, rowNum) -> new UserChange(
+            new ChangeToken(resultSet.getLong("txid"), resultSet.getLong("id")).encode(),
+            resultSet.getLong("user_id"),
+            UserChangeType.valueOf(resultSet.getString("operation")),
+            resultSet.getLong("version"),
+            resultSet.getTimestamp("changed_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records a change of the user in the current transaction.
+     *
+     * @param userId  The ID of the changed user.
+     * @param type    The kind of change.
+     * @param version The version of the user after the change.
+     */
+    public void record(Long userId, UserChangeType type, Long version) {
+        jdbcTemplate.update("INSERT INTO user_changes (user_id, operation, version) VALUES (?, ?, ?)",
+                userId, type.name(), version);
+    }
+
+    /**
+     * Finds the changes after the given position that no running transaction can precede anymore.
+     *
+     * @param after The position to read after.
+     * @param limit The maximum number of changes.
+     * @return The changes in feed order.
+     */
+    public List<UserChange> findAfter(ChangeToken after, int limit) {
+        return jdbcTemplate.query(SELECT_CHANGES, CHANGE_ROW_MAPPER, after.txid(), after.id(), limit);
+    }
+
+    /**
+     * Finds the position after every change that can be read now.
+     *
+     * @return The current end of the feed.
+     */
+    public ChangeToken findHead() {
+        return ChangeToken.before(jdbcTemplate.queryForObject("SELECT " + SAFE_TXID, Long.class));
+    }
+
+    /**
+     * Finds the position of the last purged change.
+     *
+     * @return The position no token before which can be resumed from.
+     */
+    public ChangeToken findHorizon() {
+        return jdbcTemplate.queryForObject("SELECT txid, id FROM user_changes_horizon",
+                (resultSet, rowNum) -> new ChangeToken(resultSet.getLong("txid"), resultSet.getLong("id")));
+    }
+
+    /**
+     * Deletes the changes recorded before the retention period, and every change before them in feed order,
+     * and moves the horizon to the last deleted change.
+     *
+     * @param retentionHours The time in hours changes are kept.
+     * @return The number of deleted changes.
+     */
+    public long purge(long retentionHours) {
+        return jdbcTemplate.query(PURGE_CHANGES, (resultSet, rowNum) -> resultSet.getLong(1), retentionHours)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+    }
+}
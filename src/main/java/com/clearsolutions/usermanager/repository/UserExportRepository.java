@@ -0,0 +1,90 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.properties.ExportProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Reads users straight from JDBC for bulk exports, bypassing the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserExportRepository {
+
+    private static final String SELECT_USERS =
+            "SELECT id, first_name, last_name, email, birth_date, address, phone FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExportProperties exportProperties;
+
+    /**
+     * Passes every user with a birth date within the given bounds to the consumer,
+     * ordered by birth date and ID.
+     * Rows are read from a forward-only server-side cursor, so the caller must run inside
+     * a transaction for the driver to fetch them in batches of the configured fetch size.
+     * Users are handed to the consumer as read-only views and are never tracked by Hibernate.
+     *
+     * @param from     The inclusive lower bound, or null for an open range.
+     * @param to       The inclusive upper bound, or null for an open range.
+     * @param consumer The consumer receiving each user in turn.
+     */
+    public void forEachByBirthDateBetween(LocalDate from, LocalDate to, Consumer<UserView> consumer) {
+        var conditions = new ArrayList<String>();
+        var parameters = new ArrayList<Object>();
+        if (from != null) {
+            conditions.add("birth_date >= ?");
+            parameters.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("birth_date <= ?");
+            parameters.add(Date.valueOf(to));
+        }
+        var sql = SELECT_USERS
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY birth_date, id";
+
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportProperties.getFetchSize());
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            return statement;
+        }, resultSet -> {
+            consumer.accept(new UserView(
+                    resultSet.getLong("id"),
+                    resultSet.getString("first_name"),
+                    resultSet.getString("last_name"),
+                    resultSet.getString("email"),
+                    resultSet.getObject("birth_date", LocalDate.class),
+                    resultSet.getString("address"),
+                    resultSet.getString("phone"),
+                    null));
+        });
+    }
+
+    /**
+     * Passes the email of every user to the consumer.
+     * Like {@link #forEachByBirthDateBetween}, it must run inside a transaction to read through a cursor.
+     *
+     * @param consumer The consumer receiving each email in turn.
+     */
+    public void forEachEmail(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(
+                    "SELECT email FROM users", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportProperties.getFetchSize());
+            return statement;
+        }, resultSet -> {
+            consumer.accept(resultSet.getString("email"));
+        });
+    }
+}
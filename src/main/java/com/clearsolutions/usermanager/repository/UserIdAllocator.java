@@ -0,0 +1,66 @@
+package com.clearsolutions.usermanager.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.clearsolutions.usermanager.model.User.ID_ALLOCATION_SIZE;
+import static com.clearsolutions.usermanager.model.User.ID_SEQUENCE;
+
+/**
+ * Hands out user IDs from the users sequence in blocks, the same way Hibernate's pooled optimizer does:
+ * each sequence value {@code v} reserves the IDs from {@code v - ID_ALLOCATION_SIZE + 1} to {@code v}.
+ * The migrations keep every value the sequence returns at the end of a block, including the first one.
+ * Unused IDs of the last block are kept for the next call.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private long nextId = 1;
+    private long blockEnd = 0;
+
+    /**
+     * Reserves the given number of IDs, querying the sequence at most once.
+     *
+     * @param count The number of IDs to reserve.
+     * @return The reserved IDs.
+     */
+    public synchronized List<Long> allocate(int count) {
+        var ids = new ArrayList<Long>(count);
+        while (ids.size() < count && nextId <= blockEnd) {
+            ids.add(nextId++);
+        }
+
+        var missing = count - ids.size();
+        if (missing > 0) {
+            for (var end : reserveBlocks(missing)) {
+                nextId = end - ID_ALLOCATION_SIZE + 1;
+                blockEnd = end;
+                while (ids.size() < count && nextId <= blockEnd) {
+                    ids.add(nextId++);
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    /**
+     * Reserves whole blocks covering the given number of IDs straight from the sequence,
+     * for statements that number their rows themselves. The blocks kept for {@link #allocate} are left alone.
+     *
+     * @param count The number of IDs to reserve.
+     * @return The last ID of every reserved block, in the order they were reserved.
+     */
+    public List<Long> reserveBlocks(long count) {
+        var blocks = Math.toIntExact((count + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE);
+        return jdbcTemplate.queryForList(
+                "SELECT nextval('" + ID_SEQUENCE + "') FROM generate_series(1, ?)", Long.class, blocks);
+    }
+}
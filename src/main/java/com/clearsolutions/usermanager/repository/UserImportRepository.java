@@ -0,0 +1,181 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+import com.clearsolutions.usermanager.model.User;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import static com.clearsolutions.usermanager.model.User.ID_ALLOCATION_SIZE;
+import static com.clearsolutions.usermanager.repository.UserChangeRepository.RECORD_CHANGES;
+
+/**
+ * Imports users through a temporary staging table that is filled with {@code COPY FROM STDIN}
+ * and merged into the users table with a single statement.
+ * Must be used within a transaction, at the end of which the staging table is dropped.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserImportRepository {
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMPORARY TABLE users_import (
+                row_no     bigint NOT NULL,
+                first_name varchar(255),
+                last_name  varchar(255),
+                email      varchar(255),
+                birth_date date,
+                address    varchar(255),
+                phone      varchar(255)
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_INTO_STAGING = """
+            COPY users_import (row_no, first_name, last_name, email, birth_date, address, phone)
+            FROM STDIN (FORMAT csv)""";
+
+    /**
+     * Numbers the staged rows and takes their IDs from the reserved blocks passed as the only parameter,
+     * inserts the first row of every email that is not taken yet, records the created users in the outbox,
+     * and reports the outcome of every row.
+     */
+    private static final String MERGE_STAGING = """
+            WITH numbered AS (
+                SELECT *, row_number() OVER (ORDER BY row_no) - 1 AS ordinal
+                FROM users_import
+            ),
+            staged AS (
+                SELECT *, (?::bigint[])[(ordinal / %1$d + 1)::int] - %1$d + 1 + ordinal %% %1$d AS id
+                FROM numbered
+            ),
+            inserted AS (
+                INSERT INTO users (id, first_name, last_name, email, birth_date, address, phone)
+                SELECT DISTINCT ON (email) id, first_name, last_name, email, birth_date, address, phone
+                FROM staged
+                ORDER BY email, row_no
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, version
+            ),
+            recorded AS (
+                %2$s
+            )
+            SELECT staged.row_no, staged.email, inserted.id IS NOT NULL AS inserted
+            FROM staged
+            LEFT JOIN inserted ON inserted.id = staged.id
+            ORDER BY staged.row_no""".formatted(ID_ALLOCATION_SIZE,
+            RECORD_CHANGES.formatted(UserChangeType.CREATED, "inserted"));
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private static final ObjectWriter CSV_WRITER = CSV_MAPPER.writer(CSV_MAPPER.schemaFor(StagingRow.class))
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdAllocator userIdAllocator;
+
+    /**
+     * Creates the staging table and streams the users the producer writes into it with {@code COPY},
+     * so that only a small buffer of rows is held in memory at any time.
+     * No other statement may run on the connection until the producer returns.
+     *
+     * @param producer Writes the users to stage, each with the number of the row it was read from.
+     * @return The number of staged users.
+     */
+    public long copyIntoStaging(Consumer<StagingWriter> producer) {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            var copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_INTO_STAGING, COPY_BUFFER_SIZE);
+            try {
+                writeRows(copy, producer);
+                return copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        });
+    }
+
+    /**
+     * Inserts the staged users into the users table with a single statement and reports every staged row.
+     * A row is not inserted if its email is already taken, including by an earlier row of the same import.
+     *
+     * @param stagedCount The number of staged users, as returned by {@link #copyIntoStaging}.
+     * @param fetchSize   The number of outcomes the JDBC driver fetches per round trip.
+     * @param handler     Receives the outcome of every staged row, in row order.
+     */
+    public void mergeStaging(long stagedCount, int fetchSize, MergeHandler handler) {
+        var blockEnds = userIdAllocator.reserveBlocks(stagedCount).toArray();
+
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(MERGE_STAGING);
+            statement.setArray(1, connection.createArrayOf("bigint", blockEnds));
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> handler.handle(
+                resultSet.getLong("row_no"), resultSet.getString("email"), resultSet.getBoolean("inserted")));
+    }
+
+    private static void writeRows(OutputStream copy, Consumer<StagingWriter> producer) {
+        try (var rows = CSV_WRITER.writeValues(copy)) {
+            producer.accept((row, user) -> {
+                try {
+                    rows.write(new StagingRow(row, user.getFirstName(), user.getLastName(), user.getEmail(),
+                            user.getBirthDate().toString(), user.getAddress(), user.getPhone()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A row of the staging table, written as CSV in the column order of {@link #COPY_INTO_STAGING}.
+     */
+    @JsonPropertyOrder({"row", "firstName", "lastName", "email", "birthDate", "address", "phone"})
+    private record StagingRow(long row, String firstName, String lastName, String email,
+                              String birthDate, String address, String phone) {
+    }
+
+    @FunctionalInterface
+    public interface StagingWriter {
+
+        /**
+         * Stages a user that passed validation.
+         *
+         * @param row  The number of the row the user was read from.
+         * @param user The user to stage.
+         */
+        void write(long row, User user);
+    }
+
+    @FunctionalInterface
+    public interface MergeHandler {
+
+        /**
+         * Receives the outcome of merging one staged row.
+         *
+         * @param row      The number of the row the user was read from.
+         * @param email    The email of the user.
+         * @param inserted Whether the user was inserted.
+         */
+        void handle(long row, String email, boolean inserted);
+    }
+}
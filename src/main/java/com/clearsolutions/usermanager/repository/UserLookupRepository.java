@@ -0,0 +1,155 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.dto.enums.UserField;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.UNKNOWN_SORT_PROPERTY;
+import static com.clearsolutions.usermanager.dto.enums.UserField.*;
+
+/**
+ * Reads users with a single statement, bypassing the persistence context.
+ * Lookups by ID or email are answered from the unique index of the key column,
+ * and every query can read just the columns of the requested {@link UserFields}.
+ * The version is always read, so every view can be answered with its ETag.
+ * The queries run in read-only transactions, so they are served by a read replica when there is one,
+ * except for the plain lookup by IDs that fills the users cache.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserLookupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the users with the given IDs. IDs without a user are skipped.
+     * Runs outside of a read-only transaction, so with read replicas it still reads from the primary:
+     * it fills the users cache, which must not be filled from a lagging replica.
+     *
+     * @param ids The unique identifiers of the users.
+     * @return The users found, in no particular order.
+     */
+    public List<UserView> findAllById(Collection<Long> ids) {
+        return findAllByKeys(ID, "bigint", ids, UserFields.ALL);
+    }
+
+    /**
+     * Reads the requested columns of the users with the given IDs. IDs without a user are skipped.
+     *
+     * @param ids    The unique identifiers of the users.
+     * @param fields The fields to read; the ID is always read.
+     * @return The users found, in no particular order, with the fields that were not read set to null.
+     */
+    @Transactional(readOnly = true)
+    public List<UserView> findAllById(Collection<Long> ids, UserFields fields) {
+        return findAllByKeys(ID, "bigint", ids, fields);
+    }
+
+    /**
+     * Reads the requested columns of the users with the given emails. Emails without a user are skipped.
+     *
+     * @param emails The email addresses of the users, matched exactly.
+     * @param fields The fields to read; the email is always read.
+     * @return The users found, in no particular order, with the fields that were not read set to null.
+     */
+    @Transactional(readOnly = true)
+    public List<UserView> findAllByEmail(Collection<String> emails, UserFields fields) {
+        return findAllByKeys(EMAIL, "varchar", emails, fields);
+    }
+
+    /**
+     * Reads a page of the requested columns of the users whose birth dates fall within the range.
+     * The total is only counted when the page does not reveal it.
+     *
+     * @param dateRange The inclusive birth date bounds; a missing bound leaves the range open on that side.
+     * @param pageable  The page to read and its sort order by user property.
+     * @param fields    The fields to read.
+     * @return The page of users, with the fields that were not read set to null.
+     * @throws ValidationException if the sort order names a property the user does not have.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserView> findPageByBirthDateRange(DateRange dateRange, Pageable pageable, UserFields fields)
+            throws ValidationException {
+        var conditions = new ArrayList<String>();
+        var parameters = new ArrayList<Object>();
+        if (dateRange.from() != null) {
+            conditions.add("birth_date >= ?");
+            parameters.add(Date.valueOf(dateRange.from()));
+        }
+        if (dateRange.to() != null) {
+            conditions.add("birth_date <= ?");
+            parameters.add(Date.valueOf(dateRange.to()));
+        }
+        var where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        var sql = new StringBuilder("SELECT ").append(columns(fields.fields())).append(" FROM users").append(where);
+        if (pageable.getSort().isSorted()) {
+            sql.append(" ORDER BY ").append(pageable.getSort().stream()
+                    .map(order -> sortColumn(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"))
+                    .collect(Collectors.joining(", ")));
+        }
+        var pageParameters = new ArrayList<>(parameters);
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ? OFFSET ?");
+            pageParameters.add(pageable.getPageSize());
+            pageParameters.add(pageable.getOffset());
+        }
+
+        var content = jdbcTemplate.query(sql.toString(), rowMapper(fields.fields()), pageParameters.toArray());
+        return PageableExecutionUtils.getPage(content, pageable, () -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users" + where, Long.class, parameters.toArray()));
+    }
+
+    private List<UserView> findAllByKeys(UserField key, String keyType, Collection<?> keys, UserFields fields) {
+        var readFields = EnumSet.copyOf(fields.fields());
+        readFields.add(key);
+        var sql = "SELECT " + columns(readFields) + " FROM users WHERE " + key.getColumn() + " = ANY (?)";
+        var keyArray = keys.toArray();
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf(keyType, keyArray));
+            return statement;
+        }, rowMapper(readFields));
+    }
+
+    private static String columns(Collection<UserField> fields) {
+        return fields.stream().map(UserField::getColumn).collect(Collectors.joining(", ")) + ", version";
+    }
+
+    private static String sortColumn(String property) {
+        return UserField.fromProperty(property)
+                .orElseThrow(() -> new ValidationException(String.format(UNKNOWN_SORT_PROPERTY, property)))
+                .getColumn();
+    }
+
+    private static RowMapper<UserView> rowMapper(Collection<UserField> fields) {
+        var read = EnumSet.copyOf(fields);
+        return (resultSet, rowNum) -> new UserView(
+                read.contains(ID) ? resultSet.getLong("id") : null,
+                read.contains(FIRST_NAME) ? resultSet.getString("first_name") : null,
+                read.contains(LAST_NAME) ? resultSet.getString("last_name") : null,
+                read.contains(EMAIL) ? resultSet.getString("email") : null,
+                read.contains(BIRTH_DATE) ? resultSet.getObject("birth_date", LocalDate.class) : null,
+                read.contains(ADDRESS) ? resultSet.getString("address") : null,
+                read.contains(PHONE) ? resultSet.getString("phone") : null,
+                resultSet.getLong("version"));
+    }
+}
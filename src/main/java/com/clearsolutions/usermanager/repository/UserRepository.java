@@ -1,20 +1,72 @@
 package com.clearsolutions.usermanager.repository;
 
+import com.clearsolutions.usermanager.dto.UserView;
 import com.clearsolutions.usermanager.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    @Query("SELECT u FROM User u WHERE (COALESCE(:from, u.birthDate) <= u.birthDate) AND (COALESCE(:to, u.birthDate) >= u.birthDate)")
-    Page<User> findUserByBirthDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+    String SELECT_USER_VIEW = "SELECT new com.clearsolutions.usermanager.dto.UserView("
+            + "u.id, u.firstName, u.lastName, u.email, u.birthDate, u.address, u.phone, u.version) FROM User u ";
+
+    Optional<UserView> findViewById(Long id);
+
+    // The listing queries below run read-only, so they may be served by a read replica
+    @Transactional(readOnly = true)
+    Page<UserView> findPageBy(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Page<UserView> findUserByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Page<UserView> findUserByBirthDateGreaterThanEqual(LocalDate from, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Page<UserView> findUserByBirthDateLessThanEqual(LocalDate to, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Slice<UserView> findSliceBy(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Slice<UserView> findSliceByBirthDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Slice<UserView> findSliceByBirthDateGreaterThanEqual(LocalDate from, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    Slice<UserView> findSliceByBirthDateLessThanEqual(LocalDate to, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_VIEW + "ORDER BY u.birthDate, u.id")
+    List<UserView> findKeysetPage(Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_VIEW + "WHERE u.birthDate <= :to ORDER BY u.birthDate, u.id")
+    List<UserView> findKeysetPageUpTo(@Param("to") LocalDate to, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_VIEW + "WHERE (u.birthDate, u.id) > (:birthDate, :id) ORDER BY u.birthDate, u.id")
+    List<UserView> findKeysetPageAfter(@Param("birthDate") LocalDate birthDate, @Param("id") Long id, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_USER_VIEW + """
+            WHERE (u.birthDate, u.id) > (:birthDate, :id) AND u.birthDate <= :to
+            ORDER BY u.birthDate, u.id""")
+    List<UserView> findKeysetPageAfterUpTo(@Param("birthDate") LocalDate birthDate, @Param("id") Long id,
+                                       @Param("to") LocalDate to, Limit limit);
 
     boolean existsByEmail(String email);
 
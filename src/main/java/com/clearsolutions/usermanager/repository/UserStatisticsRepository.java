@@ -0,0 +1,58 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Reads approximate figures about the users table from PostgreSQL planner statistics
+ * instead of counting rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserStatisticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Estimates how many users have a birth date within the given bounds,
+     * using the row estimate of the query plan.
+     *
+     * @param from The inclusive lower bound, or null for an open range.
+     * @param to   The inclusive upper bound, or null for an open range.
+     * @return The planner's estimate of matching users.
+     */
+    public long estimateCountByBirthDateBetween(LocalDate from, LocalDate to) {
+        var conditions = new ArrayList<String>();
+        var parameters = new ArrayList<Object>();
+        if (from != null) {
+            conditions.add("birth_date >= ?");
+            parameters.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("birth_date <= ?");
+            parameters.add(Date.valueOf(to));
+        }
+
+        var sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM users"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        var plan = jdbcTemplate.queryForObject(sql, String.class, parameters.toArray());
+
+        return readPlanRows(plan);
+    }
+
+    private long readPlanRows(String plan) {
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read the query plan estimate", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.properties.LookupBatchingProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collects concurrent lookups of users by ID into batches and answers each batch with one
+ * {@code WHERE id = ANY (?)} query, in the manner of a DataLoader.
+ * A batch is sent once it holds {@code maxBatchSize} lookups or its first lookup has waited
+ * {@code maxWaitMicros}, whichever comes first. Lookups of the same ID within a batch share one row.
+ * Only created when {@code app.lookupBatching.enabled} is set.
+ *
+ * <p>Publishes the metrics {@value #BATCH_SIZE_METRIC}, the number of lookups per batch,
+ * and {@value #WAIT_METRIC}, the time a lookup waited before its batch was sent.
+ */
+@Component
+@ConditionalOnProperty(name = "app.lookupBatching.enabled", havingValue = "true")
+public class UserViewBatchLoader implements DisposableBean {
+
+    public static final String BATCH_SIZE_METRIC = "users.lookup.batch.size";
+    public static final String WAIT_METRIC = "users.lookup.batch.wait";
+
+    private final UserLookupRepository userLookupRepository;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final LinkedBlockingQueue<PendingLookup> pending = new LinkedBlockingQueue<>();
+    private final ThreadPoolExecutor batchExecutor;
+    private final Thread dispatcher;
+    private final DistributionSummary batchSizes;
+    private final Timer waitTimes;
+    private volatile boolean closed;
+
+    public UserViewBatchLoader(UserLookupRepository userLookupRepository,
+                               LookupBatchingProperties lookupBatchingProperties,
+                               MeterRegistry meterRegistry) {
+        this.userLookupRepository = userLookupRepository;
+        this.maxBatchSize = lookupBatchingProperties.getMaxBatchSize();
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(lookupBatchingProperties.getMaxWaitMicros());
+
+        var concurrentBatches = lookupBatchingProperties.getConcurrentBatches();
+        // Once every worker is busy and one more batch is queued, the dispatcher runs the next batch itself,
+        // which stops it from collecting and lets the lookups queue up into larger batches meanwhile.
+        this.batchExecutor = new ThreadPoolExecutor(concurrentBatches, concurrentBatches, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), runnable -> {
+                    var thread = new Thread(runnable, "user-lookup-batch");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Number of lookups by ID answered by one query")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimes = Timer.builder(WAIT_METRIC)
+                .description("Time a lookup by ID waited for its batch to be sent")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        this.dispatcher = new Thread(this::dispatch, "user-lookup-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Looks up the user with the given ID as part of the next batch and waits for the result.
+     *
+     * @param id The unique identifier of the user.
+     * @return The user, or empty if no user with the ID exists.
+     * @throws IllegalStateException if the loader is shutting down.
+     */
+    public Optional<UserView> load(Long id) {
+        if (closed) {
+            throw shuttingDown();
+        }
+        var lookup = new PendingLookup(id, System.nanoTime(), new CompletableFuture<>());
+        pending.add(lookup);
+        // The dispatcher may have drained the queue for the last time before the lookup was added
+        if (closed && pending.remove(lookup)) {
+            throw shuttingDown();
+        }
+        try {
+            return lookup.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        dispatcher.interrupt();
+        dispatcher.join();
+        batchExecutor.shutdown();
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<PendingLookup> batch;
+            try {
+                batch = collectBatch();
+            } catch (InterruptedException e) {
+                break;
+            }
+            batchExecutor.execute(() -> run(batch));
+        }
+
+        var abandoned = new ArrayList<PendingLookup>();
+        pending.drainTo(abandoned);
+        abandoned.forEach(lookup -> lookup.result().completeExceptionally(shuttingDown()));
+    }
+
+    private static IllegalStateException shuttingDown() {
+        return new IllegalStateException("User lookups are shutting down");
+    }
+
+    /**
+     * Waits for a lookup, then adds those arriving until the batch is full or the first one has waited long enough.
+     */
+    private List<PendingLookup> collectBatch() throws InterruptedException {
+        var first = pending.take();
+        var batch = new ArrayList<PendingLookup>(maxBatchSize);
+        batch.add(first);
+
+        var deadline = first.enqueuedAt() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            pending.drainTo(batch, maxBatchSize - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            var next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void run(List<PendingLookup> batch) {
+        var sentAt = System.nanoTime();
+        batch.forEach(lookup -> waitTimes.record(sentAt - lookup.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchSizes.record(batch.size());
+
+        try {
+            var ids = batch.stream().map(PendingLookup::id).collect(Collectors.toSet());
+            var users = userLookupRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(UserView::id, Function.identity()));
+            batch.forEach(lookup -> lookup.result().complete(Optional.ofNullable(users.get(lookup.id()))));
+        } catch (RuntimeException e) {
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+        }
+    }
+
+    private record PendingLookup(Long id, long enqueuedAt, CompletableFuture<Optional<UserView>> result) {
+    }
+}
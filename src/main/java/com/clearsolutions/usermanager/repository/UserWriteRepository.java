@@ -0,0 +1,309 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+import com.clearsolutions.usermanager.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.clearsolutions.usermanager.repository.UserChangeRepository.RECORD_CHANGES;
+
+/**
+ * Writes users with single SQL statements that rely on database constraints
+ * instead of checking them with separate queries first.
+ * Every statement also records its changes in the {@code user_changes} outbox.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserWriteRepository {
+
+    /**
+     * Reports one affected row if the user was inserted, as the outer insert records one change per inserted user.
+     */
+    private static final String INSERT_USER = """
+            WITH inserted AS (
+                INSERT INTO users (id, first_name, last_name, email, birth_date, address, phone)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id, version
+            )
+            """ + RECORD_CHANGES.formatted(UserChangeType.CREATED, "inserted");
+
+    private static final String USER_COLUMNS = "id, first_name, last_name, email, birth_date, address, phone, version";
+
+    private static final RowMapper<User> USER_ROW_MAPPER = (resultSet, rowNum) -> User.builder()
+            .id(resultSet.getLong("id"))
+            .firstName(resultSet.getString("first_name"))
+            .lastName(resultSet.getString("last_name"))
+            .email(resultSet.getString("email"))
+            .birthDate(resultSet.getDate("birth_date").toLocalDate())
+            .address(resultSet.getString("address"))
+            .phone(resultSet.getString("phone"))
+            .version(resultSet.getLong("version"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserIdAllocator userIdAllocator;
+
+    /**
+     * Inserts the user unless a user with the same email already exists.
+     * The unique index on email decides atomically, so concurrent inserts of the same email
+     * cannot both succeed.
+     *
+     * @param user The user to insert.
+     * @return The generated ID, or empty if the email is already taken.
+     */
+    public Optional<Long> insertIfEmailAbsent(User user) {
+        var id = userIdAllocator.allocate(1).get(0);
+        var inserted = jdbcTemplate.update(INSERT_USER, statement -> setUser(statement, id, user)) > 0;
+
+        return inserted ? Optional.of(id) : Optional.empty();
+    }
+
+    /**
+     * Inserts the users in JDBC batches of the given size, skipping those whose email is already taken.
+     * Every user is assigned a new ID, whether it is inserted or not. Where the driver reports
+     * {@link Statement#SUCCESS_NO_INFO} instead of a row count, the user was inserted if its new ID exists.
+     *
+     * @param users     The users to insert.
+     * @param batchSize The number of inserts sent to the database per batch.
+     * @return For each user, in order, whether it was inserted.
+     */
+    public boolean[] insertAllIfEmailAbsent(List<User> users, int batchSize) {
+        var ids = userIdAllocator.allocate(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(ids.get(i));
+        }
+
+        var batches = jdbcTemplate.batchUpdate(INSERT_USER, users, batchSize,
+                (statement, user) -> setUser(statement, user.getId(), user));
+
+        var inserted = new boolean[users.size()];
+        var unknownIds = new ArrayList<Long>();
+        var index = 0;
+        for (var batch : batches) {
+            for (var count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknownIds.add(users.get(index).getId());
+                }
+                inserted[index++] = count > 0;
+            }
+        }
+
+        if (!unknownIds.isEmpty()) {
+            var insertedIds = new HashSet<>(findExistingIds(unknownIds));
+            for (int i = 0; i < users.size(); i++) {
+                inserted[i] = inserted[i] || insertedIds.contains(users.get(i).getId());
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Sets the first name of the user with a single statement, without loading the user first.
+     *
+     * @param id              The unique identifier of the user.
+     * @param firstName       The new first name.
+     * @param expectedVersion The version the user must have, or null to update any version.
+     * @return The updated user, or empty if no user with the ID and expected version exists.
+     */
+    public Optional<User> updateFirstName(Long id, String firstName, Long expectedVersion) {
+        return updateColumn(id, "first_name", firstName, expectedVersion);
+    }
+
+    /**
+     * Sets the last name of the user with a single statement, without loading the user first.
+     *
+     * @param id              The unique identifier of the user.
+     * @param lastName        The new last name.
+     * @param expectedVersion The version the user must have, or null to update any version.
+     * @return The updated user, or empty if no user with the ID and expected version exists.
+     */
+    public Optional<User> updateLastName(Long id, String lastName, Long expectedVersion) {
+        return updateColumn(id, "last_name", lastName, expectedVersion);
+    }
+
+    /**
+     * Sets the birth date of the user with a single statement, without loading the user first.
+     *
+     * @param id              The unique identifier of the user.
+     * @param birthDate       The new birth date.
+     * @param expectedVersion The version the user must have, or null to update any version.
+     * @return The updated user, or empty if no user with the ID and expected version exists.
+     */
+    public Optional<User> updateBirthDate(Long id, LocalDate birthDate, Long expectedVersion) {
+        return updateColumn(id, "birth_date", Date.valueOf(birthDate), expectedVersion);
+    }
+
+    /**
+     * Sets the address of the user with a single statement, without loading the user first.
+     *
+     * @param id              The unique identifier of the user.
+     * @param address         The new address.
+     * @param expectedVersion The version the user must have, or null to update any version.
+     * @return The updated user, or empty if no user with the ID and expected version exists.
+     */
+    public Optional<User> updateAddress(Long id, String address, Long expectedVersion) {
+        return updateColumn(id, "address", address, expectedVersion);
+    }
+
+    /**
+     * Sets the phone number of the user with a single statement, without loading the user first.
+     *
+     * @param id              The unique identifier of the user.
+     * @param phone           The new phone number.
+     * @param expectedVersion The version the user must have, or null to update any version.
+     * @return The updated user, or empty if no user with the ID and expected version exists.
+     */
+    public Optional<User> updatePhone(Long id, String phone, Long expectedVersion) {
+        return updateColumn(id, "phone", phone, expectedVersion);
+    }
+
+    /**
+     * Deletes the user with a single statement, without loading it first.
+     *
+     * @param id The unique identifier of the user.
+     * @return true if a user was deleted, false if no user with the ID exists.
+     */
+    public boolean deleteById(Long id) {
+        return jdbcTemplate.update(deleteAndRecord("id = ?"), id) > 0;
+    }
+
+    /**
+     * Deletes every user with one of the given IDs with a single statement.
+     *
+     * @param ids The unique identifiers of the users; unknown IDs are ignored.
+     * @return The IDs of the deleted users.
+     */
+    public List<Long> deleteAllById(Collection<Long> ids) {
+        var idArray = ids.toArray();
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(deleteRecordAndReturnIds("id = ANY (?)"));
+            statement.setArray(1, connection.createArrayOf("bigint", idArray));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong("id"));
+    }
+
+    /**
+     * Deletes every user with a birth date within the given bounds with a single statement.
+     *
+     * @param from The inclusive lower bound, or null for an open range.
+     * @param to   The inclusive upper bound, or null for an open range.
+     * @return The IDs of the deleted users.
+     */
+    public List<Long> deleteByBirthDateBetween(LocalDate from, LocalDate to) {
+        var conditions = new ArrayList<String>();
+        var parameters = new ArrayList<Object>();
+        if (from != null) {
+            conditions.add("birth_date >= ?");
+            parameters.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("birth_date <= ?");
+            parameters.add(Date.valueOf(to));
+        }
+        var sql = deleteRecordAndReturnIds(conditions.isEmpty() ? "true" : String.join(" AND ", conditions));
+
+        return jdbcTemplate.queryForList(sql, Long.class, parameters.toArray());
+    }
+
+    /**
+     * Finds which of the given emails are already taken, querying them in chunks of the given size.
+     *
+     * @param emails    The emails to look up.
+     * @param chunkSize The maximum number of emails per query.
+     * @return The subset of the emails that belong to existing users.
+     */
+    public Set<String> findExistingEmails(Collection<String> emails, int chunkSize) {
+        var existing = new HashSet<String>();
+        var pending = new ArrayList<>(emails);
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            var chunk = pending.subList(from, Math.min(from + chunkSize, pending.size())).toArray();
+            existing.addAll(jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement("SELECT email FROM users WHERE email = ANY (?)");
+                statement.setArray(1, connection.createArrayOf("varchar", chunk));
+                return statement;
+            }, (resultSet, rowNum) -> resultSet.getString("email")));
+        }
+        return existing;
+    }
+
+    /**
+     * Runs {@code UPDATE ... RETURNING} on one column, so the update, recording the change and reading back
+     * the user take a single round trip. The version is incremented, and when one is expected it is checked
+     * in the same statement, so a stale write changes nothing instead of overwriting a newer one.
+     *
+     * @param id              The unique identifier of the user.
+     * @param column          The column to set; never user input.
+     * @param value           The new value of the column.
+     * @param expectedVersion The version the user must have, or null to update any version.
+     * @return The updated user, or empty if no row matched the ID and version.
+     */
+    private Optional<User> updateColumn(Long id, String column, Object value, Long expectedVersion) {
+        var condition = expectedVersion == null ? "id = ?" : "id = ? AND version = ?";
+        var sql = "WITH updated AS (UPDATE users SET " + column + " = ?, version = version + 1 WHERE " + condition
+                + " RETURNING " + USER_COLUMNS + "), recorded AS ("
+                + RECORD_CHANGES.formatted(UserChangeType.UPDATED, "updated") + ") "
+                + "SELECT " + USER_COLUMNS + " FROM updated";
+        if (expectedVersion == null) {
+            return jdbcTemplate.query(sql, USER_ROW_MAPPER, value, id).stream().findFirst();
+        }
+        return jdbcTemplate.query(sql, USER_ROW_MAPPER, value, id, expectedVersion).stream().findFirst();
+    }
+
+    /**
+     * Builds a statement that deletes the users matching the condition and records their deletion.
+     * It reports the number of deleted users as its affected rows.
+     *
+     * @param condition The SQL condition on the users table; never user input.
+     * @return The statement.
+     */
+    private static String deleteAndRecord(String condition) {
+        return "WITH deleted AS (DELETE FROM users WHERE " + condition + " RETURNING id, version) "
+                + RECORD_CHANGES.formatted(UserChangeType.DELETED, "deleted");
+    }
+
+    /**
+     * Builds a statement that deletes the users matching the condition, records their deletion
+     * and returns the IDs of the deleted users.
+     *
+     * @param condition The SQL condition on the users table; never user input.
+     * @return The statement.
+     */
+    private static String deleteRecordAndReturnIds(String condition) {
+        return "WITH deleted AS (DELETE FROM users WHERE " + condition + " RETURNING id, version), recorded AS ("
+                + RECORD_CHANGES.formatted(UserChangeType.DELETED, "deleted") + ") SELECT id FROM deleted";
+    }
+
+    private List<Long> findExistingIds(Collection<Long> ids) {
+        var idArray = ids.toArray();
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT id FROM users WHERE id = ANY (?)");
+            statement.setArray(1, connection.createArrayOf("bigint", idArray));
+            return statement;
+        }, (resultSet, rowNum) -> resultSet.getLong("id"));
+    }
+
+    private static void setUser(PreparedStatement statement, Long id, User user) throws SQLException {
+        statement.setLong(1, id);
+        statement.setString(2, user.getFirstName());
+        statement.setString(3, user.getLastName());
+        statement.setString(4, user.getEmail());
+        statement.setDate(5, Date.valueOf(user.getBirthDate()));
+        statement.setString(6, user.getAddress());
+        statement.setString(7, user.getPhone());
+    }
+}
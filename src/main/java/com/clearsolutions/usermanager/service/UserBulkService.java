@@ -0,0 +1,45 @@
+package com.clearsolutions.usermanager.service;
+
+import com.clearsolutions.usermanager.dto.BulkCreateResult;
+import com.clearsolutions.usermanager.dto.BulkDeleteResult;
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
+
+import java.util.List;
+
+/**
+ * Interface defining the service operations for creating and deleting users in bulk.
+ */
+public interface UserBulkService {
+
+    /**
+     * Creates every valid user whose email is neither taken nor repeated within the request.
+     * Emails are checked in sets and users are inserted in JDBC batches in a single transaction.
+     * Users that cannot be created are reported instead of failing the whole request.
+     *
+     * @param users The users to create.
+     * @return The outcome for every user, in request order.
+     * @throws ValidationException if the request contains more users than allowed.
+     */
+    BulkCreateResult createAll(List<User> users) throws ValidationException;
+
+    /**
+     * Deletes every user with one of the given IDs with a single statement.
+     * IDs of users that do not exist are ignored.
+     *
+     * @param ids The unique identifiers of the users to delete.
+     * @return The number of deleted users.
+     * @throws ValidationException if the request contains more IDs than allowed.
+     */
+    BulkDeleteResult deleteAllById(List<Long> ids) throws ValidationException;
+
+    /**
+     * Deletes every user whose birth date falls within the specified range with a single statement.
+     *
+     * @param dateRange The {@link DateRange} of birth dates to delete; at least one bound is required.
+     * @return The number of deleted users.
+     * @throws ValidationException if neither bound of the range is set.
+     */
+    BulkDeleteResult deleteByBirthDateRange(DateRange dateRange) throws ValidationException;
+}
@@ -0,0 +1,29 @@
+package com.clearsolutions.usermanager.service;
+
+import com.clearsolutions.usermanager.dto.ChangePage;
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.exceptions.custom.ChangeTokenExpiredException;
+
+/**
+ * Interface defining the service operations for following changes of users.
+ */
+public interface UserChangeService {
+
+    /**
+     * Retrieves the changes of users recorded after the given position, in the order they were committed.
+     * Changes are kept for {@code app.changeFeed.retentionHours}.
+     *
+     * @param since The position to read after, or null to read from the oldest kept change.
+     * @param limit The maximum number of changes to return.
+     * @return The changes and the token to request the following ones with.
+     * @throws ChangeTokenExpiredException if changes after the position were already purged.
+     */
+    ChangePage findChangesSince(ChangeToken since, int limit) throws ChangeTokenExpiredException;
+
+    /**
+     * Retrieves the position after every change that has been committed so far.
+     *
+     * @return The current end of the change feed.
+     */
+    ChangeToken currentPosition();
+}
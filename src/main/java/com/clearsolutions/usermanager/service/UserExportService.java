@@ -0,0 +1,26 @@
+package com.clearsolutions.usermanager.service;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface defining the service operations for exporting users in bulk.
+ */
+public interface UserExportService {
+
+    /**
+     * Streams all users whose birth dates fall within the specified range to the output stream,
+     * ordered by birth date and ID.
+     * Users are written one by one as they are read, so memory use does not grow with the number of users.
+     *
+     * @param dateRange    The {@link DateRange} representing the range of birth dates to filter by.
+     * @param format       The {@link FileFormat} to write the users in.
+     * @param outputStream The stream to write the users to.
+     * @throws IOException if writing to the stream fails, e.g. because the client disconnected.
+     */
+    void exportUsersByBirthDateRange(DateRange dateRange, FileFormat format, OutputStream outputStream)
+            throws IOException;
+}
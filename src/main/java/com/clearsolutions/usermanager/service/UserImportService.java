@@ -0,0 +1,29 @@
+package com.clearsolutions.usermanager.service;
+
+import com.clearsolutions.usermanager.dto.ImportReport;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interface defining the service operations for importing users in bulk.
+ */
+public interface UserImportService {
+
+    /**
+     * Imports the users read from the input stream in a single transaction.
+     * Rows are validated with the same rules as a single user, streamed into a staging table with
+     * {@code COPY} and merged into the users table with one statement, so memory use does not grow
+     * with the size of the input. Rows that are invalid or whose email is taken are reported
+     * instead of failing the whole import.
+     *
+     * @param format      The {@link FileFormat} of the input: CSV with a header row, or one JSON object per line.
+     * @param inputStream The stream to read the users from.
+     * @return The {@link ImportReport} with the number of imported users and the rejected rows.
+     * @throws ValidationException if the CSV input cannot be parsed.
+     * @throws IOException         if reading the input fails.
+     */
+    ImportReport importUsers(FileFormat format, InputStream inputStream) throws ValidationException, IOException;
+}
@@ -2,12 +2,21 @@ package com.clearsolutions.usermanager.service;
 
 import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.PreconditionFailedException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.dto.CursorPage;
 import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.MultiGetResult;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserView;
 import com.clearsolutions.usermanager.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Interface defining the service operations for managing users.
@@ -16,24 +25,99 @@ public interface UserService {
 
     /**
      * Retrieves a user by their unique identifier.
+     * Results are cached until the user is updated or deleted, or until the cache evicts them.
+     * With lookup batching enabled, concurrent cache misses are read together with one query.
      *
      * @param id The unique identifier of the user.
-     * @return The user with the specified ID.
+     * @return The read-only view of the user with the specified ID.
      * @throws EntityNotFoundException if no user with the specified ID is found.
      */
-    User getById(Long id) throws EntityNotFoundException;
+    UserView getById(Long id) throws EntityNotFoundException;
+
+    /**
+     * Retrieves the users with the given IDs with a single query.
+     * Repeated IDs are looked up once, and IDs without a user are reported instead of failing the request.
+     *
+     * @param ids    The unique identifiers of the users.
+     * @param fields The fields to read; the others are null in the returned views.
+     * @return The users found, in request order, and the IDs without a user.
+     * @throws ValidationException if the request contains more distinct IDs than allowed.
+     */
+    MultiGetResult<UserView, Long> getAllById(List<Long> ids, UserFields fields) throws ValidationException;
+
+    /**
+     * Retrieves the users with the given emails with a single query.
+     * Repeated emails are looked up once, and emails without a user are reported instead of failing the request.
+     *
+     * @param emails The email addresses of the users, matched exactly.
+     * @param fields The fields to read; the others are null in the returned views.
+     * @return The users found, in request order, and the emails without a user.
+     * @throws ValidationException if the request contains more distinct emails than allowed.
+     */
+    MultiGetResult<UserView, String> getAllByEmail(List<String> emails, UserFields fields) throws ValidationException;
 
     /**
      * Retrieves a page of users whose birth dates fall within the specified range.
+     * Missing bounds leave the range open on that side.
+     * Users are returned as read-only views that are not tracked by the persistence context.
+     * Concurrent calls with the same range and page share one execution of the queries and one result.
+     *
+     * @param dateRange The {@link DateRange} representing the range of birth dates to filter by.
+     * @param pageable  The pagination information for the query.
+     * @return A {@link Page} of users whose birth dates fall within the specified range.
+     */
+    Page<UserView> findUsersByBirthDateRange(DateRange dateRange, Pageable pageable);
+
+    /**
+     * Retrieves a page of users whose birth dates fall within the specified range,
+     * reading only the columns of the requested fields.
+     * Concurrent calls with the same range, page and fields share one execution of the queries and one result.
      *
      * @param dateRange The {@link DateRange} representing the range of birth dates to filter by.
      * @param pageable  The pagination information for the query.
+     * @param fields    The fields to read; the others are null in the returned views.
      * @return A {@link Page} of users whose birth dates fall within the specified range.
+     * @throws ValidationException if the page is sorted by a property the user does not have.
      */
-    Page<User> findUsersByBirthDateRange(DateRange dateRange, Pageable pageable);
+    Page<UserView> findUsersByBirthDateRange(DateRange dateRange, Pageable pageable, UserFields fields)
+            throws ValidationException;
+
+    /**
+     * Retrieves a slice of users whose birth dates fall within the specified range
+     * without counting all matching users.
+     *
+     * @param dateRange The {@link DateRange} representing the range of birth dates to filter by.
+     * @param pageable  The pagination information for the query.
+     * @return A {@link Slice} of users that only knows whether a next slice exists.
+     */
+    Slice<UserView> findUsersSliceByBirthDateRange(DateRange dateRange, Pageable pageable);
+
+    /**
+     * Estimates the number of users whose birth dates fall within the specified range
+     * from database statistics, without counting them.
+     *
+     * @param dateRange The {@link DateRange} representing the range of birth dates to filter by.
+     * @return The approximate number of matching users.
+     */
+    long estimateUsersByBirthDateRange(DateRange dateRange);
+
+    /**
+     * Retrieves a page of users whose birth dates fall within the specified range
+     * using keyset pagination ordered by birth date and ID.
+     * Fetching a deep page costs the same as fetching the first one.
+     *
+     * @param dateRange The {@link DateRange} representing the range of birth dates to filter by.
+     * @param cursor    The continuation token returned with the previous page, or blank for the first page.
+     * @param size      The maximum number of users on the page.
+     * @return A {@link CursorPage} of users with the token for the next page.
+     * @throws ValidationException if the cursor is malformed.
+     */
+    CursorPage<UserView> scrollUsersByBirthDateRange(DateRange dateRange, String cursor, int size) throws ValidationException;
 
     /**
      * Creates a new user.
+     * The user is inserted with a single statement, so concurrent creates with the same email
+     * cannot both succeed.
      *
      * @param user The user to create.
      * @return The created user.
@@ -43,78 +127,124 @@ public interface UserService {
 
     /**
      * Updates an existing user.
+     * Every write increments the version of the user, which clients receive as its ETag.
      *
-     * @param id   The unique identifier of the user to update.
-     * @param user The updated user data.
+     * @param id              The unique identifier of the user to update.
+     * @param user            The updated user data.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException    if no user with the specified ID is found.
      * @throws EntityAlreadyExistsException if a user with the same email already exists.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
+     */
+    User update(Long id, User user, Long expectedVersion)
+            throws EntityNotFoundException, EntityAlreadyExistsException, PreconditionFailedException;
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to an existing user.
+     * Only the fields present in the patch are validated and changed, and a field set to null is cleared.
+     * The changes are written with one UPDATE of just the changed columns.
+     *
+     * @param id              The unique identifier of the user to patch.
+     * @param patch           The merge patch document.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
+     * @return The patched user.
+     * @throws ValidationException          if the patch is not an object, names a field that cannot be patched
+     *                                      or sets a field to an invalid value.
+     * @throws EntityNotFoundException      if no user with the specified ID is found.
+     * @throws EntityAlreadyExistsException if a user with the patched email already exists.
+     * @throws PreconditionFailedException  if the user no longer has the expected version.
      */
-    User update(Long id, User user) throws EntityNotFoundException, EntityAlreadyExistsException;
+    User patch(Long id, JsonNode patch, Long expectedVersion) throws ValidationException, EntityNotFoundException,
+            EntityAlreadyExistsException, PreconditionFailedException;
 
     /**
      * Updates the first name of an existing user.
+     * The user is updated and read back with a single statement, without being loaded first.
      *
-     * @param id        The unique identifier of the user.
-     * @param firstName The new first name.
+     * @param id              The unique identifier of the user.
+     * @param firstName       The new first name.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException    if no user with the specified ID is found.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
      */
-    User updateFirstName(Long id, String firstName) throws EntityNotFoundException;
+    User updateFirstName(Long id, String firstName, Long expectedVersion)
+            throws EntityNotFoundException, PreconditionFailedException;
 
     /**
      * Updates the last name of an existing user.
+     * The user is updated and read back with a single statement, without being loaded first.
      *
-     * @param id       The unique identifier of the user.
-     * @param lastName The new last name.
+     * @param id              The unique identifier of the user.
+     * @param lastName        The new last name.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException if no user with the specified ID is found.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
      */
-    User updateLastName(Long id, String lastName) throws EntityNotFoundException;
+    User updateLastName(Long id, String lastName, Long expectedVersion)
+            throws EntityNotFoundException, PreconditionFailedException;
 
     /**
      * Updates the email address of an existing user.
      *
-     * @param id    The unique identifier of the user.
-     * @param email The new email address.
+     * @param id              The unique identifier of the user.
+     * @param email           The new email address.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException    if no user with the specified ID is found.
      * @throws EntityAlreadyExistsException if a user with the same email already exists.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
      */
-    User updateEmail(Long id, String email) throws EntityNotFoundException, EntityAlreadyExistsException;
+    User updateEmail(Long id, String email, Long expectedVersion)
+            throws EntityNotFoundException, EntityAlreadyExistsException, PreconditionFailedException;
 
     /**
      * Updates the birthdate of an existing user.
+     * The user is updated and read back with a single statement, without being loaded first.
      *
-     * @param id       The unique identifier of the user.
-     * @param birthday The new birthdate.
+     * @param id              The unique identifier of the user.
+     * @param birthday        The new birthdate.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException if no user with the specified ID is found.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
      */
-    User updateBirthdate(Long id, LocalDate birthday) throws EntityNotFoundException;
+    User updateBirthdate(Long id, LocalDate birthday, Long expectedVersion)
+            throws EntityNotFoundException, PreconditionFailedException;
 
     /**
      * Updates the address of an existing user.
+     * The user is updated and read back with a single statement, without being loaded first.
      *
-     * @param id      The unique identifier of the user.
-     * @param address The new address.
+     * @param id              The unique identifier of the user.
+     * @param address         The new address.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException if no user with the specified ID is found.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
      */
-    User updateAddress(Long id, String address) throws EntityNotFoundException;
+    User updateAddress(Long id, String address, Long expectedVersion)
+            throws EntityNotFoundException, PreconditionFailedException;
 
     /**
      * Updates the phone number of an existing user.
+     * The user is updated and read back with a single statement, without being loaded first.
      *
-     * @param id    The unique identifier of the user.
-     * @param phone The new phone number.
+     * @param id              The unique identifier of the user.
+     * @param phone           The new phone number.
+     * @param expectedVersion The version the user must have, as sent with If-Match, or null for any version.
      * @return The updated user.
      * @throws EntityNotFoundException if no user with the specified ID is found.
+     * @throws PreconditionFailedException if the user no longer has the expected version.
      */
-    User updatePhone(Long id, String phone) throws EntityNotFoundException;
+    User updatePhone(Long id, String phone, Long expectedVersion)
+            throws EntityNotFoundException, PreconditionFailedException;
 
     /**
      * Deletes a user by their unique identifier.
+     * The user is deleted with a single statement, without being loaded first.
      *
      * @param id The unique identifier of the user to delete.
      * @throws EntityNotFoundException if no user with the specified ID is found.
@@ -0,0 +1,123 @@
+package com.clearsolutions.usermanager.service.impl;
+
+import com.clearsolutions.usermanager.cache.EmailBloomFilter;
+import com.clearsolutions.usermanager.cache.UserCacheEvictor;
+import com.clearsolutions.usermanager.dto.BulkCreateResult;
+import com.clearsolutions.usermanager.dto.BulkDeleteResult;
+import com.clearsolutions.usermanager.dto.BulkItemResult;
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.properties.BulkProperties;
+import com.clearsolutions.usermanager.repository.UserWriteRepository;
+import com.clearsolutions.usermanager.service.UserBulkService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
+import static com.clearsolutions.usermanager.dto.enums.BulkItemStatus.DUPLICATE;
+import static com.clearsolutions.usermanager.dto.enums.BulkItemStatus.INVALID;
+
+/**
+ * Implementation of the service for creating users in bulk.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserBulkServiceImpl implements UserBulkService {
+
+    private final UserWriteRepository userWriteRepository;
+    private final BulkProperties bulkProperties;
+    private final EmailBloomFilter emailBloomFilter;
+    private final UserCacheEvictor userCacheEvictor;
+    private final Validator validator;
+
+    @Override
+    @Transactional
+    public BulkCreateResult createAll(List<User> users) {
+        if (users.size() > bulkProperties.getMaxItems()) {
+            throw new ValidationException(String.format(BULK_LIMIT_EXCEEDED, bulkProperties.getMaxItems()));
+        }
+
+        var results = new BulkItemResult[users.size()];
+        var candidates = new ArrayList<Integer>();
+        var requestEmails = new HashSet<String>();
+        for (int i = 0; i < users.size(); i++) {
+            if (users.get(i) == null) {
+                results[i] = BulkItemResult.rejected(i, INVALID, USER_REQUIRED);
+                continue;
+            }
+            var violations = validator.validate(users.get(i));
+            if (!violations.isEmpty()) {
+                results[i] = BulkItemResult.rejected(i, INVALID, joinMessages(violations));
+            } else if (!requestEmails.add(users.get(i).getEmail())) {
+                results[i] = BulkItemResult.rejected(i, DUPLICATE, EMAIL_REPEATED_IN_BULK);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        var existingEmails = userWriteRepository.findExistingEmails(requestEmails, bulkProperties.getBatchSize());
+        var toInsert = new ArrayList<Integer>();
+        for (var index : candidates) {
+            if (existingEmails.contains(users.get(index).getEmail())) {
+                results[index] = BulkItemResult.rejected(index, DUPLICATE, EMAIL_ALREADY_EXISTS);
+            } else {
+                toInsert.add(index);
+            }
+        }
+
+        var usersToInsert = toInsert.stream().map(users::get).toList();
+        var inserted = userWriteRepository.insertAllIfEmailAbsent(usersToInsert, bulkProperties.getBatchSize());
+        for (int i = 0; i < toInsert.size(); i++) {
+            var index = toInsert.get(i);
+            var user = usersToInsert.get(i);
+            if (inserted[i]) {
+                emailBloomFilter.put(user.getEmail());
+                results[index] = BulkItemResult.created(index, user.getId());
+            } else {
+                results[index] = BulkItemResult.rejected(index, DUPLICATE, EMAIL_ALREADY_EXISTS);
+            }
+        }
+
+        return BulkCreateResult.of(Arrays.asList(results));
+    }
+
+    @Override
+    public BulkDeleteResult deleteAllById(List<Long> ids) {
+        if (ids.size() > bulkProperties.getMaxItems()) {
+            throw new ValidationException(String.format(BULK_DELETE_LIMIT_EXCEEDED, bulkProperties.getMaxItems()));
+        }
+
+        var deletedIds = userWriteRepository.deleteAllById(new HashSet<>(ids));
+        userCacheEvictor.evictAll(deletedIds);
+
+        return new BulkDeleteResult(deletedIds.size());
+    }
+
+    @Override
+    public BulkDeleteResult deleteByBirthDateRange(DateRange dateRange) {
+        if (dateRange.from() == null && dateRange.to() == null) {
+            throw new ValidationException(DELETE_RANGE_REQUIRED);
+        }
+
+        var deletedIds = userWriteRepository.deleteByBirthDateBetween(dateRange.from(), dateRange.to());
+        userCacheEvictor.evictAll(deletedIds);
+
+        return new BulkDeleteResult(deletedIds.size());
+    }
+
+    static String joinMessages(Iterable<? extends ConstraintViolation<?>> violations) {
+        var messages = new ArrayList<String>();
+        violations.forEach(violation -> messages.add(violation.getMessage()));
+        return messages.stream().sorted().collect(Collectors.joining(", "));
+    }
+}
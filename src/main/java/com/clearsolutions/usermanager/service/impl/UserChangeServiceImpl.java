@@ -0,0 +1,77 @@
+package com.clearsolutions.usermanager.service.impl;
+
+import com.clearsolutions.usermanager.dto.ChangePage;
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.exceptions.custom.ChangeTokenExpiredException;
+import com.clearsolutions.usermanager.properties.ChangeFeedProperties;
+import com.clearsolutions.usermanager.repository.UserChangeRepository;
+import com.clearsolutions.usermanager.service.UserChangeService;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the service for following changes of users.
+ * Changes older than the retention period are purged every ten minutes.
+ */
+@Service
+public class UserChangeServiceImpl implements UserChangeService, DisposableBean {
+
+    private static final long PURGE_INTERVAL_MINUTES = 10;
+
+    private final UserChangeRepository userChangeRepository;
+    private final long retentionHours;
+    private final ScheduledExecutorService scheduler;
+
+    public UserChangeServiceImpl(UserChangeRepository userChangeRepository,
+                                 ChangeFeedProperties changeFeedProperties) {
+        this.userChangeRepository = userChangeRepository;
+        this.retentionHours = changeFeedProperties.getRetentionHours();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "user-change-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::purge, PURGE_INTERVAL_MINUTES, PURGE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public ChangePage findChangesSince(ChangeToken since, int limit) {
+        var position = since == null ? userChangeRepository.findHorizon() : since;
+        // Read before checking the horizon, so a purge in between is noticed instead of skipping changes
+        var changes = userChangeRepository.findAfter(position, limit + 1);
+        if (since != null && since.compareTo(userChangeRepository.findHorizon()) < 0) {
+            throw new ChangeTokenExpiredException(since.encode());
+        }
+
+        var hasMore = changes.size() > limit;
+        var content = hasMore ? changes.subList(0, limit) : changes;
+        var token = content.isEmpty() ? position.encode() : content.get(content.size() - 1).token();
+
+        return new ChangePage(content, token, hasMore);
+    }
+
+    @Override
+    public ChangeToken currentPosition() {
+        return userChangeRepository.findHead();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void purge() {
+        try {
+            userChangeRepository.purge(retentionHours);
+        } catch (DataAccessException e) {
+            Logger.warning("Change feed", "Unable to purge expired changes: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.clearsolutions.usermanager.service.impl;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.properties.ExportProperties;
+import com.clearsolutions.usermanager.repository.UserExportRepository;
+import com.clearsolutions.usermanager.service.UserExportService;
+import com.clearsolutions.usermanager.utils.Logger;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Implementation of the service for exporting users in bulk.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("firstName")
+            .addColumn("lastName")
+            .addColumn("email")
+            .addColumn("birthDate")
+            .addColumn("address")
+            .addColumn("phone")
+            .setUseHeader(true)
+            .build();
+
+    private final UserExportRepository userExportRepository;
+    private final ExportProperties exportProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Runs in a read-only transaction so that the JDBC driver reads the users through
+     * a server-side cursor instead of loading the whole result set at once.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsersByBirthDateRange(DateRange dateRange, FileFormat format, OutputStream outputStream)
+            throws IOException {
+        var flushEvery = exportProperties.getFlushEvery();
+        var written = new long[1];
+
+        try (var generator = createGenerator(format, outputStream)) {
+            userExportRepository.forEachByBirthDateBetween(dateRange.from(), dateRange.to(), user -> {
+                try {
+                    generator.writeObject(user);
+                    if (format == FileFormat.NDJSON) {
+                        generator.writeRaw('\n');
+                    }
+                    written[0]++;
+                    if (flushEvery > 0 && written[0] % flushEvery == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            Logger.warning("User export aborted", "Stopped after " + written[0] + " users: " + e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private JsonGenerator createGenerator(FileFormat format, OutputStream outputStream) throws IOException {
+        var generator = switch (format) {
+            case NDJSON -> objectMapper.getFactory().createGenerator(outputStream).setRootValueSeparator(null);
+            case CSV -> CSV_MAPPER.writer(CSV_SCHEMA).createGenerator(outputStream);
+        };
+
+        return generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
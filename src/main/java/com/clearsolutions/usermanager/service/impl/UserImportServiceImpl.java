@@ -0,0 +1,212 @@
+package com.clearsolutions.usermanager.service.impl;
+
+import com.clearsolutions.usermanager.cache.EmailBloomFilter;
+import com.clearsolutions.usermanager.dto.ImportRejection;
+import com.clearsolutions.usermanager.dto.ImportReport;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.properties.ImportProperties;
+import com.clearsolutions.usermanager.repository.UserImportRepository;
+import com.clearsolutions.usermanager.repository.UserImportRepository.StagingWriter;
+import com.clearsolutions.usermanager.service.UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
+
+/**
+ * Implementation of the service for importing users in bulk.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final ObjectReader CSV_READER = CsvMapper.builder()
+            .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+            .build()
+            .readerForMapOf(String.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private final UserImportRepository userImportRepository;
+    private final ImportProperties importProperties;
+    private final EmailBloomFilter emailBloomFilter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Override
+    @Transactional
+    public ImportReport importUsers(FileFormat format, InputStream inputStream) throws IOException {
+        var tally = new ImportTally(importProperties.getMaxReportedRejections());
+
+        long staged;
+        try {
+            staged = userImportRepository.copyIntoStaging(staging -> {
+                try {
+                    if (format == FileFormat.NDJSON) {
+                        readNdjson(inputStream, staging, tally);
+                    } else {
+                        readCsv(inputStream, staging, tally);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (staged > 0) {
+            userImportRepository.mergeStaging(staged, importProperties.getFetchSize(), (row, email, inserted) -> {
+                if (inserted) {
+                    emailBloomFilter.put(email);
+                    tally.imported++;
+                } else {
+                    tally.reject(row, EMAIL_ALREADY_EXISTS);
+                }
+            });
+        }
+
+        return tally.toReport();
+    }
+
+    /**
+     * Reads one JSON object per line; rows are numbered by line and blank lines are skipped.
+     */
+    private void readNdjson(InputStream inputStream, StagingWriter staging, ImportTally tally) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                node = null;
+            }
+            if (node == null || !node.isObject()) {
+                tally.reject(row, MALFORMED_JSON_ROW);
+                continue;
+            }
+
+            var fields = node;
+            stageRow(row, name -> fields.hasNonNull(name) ? fields.get(name).asText() : null, staging, tally);
+        }
+    }
+
+    /**
+     * Reads CSV records by the column names of the header row; rows are numbered by record after the header.
+     */
+    private void readCsv(InputStream inputStream, StagingWriter staging, ImportTally tally) throws IOException {
+        long row = 0;
+        try (MappingIterator<Map<String, String>> records = CSV_READER.readValues(inputStream)) {
+            while (records.hasNextValue()) {
+                var fields = records.nextValue();
+                stageRow(++row, fields::get, staging, tally);
+            }
+        } catch (JsonProcessingException e) {
+            throw new ValidationException(String.format(MALFORMED_CSV_FILE, row + 1, e.getOriginalMessage()));
+        }
+    }
+
+    /**
+     * Validates a row with the same rules as a single user and stages it if it passes.
+     *
+     * @param row     The number of the row.
+     * @param field   Looks up the value of a field of the row by its property name.
+     * @param staging The staging table to write valid users to.
+     * @param tally   The tally to record invalid rows in.
+     */
+    private void stageRow(long row, Function<String, String> field, StagingWriter staging, ImportTally tally) {
+        LocalDate birthDate = null;
+        var birthDateText = blankToNull(field.apply("birthDate"));
+        if (birthDateText != null) {
+            try {
+                birthDate = LocalDate.parse(birthDateText);
+            } catch (DateTimeParseException e) {
+                tally.reject(row, INVALID_BIRTH_DATE_FORMAT);
+                return;
+            }
+        }
+
+        var user = User.builder()
+                .firstName(blankToNull(field.apply("firstName")))
+                .lastName(blankToNull(field.apply("lastName")))
+                .email(blankToNull(field.apply("email")))
+                .birthDate(birthDate)
+                .address(blankToNull(field.apply("address")))
+                .phone(blankToNull(field.apply("phone")))
+                .build();
+
+        var violations = validator.validate(user);
+        if (!violations.isEmpty()) {
+            tally.reject(row, UserBulkServiceImpl.joinMessages(violations));
+            return;
+        }
+        staging.write(row, user);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Counts the outcomes of an import, keeping only the rejections with the lowest row numbers
+     * so that the report stays bounded however many rows are rejected.
+     */
+    private static final class ImportTally {
+
+        private final int limit;
+        private final PriorityQueue<ImportRejection> rejections =
+                new PriorityQueue<>(Comparator.comparingLong(ImportRejection::row).reversed());
+        private long imported;
+        private long rejected;
+
+        private ImportTally(int limit) {
+            this.limit = limit;
+        }
+
+        private void reject(long row, String message) {
+            rejected++;
+            rejections.add(new ImportRejection(row, message));
+            if (rejections.size() > limit) {
+                rejections.poll();
+            }
+        }
+
+        private ImportReport toReport() {
+            var sorted = new ArrayList<>(rejections);
+            sorted.sort(Comparator.comparingLong(ImportRejection::row));
+            return new ImportReport(imported, rejected, sorted);
+        }
+    }
+}
@@ -1,18 +1,59 @@
 package com.clearsolutions.usermanager.service.impl;
 
+import com.clearsolutions.usermanager.cache.EmailBloomFilter;
+import com.clearsolutions.usermanager.cache.InFlightQueries;
+import com.clearsolutions.usermanager.datasource.RoutingContext;
+import com.clearsolutions.usermanager.exceptions.custom.BasicApplicationException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.PreconditionFailedException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.dto.CursorPage;
 import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.MultiGetResult;
+import com.clearsolutions.usermanager.dto.UserCursor;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
 import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.properties.MultiGetProperties;
+import com.clearsolutions.usermanager.repository.UserChangeRepository;
+import com.clearsolutions.usermanager.repository.UserLookupRepository;
 import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.repository.UserStatisticsRepository;
+import com.clearsolutions.usermanager.repository.UserViewBatchLoader;
+import com.clearsolutions.usermanager.repository.UserWriteRepository;
 import com.clearsolutions.usermanager.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
 
 /**
  * Implementation of the service for managing user-related operations.
@@ -21,34 +62,177 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String EMAIL = "email";
+    private static final String BIRTH_DATE = "birthDate";
+    private static final String ADDRESS = "address";
+    private static final String PHONE = "phone";
+    /**
+     * The name PostgreSQL gave the unique constraint on the email column of users.
+     */
+    private static final String EMAIL_UNIQUE_CONSTRAINT = "users_email_key";
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(FIRST_NAME, LAST_NAME, EMAIL, BIRTH_DATE, ADDRESS, PHONE);
+
     private final UserRepository userRepository;
+    private final UserStatisticsRepository userStatisticsRepository;
+    private final UserWriteRepository userWriteRepository;
+    private final EmailBloomFilter emailBloomFilter;
+    private final Validator validator;
+    private final ObjectProvider<UserViewBatchLoader> userViewBatchLoader;
+    private final InFlightQueries inFlightQueries;
+    private final UserLookupRepository userLookupRepository;
+    private final MultiGetProperties multiGetProperties;
+    private final UserChangeRepository userChangeRepository;
 
     @Override
-    public User getById(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id));
+    @Cacheable(cacheNames = USERS, key = "#id")
+    public UserView getById(Long id) {
+        var batchLoader = userViewBatchLoader.getIfAvailable();
+        // Cached views are read from the primary, so a lagging replica cannot put an outdated user in the cache
+        var user = batchLoader != null
+                ? batchLoader.load(id)
+                : RoutingContext.onPrimary(() -> userRepository.findViewById(id));
+
+        return user.orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id));
+    }
+
+    @Override
+    public MultiGetResult<UserView, Long> getAllById(List<Long> ids, UserFields fields) {
+        return multiGet(ids, keys -> userLookupRepository.findAllById(keys, fields), UserView::id);
+    }
+
+    @Override
+    public MultiGetResult<UserView, String> getAllByEmail(List<String> emails, UserFields fields) {
+        return multiGet(emails, keys -> userLookupRepository.findAllByEmail(keys, fields), UserView::email);
+    }
+
+    /**
+     * Looks the distinct keys up with one query and splits the request into found users and missing keys,
+     * both in request order.
+     */
+    private <K> MultiGetResult<UserView, K> multiGet(List<K> keys, Function<Set<K>, List<UserView>> query,
+                                           Function<UserView, K> keyOf) {
+        var distinctKeys = new LinkedHashSet<>(keys);
+        if (distinctKeys.size() > multiGetProperties.getMaxItems()) {
+            throw new ValidationException(String.format(MULTI_GET_LIMIT_EXCEEDED, multiGetProperties.getMaxItems()));
+        }
+
+        var usersByKey = query.apply(distinctKeys).stream()
+                .collect(Collectors.toMap(keyOf, Function.identity()));
+        var users = new ArrayList<UserView>(usersByKey.size());
+        var missing = new ArrayList<K>();
+        for (var key : distinctKeys) {
+            var user = usersByKey.get(key);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        return new MultiGetResult<>(users, missing);
     }
 
     @Override
-    public Page<User> findUsersByBirthDateRange(DateRange dateRange, Pageable pageable) {
-        return userRepository.findUserByBirthDateBetween(dateRange.from(), dateRange.to(), pageable);
+    public Page<UserView> findUsersByBirthDateRange(DateRange dateRange, Pageable pageable) {
+        var query = new BirthDateRangePageQuery(dateRange, pageable, null, RoutingContext.isPrimaryPinned());
+        return inFlightQueries.execute(query, () -> queryUsersByBirthDateRange(dateRange, pageable));
+    }
+
+    @Override
+    public Page<UserView> findUsersByBirthDateRange(DateRange dateRange, Pageable pageable, UserFields fields) {
+        var query = new BirthDateRangePageQuery(dateRange, pageable, fields, RoutingContext.isPrimaryPinned());
+        return inFlightQueries.execute(query, () -> userLookupRepository.findPageByBirthDateRange(dateRange, pageable, fields));
+    }
+
+    /**
+     * Runs the page and count queries. Each repository call runs in its own read-only transaction,
+     * so requests waiting for an identical query in {@link #findUsersByBirthDateRange} hold no connection.
+     */
+    private Page<UserView> queryUsersByBirthDateRange(DateRange dateRange, Pageable pageable) {
+        var from = dateRange.from();
+        var to = dateRange.to();
+
+        if (from != null && to != null) {
+            return userRepository.findUserByBirthDateBetween(from, to, pageable);
+        }
+        if (from != null) {
+            return userRepository.findUserByBirthDateGreaterThanEqual(from, pageable);
+        }
+        if (to != null) {
+            return userRepository.findUserByBirthDateLessThanEqual(to, pageable);
+        }
+
+        return userRepository.findPageBy(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserView> findUsersSliceByBirthDateRange(DateRange dateRange, Pageable pageable) {
+        var from = dateRange.from();
+        var to = dateRange.to();
+
+        if (from != null && to != null) {
+            return userRepository.findSliceByBirthDateBetween(from, to, pageable);
+        }
+        if (from != null) {
+            return userRepository.findSliceByBirthDateGreaterThanEqual(from, pageable);
+        }
+        if (to != null) {
+            return userRepository.findSliceByBirthDateLessThanEqual(to, pageable);
+        }
+
+        return userRepository.findSliceBy(pageable);
+    }
+
+    @Override
+    public long estimateUsersByBirthDateRange(DateRange dateRange) {
+        return userStatisticsRepository.estimateCountByBirthDateBetween(dateRange.from(), dateRange.to());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserView> scrollUsersByBirthDateRange(DateRange dateRange, String cursor, int size) {
+        var position = resolveKeysetPosition(dateRange.from(), cursor);
+        var to = dateRange.to();
+        var limit = Limit.of(size + 1);
+
+        List<UserView> users;
+        if (position == null) {
+            users = to == null
+                    ? userRepository.findKeysetPage(limit)
+                    : userRepository.findKeysetPageUpTo(to, limit);
+        } else {
+            users = to == null
+                    ? userRepository.findKeysetPageAfter(position.birthDate(), position.id(), limit)
+                    : userRepository.findKeysetPageAfterUpTo(position.birthDate(), position.id(), to, limit);
+        }
+
+        var hasNext = users.size() > size;
+        var content = hasNext ? users.subList(0, size) : users;
+        var nextCursor = hasNext ? UserCursor.of(content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPage<>(content, nextCursor, hasNext);
     }
 
     @Override
     @Transactional
     public User create(User user) {
-        var existByEmail = userRepository.existsByEmail(user.getEmail());
-        if (existByEmail) {
-            throw new EntityAlreadyExistsException(User.class.getSimpleName(), "Email: " + user.getEmail());
-        }
+        var id = userWriteRepository.insertIfEmailAbsent(user)
+                .orElseThrow(() -> new EntityAlreadyExistsException(User.class.getSimpleName(), "Email: " + user.getEmail()));
+        user.setId(id);
+        user.setVersion(User.INITIAL_VERSION);
+        emailBloomFilter.put(user.getEmail());
 
-        return userRepository.save(user);
+        return user;
     }
 
     @Override
     @Transactional
-    public User update(Long id, User user) {
-        var userForUpdate = getById(id);
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User update(Long id, User user, Long expectedVersion) {
+        var userForUpdate = findUserForUpdate(id, expectedVersion);
         validateUniqueEmail(userForUpdate, user.getEmail());
 
         userForUpdate.setFirstName(user.getFirstName());
@@ -57,78 +241,260 @@ public class UserServiceImpl implements UserService {
         userForUpdate.setBirthDate(user.getBirthDate());
         userForUpdate.setAddress(user.getAddress());
         userForUpdate.setPhone(user.getPhone());
+        emailBloomFilter.put(user.getEmail());
 
-        return userForUpdate;
+        return recordUpdate(userForUpdate, expectedVersion);
     }
 
     @Override
     @Transactional
-    public User updateFirstName(Long id, String firstName) {
-        var userForUpdate = getById(id);
-        userForUpdate.setFirstName(firstName);
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User patch(Long id, JsonNode patch, Long expectedVersion) {
+        var changes = readMergePatch(patch);
+        var userForUpdate = findUserForUpdate(id, expectedVersion);
+        if (changes.containsKey(EMAIL)) {
+            var email = (String) changes.get(EMAIL);
+            validateUniqueEmail(userForUpdate, email);
+            emailBloomFilter.put(email);
+        }
 
-        return userForUpdate;
+        changes.forEach((field, value) -> {
+            switch (field) {
+                case FIRST_NAME -> userForUpdate.setFirstName((String) value);
+                case LAST_NAME -> userForUpdate.setLastName((String) value);
+                case EMAIL -> userForUpdate.setEmail((String) value);
+                case BIRTH_DATE -> userForUpdate.setBirthDate((LocalDate) value);
+                case ADDRESS -> userForUpdate.setAddress((String) value);
+                case PHONE -> userForUpdate.setPhone((String) value);
+                default -> throw new IllegalStateException("Unexpected field: " + field);
+            }
+        });
+
+        return recordUpdate(userForUpdate, expectedVersion);
     }
 
     @Override
-    @Transactional
-    public User updateLastName(Long id, String lastName) {
-        var userForUpdate = getById(id);
-        userForUpdate.setLastName(lastName);
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User updateFirstName(Long id, String firstName, Long expectedVersion) {
+        return userWriteRepository.updateFirstName(id, firstName, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
+    }
 
-        return userForUpdate;
+    @Override
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User updateLastName(Long id, String lastName, Long expectedVersion) {
+        return userWriteRepository.updateLastName(id, lastName, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
     }
 
     @Override
     @Transactional
-    public User updateEmail(Long id, String email) {
-        var userForUpdate = getById(id);
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User updateEmail(Long id, String email, Long expectedVersion) {
+        var userForUpdate = findUserForUpdate(id, expectedVersion);
         validateUniqueEmail(userForUpdate, email);
         userForUpdate.setEmail(email);
+        emailBloomFilter.put(email);
 
-        return userForUpdate;
+        return recordUpdate(userForUpdate, expectedVersion);
     }
 
     @Override
-    @Transactional
-    public User updateBirthdate(Long id, LocalDate birthday) {
-        var userForUpdate = getById(id);
-        userForUpdate.setBirthDate(birthday);
-
-        return userForUpdate;
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User updateBirthdate(Long id, LocalDate birthday, Long expectedVersion) {
+        return userWriteRepository.updateBirthDate(id, birthday, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
     }
 
     @Override
-    @Transactional
-    public User updateAddress(Long id, String address) {
-        var userForUpdate = getById(id);
-        userForUpdate.setAddress(address);
-
-        return userForUpdate;
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User updateAddress(Long id, String address, Long expectedVersion) {
+        return userWriteRepository.updateAddress(id, address, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
     }
 
     @Override
-    @Transactional
-    public User updatePhone(Long id, String phone) {
-        var userForUpdate = getById(id);
-        userForUpdate.setPhone(phone);
-
-        return userForUpdate;
+    @CacheEvict(cacheNames = USERS, key = "#id")
+    public User updatePhone(Long id, String phone, Long expectedVersion) {
+        return userWriteRepository.updatePhone(id, phone, expectedVersion)
+                .orElseThrow(() -> writeFailure(id, expectedVersion));
     }
 
     @Override
-    @Transactional
+    @CacheEvict(cacheNames = USERS, key = "#id")
     public void deleteById(Long id) {
-        if (!userRepository.existsById(id)) {
+        if (!userWriteRepository.deleteById(id)) {
             throw new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id);
         }
-        userRepository.deleteById(id);
+    }
+
+    /**
+     * Resolves the key the next keyset page starts after.
+     *
+     * @param from   The lower bound of the birth date range, may be null.
+     * @param cursor The continuation token, may be blank.
+     * @return The decoded cursor, a key just before the lower bound when the cursor is missing
+     * or lies before it, or null when the page starts at the very beginning.
+     */
+    private UserCursor resolveKeysetPosition(LocalDate from, String cursor) {
+        var lowerBound = from == null ? null : new UserCursor(from, 0L);
+        if (cursor == null || cursor.isBlank()) {
+            return lowerBound;
+        }
+
+        var position = UserCursor.decode(cursor);
+        if (lowerBound != null && position.birthDate().isBefore(from)) {
+            return lowerBound;
+        }
+        return position;
+    }
+
+    /**
+     * Loads the managed user entity to apply changes to, bypassing the cache
+     * so that Hibernate tracks and flushes the changes.
+     * Hibernate checks the version again when it flushes, so a write that commits in between
+     * fails this one with an optimistic locking failure instead of being overwritten.
+     *
+     * @param id              The unique identifier of the user.
+     * @param expectedVersion The version the user must have, or null for any version.
+     * @return The managed user entity.
+     * @throws EntityNotFoundException     if no user with the specified ID is found.
+     * @throws PreconditionFailedException if the user has another version than expected.
+     */
+    private User findUserForUpdate(Long id, Long expectedVersion) {
+        var user = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException(User.class.getSimpleName(), "ID: " + id, expectedVersion);
+        }
+        return user;
+    }
+
+    /**
+     * Flushes the changes of the managed user, which increments its version, and records the change
+     * in the outbox within the same transaction. The single-statement writes record their changes themselves.
+     * The unique index on email still rejects an email taken since the uniqueness check, or missed by
+     * the email filter because another instance registered it. A write committed since the version check
+     * fails the flush, which a conditional update reports like a stale version.
+     *
+     * @param user            The managed user entity that was changed.
+     * @param expectedVersion The version the user was expected to have, or null for any version.
+     * @return The user with its new version.
+     * @throws EntityAlreadyExistsException if another user has the email of the user.
+     * @throws PreconditionFailedException  if the user changed since the version check of a conditional update.
+     */
+    private User recordUpdate(User user, Long expectedVersion) {
+        try {
+            userRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException(User.class.getSimpleName(), "ID: " + user.getId(), expectedVersion);
+            }
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && EMAIL_UNIQUE_CONSTRAINT.equals(violation.getConstraintName())) {
+                emailBloomFilter.add(user.getEmail());
+                throw new EntityAlreadyExistsException(User.class.getSimpleName(),
+                        "Email already exists: " + user.getEmail());
+            }
+            throw e;
+        }
+        userChangeRepository.record(user.getId(), UserChangeType.UPDATED, user.getVersion());
+        return user;
+    }
+
+    /**
+     * Explains why a single-statement update matched no row. Only a conditional update
+     * pays for the extra query that tells a stale version apart from a missing user.
+     *
+     * @param id              The unique identifier of the user.
+     * @param expectedVersion The version the user was expected to have, or null for any version.
+     * @return The exception to throw.
+     */
+    private BasicApplicationException writeFailure(Long id, Long expectedVersion) {
+        if (expectedVersion != null && userRepository.existsById(id)) {
+            return new PreconditionFailedException(User.class.getSimpleName(), "ID: " + id, expectedVersion);
+        }
+        return new EntityNotFoundException(User.class.getSimpleName(), "ID: " + id);
+    }
+
+    /**
+     * Converts the members of a merge patch to user property values and validates each of them
+     * with the constraints of its property alone.
+     *
+     * @param patch The merge patch document.
+     * @return The new value of every patched property, in patch order.
+     * @throws ValidationException if the patch is not an object, names a property that cannot be patched
+     *                             or sets a property to an invalid value.
+     */
+    private Map<String, Object> readMergePatch(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new ValidationException(MERGE_PATCH_NOT_OBJECT);
+        }
+
+        var changes = new LinkedHashMap<String, Object>();
+        var messages = new TreeSet<String>();
+        patch.fields().forEachRemaining(member -> {
+            var field = member.getKey();
+            var node = member.getValue();
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new ValidationException(String.format(UNKNOWN_PATCH_FIELD, field));
+            }
+            if (!node.isNull() && !node.isTextual()) {
+                throw new ValidationException(String.format(PATCH_VALUE_NOT_STRING, field));
+            }
+
+            Object value = node.isNull() ? null : node.textValue();
+            if (BIRTH_DATE.equals(field) && value != null) {
+                try {
+                    value = LocalDate.parse((String) value);
+                } catch (DateTimeParseException e) {
+                    throw new ValidationException(INVALID_BIRTH_DATE_FORMAT);
+                }
+            }
+
+            validator.validateValue(User.class, field, value).forEach(violation -> messages.add(violation.getMessage()));
+            changes.put(field, value);
+        });
+
+        if (!messages.isEmpty()) {
+            throw new ValidationException(String.join(", ", messages));
+        }
+        return changes;
     }
 
     private void validateUniqueEmail(User existingUser, String newEmail) {
-        if (userRepository.existsByEmail(newEmail) && !newEmail.equals(existingUser.getEmail())) {
+        if (!newEmail.equals(existingUser.getEmail()) && emailExists(newEmail)) {
             throw new EntityAlreadyExistsException(User.class.getSimpleName(), "Email already exists: " + newEmail);
         }
     }
 
+    /**
+     * Checks whether a user with the given email exists, querying the database
+     * only when the email filter cannot rule it out.
+     *
+     * @param email The email to check.
+     * @return true if a user with the email exists.
+     */
+    private boolean emailExists(String email) {
+        if (!emailBloomFilter.mightContain(email)) {
+            return false;
+        }
+
+        var exists = userRepository.existsByEmail(email);
+        if (!exists) {
+            emailBloomFilter.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    /**
+     * Identifies a page of users by birth date range, so that identical concurrent requests share one query.
+     * The fields are null when whole users are read. Reads pinned to the primary are kept apart,
+     * so they never share a result read from a replica.
+     */
+    private record BirthDateRangePageQuery(DateRange dateRange, Pageable pageable, UserFields fields,
+                                           boolean primaryPinned) {
+    }
 }
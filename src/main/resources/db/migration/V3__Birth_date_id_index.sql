@@ -0,0 +1,5 @@
+-- composite index backing keyset pagination ordered by (birth_date, id);
+-- it also serves plain birth date range filters, so the single-column index is dropped
+create index birth_date_id_idx on users (birth_date, id);
+
+drop index birth_date_idx;
@@ -0,0 +1,3 @@
+-- ids are handed out in blocks of 50 (pooled optimizer), so batched inserts
+-- need one sequence call per block instead of one per row
+alter sequence users_id_seq increment by 50;
@@ -0,0 +1,3 @@
+-- optimistic lock version, exposed to clients as the ETag of a user;
+-- every write increments it, so a stale If-Match fails the update
+alter table users add column version bigint not null default 0;
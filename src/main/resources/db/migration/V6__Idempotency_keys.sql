@@ -0,0 +1,16 @@
+-- responses to requests sent with an Idempotency-Key header, replayed when a client retries the request;
+-- only used when app.idempotency.table.enabled is set, rows expire after app.idempotency.ttlSeconds
+create table idempotency_keys
+(
+    idempotency_key varchar(255) not null,
+    request_hash    varchar(64)  not null,
+    status          integer      not null,
+    content_type    varchar(255),
+    etag            varchar(255),
+    location        varchar(2048),
+    body            bytea        not null,
+    created_at      timestamptz  not null default now(),
+    primary key (idempotency_key)
+);
+
+create index idempotency_keys_created_at_idx on idempotency_keys (created_at);
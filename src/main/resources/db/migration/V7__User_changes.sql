@@ -0,0 +1,24 @@
+-- transactional outbox of user changes, written in the same transaction as the change itself;
+-- txid orders the feed: a change is only published once every transaction with a lower ID has ended,
+-- so a change that commits late never lands behind a position a consumer has already read past
+create table user_changes
+(
+    id         bigserial   not null,
+    txid       bigint      not null default pg_current_xact_id()::text::bigint,
+    user_id    bigint      not null,
+    operation  varchar(16) not null,
+    version    bigint      not null,
+    changed_at timestamptz not null default now(),
+    primary key (id)
+);
+
+create index user_changes_position_idx on user_changes (txid, id);
+
+-- the position of the last purged change; tokens before it can no longer be resumed from
+create table user_changes_horizon
+(
+    txid bigint not null,
+    id   bigint not null
+);
+
+insert into user_changes_horizon (txid, id) values (0, 0);
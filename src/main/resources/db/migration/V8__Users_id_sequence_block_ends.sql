@@ -0,0 +1,9 @@
+-- every value the sequence returns must be the last id of a block of 50, as the id allocators
+-- reserve the 50 ids up to each value; a sequence that was never called would first return 1,
+-- so it is moved past the ids in use, or to the end of the first block when there are none
+select case
+           when last_id > 0 then setval('users_id_seq', last_id)
+           else setval('users_id_seq', 50, false)
+           end
+from (select greatest(coalesce((select max(id) from users), 0),
+                      (select case when is_called then last_value else 0 end from users_id_seq)) as last_id) as used;
@@ -0,0 +1,123 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.QueryPlans;
+import com.clearsolutions.usermanager.testutils.RecordingStatementInspector;
+import com.clearsolutions.usermanager.testutils.UserTableSeeder;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Seeds a large users table and checks that every bounded shape of {@link DateRange}
+ * produces SQL that PostgreSQL can answer with a range scan on the birth date index.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.clearsolutions.usermanager.testutils.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BirthDateRangeQueryBenchmarkTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int SEEDED_USERS = 300_000;
+    private static final String BIRTH_DATE_INDEX = "birth_date_id_idx";
+
+    private static final Pageable DEFAULT_PAGE_REQUEST = PageRequest.of(0, 20, Sort.unsorted());
+
+    @BeforeAll
+    void seedUsers() {
+        UserTableSeeder.seed(jdbcTemplate, SEEDED_USERS);
+    }
+
+    @AfterAll
+    void cleanUsers() {
+        UserTableSeeder.clean(jdbcTemplate);
+    }
+
+    @ParameterizedTest(name = "when 'from' is {0} and 'to' is {1}")
+    @MethodSource("boundedRanges")
+    void testFindUsersByBirthDateRange_ShouldUseIndexRangeScan(LocalDate from, LocalDate to) {
+        // Prepare
+        var dateRange = new DateRange(from, to);
+        RecordingStatementInspector.clear();
+
+        // Execute
+        var started = System.nanoTime();
+        var usersPage = userService.findUsersByBirthDateRange(dateRange, DEFAULT_PAGE_REQUEST);
+        var elapsedMillis = (System.nanoTime() - started) / 1_000_000.0;
+
+        var statements = RecordingStatementInspector.getStatements();
+        var selectSql = statements.stream().filter(sql -> !sql.contains("count(")).findFirst().orElseThrow();
+        var countSql = statements.stream().filter(sql -> sql.contains("count(")).findFirst().orElseThrow();
+
+        var countPlan = explain(countSql, from, to, false);
+        var selectPlan = explain(selectSql, from, to, false);
+        var forcedSelectPlan = explain(selectSql, from, to, true);
+
+        Logger.info("Birth date range benchmark", String.format(
+                "range [%s, %s], %d matching users, page fetched in %.2f ms%n%s%n%s",
+                from, to, usersPage.getTotalElements(), elapsedMillis, countPlan, selectPlan));
+
+        // Assert
+        assertFalse(usersPage.isEmpty());
+        assertTrue(countPlan.contains(BIRTH_DATE_INDEX), countPlan);
+        assertFalse(countPlan.contains("Seq Scan"), countPlan);
+        // With sequential scans disabled the planner must still find an index path,
+        // which is only possible when the predicate is sargable.
+        assertTrue(forcedSelectPlan.contains(BIRTH_DATE_INDEX), forcedSelectPlan);
+        assertFalse(forcedSelectPlan.contains("Seq Scan"), forcedSelectPlan);
+    }
+
+    private static Stream<Arguments> boundedRanges() {
+        return Stream.of(
+                Arguments.of(LocalDate.of(1970, 1, 1), LocalDate.of(1970, 12, 31)),
+                Arguments.of(LocalDate.of(2002, 1, 1), null),
+                Arguments.of(null, LocalDate.of(1940, 12, 31))
+        );
+    }
+
+    /**
+     * Runs EXPLAIN for the SQL generated by Hibernate, binding the range bounds
+     * first and the page size to any remaining parameters.
+     */
+    private String explain(String sql, LocalDate from, LocalDate to, boolean seqScanDisabled) {
+        var parameters = new ArrayList<Object>();
+        if (from != null) parameters.add(Date.valueOf(from));
+        if (to != null) parameters.add(Date.valueOf(to));
+        while (parameters.size() < sql.chars().filter(c -> c == '?').count()) {
+            parameters.add(DEFAULT_PAGE_REQUEST.getPageSize());
+        }
+
+        return QueryPlans.explain(jdbcTemplate, sql, parameters, seqScanDisabled);
+    }
+}
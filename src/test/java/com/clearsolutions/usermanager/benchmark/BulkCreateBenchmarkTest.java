@@ -0,0 +1,109 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.clearsolutions.usermanager.utils.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compares the insert throughput of creating users one by one through {@code POST /api/users}
+ * against creating them through {@code POST /api/users/batch}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BulkCreateBenchmarkTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String REQUEST_URI = "/api/users";
+    private static final String EMAIL_PREFIX = "bench.bulk";
+    private static final int SINGLE_USERS = 2_000;
+    private static final int BULK_USERS = 50_000;
+
+    @AfterEach
+    void cleanUsers() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PREFIX + "%");
+    }
+
+    @Test
+    @SneakyThrows
+    void testBulkEndpoint_ShouldInsertMoreRowsPerSecondThanSingleEndpoint() {
+        // Prepare
+        var singleUsers = generateUsers("single", SINGLE_USERS);
+        var bulkBody = objectMapper.writeValueAsBytes(generateUsers("batch", BULK_USERS));
+
+        // Execute
+        var singleStarted = System.nanoTime();
+        for (var user : singleUsers) {
+            mvc.perform(post(REQUEST_URI)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsBytes(user)))
+                    .andExpect(status().isCreated());
+        }
+        var singleRowsPerSecond = SINGLE_USERS / seconds(System.nanoTime() - singleStarted);
+
+        var bulkStarted = System.nanoTime();
+        mvc.perform(post(REQUEST_URI + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bulkBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(BULK_USERS));
+        var bulkRowsPerSecond = BULK_USERS / seconds(System.nanoTime() - bulkStarted);
+
+        Logger.info("Bulk create benchmark", String.format(
+                "POST /api/users: %.0f rows/s over %d users, POST /api/users/batch: %.0f rows/s over %d users",
+                singleRowsPerSecond, SINGLE_USERS, bulkRowsPerSecond, BULK_USERS));
+
+        // Assert
+        assertEquals(SINGLE_USERS + BULK_USERS, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE email LIKE ?", Integer.class, EMAIL_PREFIX + "%"));
+        assertTrue(bulkRowsPerSecond > singleRowsPerSecond,
+                String.format("bulk %.0f rows/s should beat single %.0f rows/s", bulkRowsPerSecond, singleRowsPerSecond));
+    }
+
+    private static List<User> generateUsers(String kind, int count) {
+        var users = new ArrayList<User>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(FakeDataGenerator.userBuilder()
+                    .email(EMAIL_PREFIX + "." + kind + i + "@example.com")
+                    .build());
+        }
+        return users;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
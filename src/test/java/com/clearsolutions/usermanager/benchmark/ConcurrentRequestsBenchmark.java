@@ -0,0 +1,87 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.testutils.BurstLoad;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends bursts of up to 10k simultaneous {@code GET /api/users/{id}} requests and reports how the
+ * server's threads and database connections scale with them.
+ * Subclasses run the burst against the servlet or the reactive application.
+ * The burst sizes can be changed with {@code -Dbenchmark.burst.levels=1000,5000,10000};
+ * each request needs two file descriptors, as client and server share the process.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class ConcurrentRequestsBenchmark {
+
+    private static final String DEFAULT_LEVELS = "1000,5000,10000";
+    private static final int WARMUP_REQUESTS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    /**
+     * @return The name of the application under load, used in the report.
+     */
+    abstract String stack();
+
+    /**
+     * @return The IDs of the users to request.
+     */
+    abstract List<Long> userIds();
+
+    /**
+     * @return The database connections the application currently uses.
+     */
+    abstract int connectionsInUse();
+
+    /**
+     * @return The most database connections the application may open.
+     */
+    abstract int maxConnections();
+
+    @Test
+    void testGetById_ShouldServeBurstWithBoundedConnections() {
+        // Prepare
+        var ids = userIds();
+        var baseUrl = "http://localhost:" + port;
+        var levels = Arrays.stream(System.getProperty("benchmark.burst.levels", DEFAULT_LEVELS).split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        BurstLoad.fire(baseUrl, () -> randomUserPath(ids), WARMUP_REQUESTS, this::connectionsInUse);
+
+        // Execute
+        var results = new ArrayList<BurstLoad.BurstResult>();
+        for (var level : levels) {
+            results.add(BurstLoad.fire(baseUrl, () -> randomUserPath(ids), level, this::connectionsInUse));
+        }
+
+        Logger.info("Concurrent requests benchmark", String.format("%s application, %d DB connections at most:%n%s",
+                stack(), maxConnections(),
+                results.stream().map(BurstLoad.BurstResult::toString).collect(Collectors.joining(System.lineSeparator()))));
+
+        // Assert
+        for (var result : results) {
+            assertEquals(result.concurrency(), result.completed());
+            assertTrue(result.peakConnections() <= maxConnections(),
+                    result.peakConnections() + " connections in use, pool allows " + maxConnections());
+        }
+    }
+
+    private static String randomUserPath(List<Long> ids) {
+        return "/api/users/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
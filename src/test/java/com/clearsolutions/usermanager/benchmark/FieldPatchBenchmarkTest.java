@@ -0,0 +1,153 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.UserTableSeeder;
+import com.clearsolutions.usermanager.utils.Logger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Compares the latency of a first name PATCH under concurrent load when the user is loaded
+ * and the change is flushed by dirty checking, against a single {@code UPDATE ... RETURNING}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties = {"spring.jpa.show-sql=false", "spring.cache.type=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FieldPatchBenchmarkTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int SEEDED_USERS = 20_000;
+    private static final int THREADS = 8;
+    private static final int PATCHES_PER_THREAD = 2_000;
+    private static final int WARMUP_PATCHES = 500;
+
+    private final AtomicLong nameCounter = new AtomicLong();
+    private List<Long> ids;
+
+    @BeforeAll
+    void seedUsers() {
+        UserTableSeeder.seed(jdbcTemplate, SEEDED_USERS);
+        ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ?", Long.class,
+                UserTableSeeder.SEED_EMAIL_PREFIX + "%");
+    }
+
+    @AfterAll
+    void cleanUsers() {
+        UserTableSeeder.clean(jdbcTemplate);
+    }
+
+    @Test
+    void testDirectUpdate_ShouldHaveLowerTailLatencyThanLoadThenFlush() {
+        // Prepare
+        LongConsumer loadThenFlush = id -> transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(id).orElseThrow().setFirstName(nextName()));
+        LongConsumer directUpdate = id -> userService.updateFirstName(id, nextName(), null);
+
+        // Execute
+        var loadThenFlushLatencies = measure(loadThenFlush);
+        var directUpdateLatencies = measure(directUpdate);
+
+        Logger.info("Field patch benchmark", String.format(
+                "%d threads x %d patches: load-then-flush p50 %.3f ms, p99 %.3f ms; "
+                        + "direct update p50 %.3f ms, p99 %.3f ms",
+                THREADS, PATCHES_PER_THREAD,
+                percentileMillis(loadThenFlushLatencies, 50), percentileMillis(loadThenFlushLatencies, 99),
+                percentileMillis(directUpdateLatencies, 50), percentileMillis(directUpdateLatencies, 99)));
+
+        // Assert
+        assertEquals(THREADS * PATCHES_PER_THREAD, directUpdateLatencies.length);
+        var loadThenFlushP99 = percentileMillis(loadThenFlushLatencies, 99);
+        var directUpdateP99 = percentileMillis(directUpdateLatencies, 99);
+        assertTrue(directUpdateP99 < loadThenFlushP99,
+                String.format("direct update p99 %.3f ms should beat load-then-flush p99 %.3f ms",
+                        directUpdateP99, loadThenFlushP99));
+    }
+
+    /**
+     * Runs the patch on random seeded users from several threads at once.
+     *
+     * @return The latency of every patch in nanoseconds, sorted ascending.
+     */
+    @SneakyThrows
+    private long[] measure(LongConsumer patch) {
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < WARMUP_PATCHES; i++) {
+            patch.accept(ids.get(random.nextInt(ids.size())));
+        }
+
+        var tasks = new ArrayList<Callable<long[]>>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            tasks.add(() -> {
+                var latencies = new long[PATCHES_PER_THREAD];
+                for (int i = 0; i < PATCHES_PER_THREAD; i++) {
+                    var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    var started = System.nanoTime();
+                    patch.accept(id);
+                    latencies[i] = System.nanoTime() - started;
+                }
+                return latencies;
+            });
+        }
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var all = new long[THREADS * PATCHES_PER_THREAD];
+            var offset = 0;
+            for (var result : executor.invokeAll(tasks)) {
+                var latencies = result.get();
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                offset += latencies.length;
+            }
+            Arrays.sort(all);
+            return all;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String nextName() {
+        return "Patched" + nameCounter.incrementAndGet();
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        var index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
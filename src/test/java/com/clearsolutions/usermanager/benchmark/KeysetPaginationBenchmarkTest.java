@@ -0,0 +1,111 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserCursor;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.QueryPlans;
+import com.clearsolutions.usermanager.testutils.RecordingStatementInspector;
+import com.clearsolutions.usermanager.testutils.UserTableSeeder;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Compares fetching a deep page with OFFSET paging against keyset paging
+ * on a large users table.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.clearsolutions.usermanager.testutils.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class KeysetPaginationBenchmarkTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int SEEDED_USERS = 300_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE_NUMBER = 12_500;
+    private static final int ROUNDS = 20;
+    private static final String KEYSET_INDEX = "birth_date_id_idx";
+
+    private static final DateRange OPEN_RANGE = new DateRange(null, null);
+
+    @BeforeAll
+    void seedUsers() {
+        UserTableSeeder.seed(jdbcTemplate, SEEDED_USERS);
+    }
+
+    @AfterAll
+    void cleanUsers() {
+        UserTableSeeder.clean(jdbcTemplate);
+    }
+
+    @Test
+    void testDeepKeysetPage_ShouldCostAboutTheSameAsFirstPage() {
+        // Prepare
+        var deepCursor = cursorBefore(DEEP_PAGE_NUMBER * PAGE_SIZE);
+        var deepOffsetPage = PageRequest.of(DEEP_PAGE_NUMBER, PAGE_SIZE, Sort.by("birthDate", "id"));
+
+        // Execute
+        var offsetMillis = averageMillis(() -> userService.findUsersByBirthDateRange(OPEN_RANGE, deepOffsetPage));
+        var firstKeysetMillis = averageMillis(() -> userService.scrollUsersByBirthDateRange(OPEN_RANGE, "", PAGE_SIZE));
+        var deepKeysetMillis = averageMillis(
+                () -> userService.scrollUsersByBirthDateRange(OPEN_RANGE, deepCursor.encode(), PAGE_SIZE));
+
+        RecordingStatementInspector.clear();
+        var deepKeysetPage = userService.scrollUsersByBirthDateRange(OPEN_RANGE, deepCursor.encode(), PAGE_SIZE);
+        var keysetSql = RecordingStatementInspector.getStatements().get(0);
+        var keysetPlan = QueryPlans.explain(jdbcTemplate, keysetSql,
+                List.of(Date.valueOf(deepCursor.birthDate()), deepCursor.id(), 0, PAGE_SIZE + 1), false);
+
+        Logger.info("Keyset pagination benchmark", String.format(
+                "page %d of %d users: offset %.2f ms, keyset first page %.2f ms, keyset deep page %.2f ms%n%s",
+                DEEP_PAGE_NUMBER, SEEDED_USERS, offsetMillis, firstKeysetMillis, deepKeysetMillis, keysetPlan));
+
+        // Assert
+        assertEquals(PAGE_SIZE, deepKeysetPage.content().size());
+        assertTrue(keysetPlan.contains("Index Scan using " + KEYSET_INDEX), keysetPlan);
+        assertFalse(keysetPlan.contains("Sort"), keysetPlan);
+        assertTrue(deepKeysetMillis < offsetMillis,
+                String.format("keyset %.2f ms should beat offset %.2f ms", deepKeysetMillis, offsetMillis));
+    }
+
+    private UserCursor cursorBefore(int position) {
+        return jdbcTemplate.queryForObject(
+                "SELECT birth_date, id FROM users ORDER BY birth_date, id OFFSET ? LIMIT 1",
+                (resultSet, rowNum) -> new UserCursor(resultSet.getDate(1).toLocalDate(), resultSet.getLong(2)),
+                position - 1);
+    }
+
+    private double averageMillis(Runnable query) {
+        query.run();
+        var started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / ROUNDS;
+    }
+}
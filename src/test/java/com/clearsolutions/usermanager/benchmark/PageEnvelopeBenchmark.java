@@ -0,0 +1,69 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.dto.PageResult;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+
+/**
+ * JMH benchmark of serializing a 500-row page of users as the Spring Data {@link PageImpl},
+ * as the list endpoint used to, against the compact {@link PageResult}.
+ * Run through {@link PageEnvelopeBenchmarkTest}.
+ */
+@State(Scope.Benchmark)
+public class PageEnvelopeBenchmark {
+
+    static final int PAGE_SIZE = 500;
+    static final long TOTAL_USERS = 50_000;
+
+    private ObjectMapper objectMapper;
+    private Page<UserView> page;
+    private PageResult<UserView> pageResult;
+
+    @Setup
+    public void setUp() {
+        objectMapper = objectMapper();
+        page = page();
+        pageResult = PageResult.of(page);
+    }
+
+    @Benchmark
+    public byte[] pageImpl() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] pageResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResult);
+    }
+
+    /**
+     * Creates a mapper with the settings Spring Boot applies to the application's mapper.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static Page<UserView> page() {
+        var users = new ArrayList<UserView>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            users.add(UserView.of(FakeDataGenerator.userBuilder().id(i + 1L).build()));
+        }
+        return new PageImpl<>(users, PageRequest.of(3, PAGE_SIZE, Sort.by("birthDate", "id")), TOTAL_USERS);
+    }
+}
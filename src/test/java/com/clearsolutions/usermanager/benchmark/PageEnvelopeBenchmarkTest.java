@@ -0,0 +1,62 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.dto.PageResult;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link PageEnvelopeBenchmark} and compares the payload size and serialization throughput
+ * of the Spring Data page envelope against the compact page result.
+ * The users dominate both, so the compact envelope is expected to be smaller and not slower, rather than faster.
+ */
+@Tag("benchmark")
+class PageEnvelopeBenchmarkTest {
+
+    @Test
+    void testPageResult_ShouldBeSmallerAndNotSlowerToSerializeThanPageImpl() throws Exception {
+        // Prepare
+        var page = PageEnvelopeBenchmark.page();
+        var objectMapper = PageEnvelopeBenchmark.objectMapper();
+        var pageImplBytes = objectMapper.writeValueAsBytes(page).length;
+        var pageResultBytes = objectMapper.writeValueAsBytes(PageResult.of(page)).length;
+        var options = new OptionsBuilder()
+                .include(PageEnvelopeBenchmark.class.getName())
+                .forks(2)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(10)
+                .measurementTime(TimeValue.seconds(1))
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .build();
+
+        // Execute
+        var scores = new Runner(options).run().stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                RunResult::getPrimaryResult));
+
+        var pageImpl = scores.get("pageImpl");
+        var pageResult = scores.get("pageResult");
+        Logger.info("Page envelope benchmark", String.format(
+                "%d-row pages: PageImpl %d B, %.3f +/- %.3f ops/ms; PageResult %d B, %.3f +/- %.3f ops/ms",
+                PageEnvelopeBenchmark.PAGE_SIZE,
+                pageImplBytes, pageImpl.getScore(), pageImpl.getScoreError(),
+                pageResultBytes, pageResult.getScore(), pageResult.getScoreError()));
+
+        // Assert
+        assertTrue(pageResultBytes < pageImplBytes,
+                String.format("PageResult of %d B should be smaller than PageImpl of %d B", pageResultBytes, pageImplBytes));
+        assertTrue(pageResult.getScore() + pageResult.getScoreError() + pageImpl.getScoreError() >= pageImpl.getScore(),
+                String.format("PageResult at %.3f ops/ms should serialize at least as fast as PageImpl at %.3f ops/ms",
+                        pageResult.getScore(), pageImpl.getScore()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Runs the load on Tomcat's pool of platform request threads.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        ThreadModelLoadBenchmark.SHOW_SQL_OFF, ThreadModelLoadBenchmark.CACHE_OFF,
+        ThreadModelLoadBenchmark.POOL_SIZE, ThreadModelLoadBenchmark.DATABASE_LATENCY,
+        "spring.threads.virtual.enabled=false"})
+class PlatformThreadLoadBenchmarkTest extends ThreadModelLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
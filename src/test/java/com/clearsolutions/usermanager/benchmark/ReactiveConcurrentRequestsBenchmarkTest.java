@@ -0,0 +1,56 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import com.clearsolutions.usermanager.testutils.R2dbcFromJdbcInitializer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Runs the burst against the reactive application, which serves every request on Netty's event loops
+ * and a pooled R2DBC connection.
+ */
+@ActiveProfiles({"integration", ReactiveUserManagerApplication.PROFILE})
+@SpringBootTest(classes = ReactiveUserManagerApplication.class, webEnvironment = RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ContextConfiguration(initializers = R2dbcFromJdbcInitializer.class)
+class ReactiveConcurrentRequestsBenchmarkTest extends ConcurrentRequestsBenchmark {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Override
+    String stack() {
+        return "reactive";
+    }
+
+    @Override
+    List<Long> userIds() {
+        return databaseClient.sql("SELECT id FROM users")
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Override
+    int connectionsInUse() {
+        return ((ConnectionPool) connectionFactory).getMetrics().orElseThrow().acquiredSize();
+    }
+
+    @Override
+    int maxConnections() {
+        return ((ConnectionPool) connectionFactory).getMetrics().orElseThrow().getMaxAllocatedSize();
+    }
+}
@@ -0,0 +1,55 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Runs the burst against the servlet application, which serves each request on a Tomcat thread
+ * and a pooled JDBC connection.
+ */
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {"spring.jpa.show-sql=false", "spring.cache.type=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ServletConcurrentRequestsBenchmarkTest extends ConcurrentRequestsBenchmark {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    String stack() {
+        return "servlet";
+    }
+
+    @Override
+    List<Long> userIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM users", Long.class);
+    }
+
+    @Override
+    int connectionsInUse() {
+        return hikari().getHikariPoolMXBean().getActiveConnections();
+    }
+
+    @Override
+    int maxConnections() {
+        return hikari().getMaximumPoolSize();
+    }
+
+    @SneakyThrows
+    private HikariDataSource hikari() {
+        return dataSource.unwrap(HikariDataSource.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.UserTableSeeder;
+import com.clearsolutions.usermanager.utils.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Compares reading and serializing large pages of whole users against pages narrowed
+ * to {@code fields=id,firstName,lastName}, as requested by mobile clients.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SparseFieldsetBenchmarkTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int SEEDED_USERS = 50_000;
+    private static final int PAGE_SIZE = 5_000;
+    private static final int PAGES = SEEDED_USERS / PAGE_SIZE;
+    private static final int ROUNDS = 5;
+
+    private static final DateRange OPEN_RANGE = new DateRange(null, null);
+    private static final UserFields MOBILE_FIELDS = UserFields.valueOf("id,firstName,lastName");
+
+    @BeforeAll
+    void seedUsers() {
+        UserTableSeeder.seed(jdbcTemplate, SEEDED_USERS);
+    }
+
+    @AfterAll
+    void cleanUsers() {
+        UserTableSeeder.clean(jdbcTemplate);
+    }
+
+    @Test
+    void testSparsePages_ShouldBeSmallerAndFasterToSerializeThanWholeUsers() {
+        // Execute
+        var whole = measure(page -> userService.findUsersByBirthDateRange(OPEN_RANGE, pageRequest(page)));
+        var sparse = measure(page -> userService.findUsersByBirthDateRange(OPEN_RANGE, pageRequest(page), MOBILE_FIELDS)
+                .map(MOBILE_FIELDS::select));
+
+        Logger.info("Sparse fieldset benchmark", String.format(
+                "%d-row pages of %d users: whole users %d KB, query %.2f ms, serialization %.2f ms; "
+                        + "fields=id,firstName,lastName %d KB, query %.2f ms, serialization %.2f ms",
+                PAGE_SIZE, SEEDED_USERS,
+                whole.bytes() / 1024, whole.queryMillis(), whole.serializationMillis(),
+                sparse.bytes() / 1024, sparse.queryMillis(), sparse.serializationMillis()));
+
+        // Assert
+        assertTrue(sparse.bytes() * 2 < whole.bytes(),
+                String.format("sparse pages of %d B should be less than half of whole pages of %d B",
+                        sparse.bytes(), whole.bytes()));
+        assertTrue(sparse.serializationMillis() < whole.serializationMillis(),
+                String.format("sparse pages serialized in %.2f ms should beat whole pages in %.2f ms",
+                        sparse.serializationMillis(), whole.serializationMillis()));
+    }
+
+    /**
+     * Reads and serializes every page once to warm up, then measures the average query time,
+     * serialization time and response size per page.
+     */
+    @SneakyThrows
+    private Measurement measure(IntFunction<Page<?>> reader) {
+        for (int page = 0; page < PAGES; page++) {
+            objectMapper.writeValueAsBytes(reader.apply(page));
+        }
+
+        long queryNanos = 0;
+        long serializationNanos = 0;
+        long bytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                var started = System.nanoTime();
+                var users = reader.apply(page);
+                var read = System.nanoTime();
+                var body = objectMapper.writeValueAsBytes(users);
+                serializationNanos += System.nanoTime() - read;
+                queryNanos += read - started;
+                bytes += body.length;
+            }
+        }
+
+        var measuredPages = ROUNDS * PAGES;
+        return new Measurement(queryNanos / 1_000_000.0 / measuredPages,
+                serializationNanos / 1_000_000.0 / measuredPages, bytes / measuredPages);
+    }
+
+    private static PageRequest pageRequest(int page) {
+        return PageRequest.of(page, PAGE_SIZE, Sort.by("birthDate", "id"));
+    }
+
+    private record Measurement(double queryMillis, double serializationMillis, long bytes) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.testutils.DatabaseLatencyConfig;
+import com.clearsolutions.usermanager.testutils.LoadHarness;
+import com.clearsolutions.usermanager.testutils.PinningRecorder;
+import com.clearsolutions.usermanager.testutils.UserTableSeeder;
+import com.clearsolutions.usermanager.utils.Logger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives {@code GET /api/users/{id}} over HTTP at increasing concurrency while every connection
+ * checkout is delayed by {@link DatabaseLatencyConfig}, and reports throughput and tail latency per level.
+ * Subclasses choose whether requests are served on platform or virtual threads,
+ * so that both modes run the same load against the same data set.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@Import(DatabaseLatencyConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class ThreadModelLoadBenchmark {
+
+    /**
+     * Properties shared by both modes: caching is off so every request reaches the database,
+     * and the pool is large enough that the request threads, not the connections, are the limit.
+     */
+    static final String SHOW_SQL_OFF = "spring.jpa.show-sql=false";
+    static final String CACHE_OFF = "spring.cache.type=none";
+    static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=100";
+    static final String DATABASE_LATENCY = "test.database.latencyMillis=20";
+
+    private static final int SEEDED_USERS = 20_000;
+    private static final int[] CONCURRENCY_LEVELS = {50, 200, 800};
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration LEVEL_DURATION = Duration.ofSeconds(15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    private List<Long> ids;
+
+    @BeforeAll
+    void seedUsers() {
+        UserTableSeeder.seed(jdbcTemplate, SEEDED_USERS);
+        ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ?", Long.class,
+                UserTableSeeder.SEED_EMAIL_PREFIX + "%");
+    }
+
+    @AfterAll
+    void cleanUsers() {
+        UserTableSeeder.clean(jdbcTemplate);
+    }
+
+    /**
+     * @return The name of the thread model, used in the report.
+     */
+    abstract String mode();
+
+    @Test
+    @SneakyThrows
+    void testGetById_ShouldServeEveryRequestAtEveryConcurrencyLevel() {
+        // Prepare
+        LoadHarness.run(this::randomUserUri, new int[]{CONCURRENCY_LEVELS[0]}, WARMUP);
+
+        // Execute
+        List<LoadHarness.LevelResult> results;
+        String pinning;
+        try (var recorder = PinningRecorder.start()) {
+            results = LoadHarness.run(this::randomUserUri, CONCURRENCY_LEVELS, LEVEL_DURATION);
+            pinning = recorder.pinnedCount() + " pinned sections" + System.lineSeparator() + recorder.report();
+        }
+
+        Logger.info("Thread model load benchmark", String.format("%s threads, %s:%n%s%nPinning: %s",
+                mode(), DATABASE_LATENCY,
+                results.stream().map(LoadHarness.LevelResult::toString).collect(Collectors.joining(System.lineSeparator())),
+                pinning));
+
+        // Assert
+        assertEquals(CONCURRENCY_LEVELS.length, results.size());
+        for (var result : results) {
+            assertTrue(result.requests() > 0, "no request completed with " + result.concurrency() + " clients");
+            assertEquals(0, result.errors(), "failed requests with " + result.concurrency() + " clients");
+        }
+    }
+
+    private URI randomUserUri() {
+        var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return URI.create("http://localhost:" + port + "/api/users/" + id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.UserTableSeeder;
+import com.clearsolutions.usermanager.utils.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Compares reading 1k-row pages as managed {@link com.clearsolutions.usermanager.model.User} entities
+ * in a read-write transaction against reading them as read-only projections.
+ */
+@Tag("benchmark")
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserProjectionBenchmarkTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final int SEEDED_USERS = 50_000;
+    private static final int PAGE_SIZE = 1_000;
+    private static final int PAGES = SEEDED_USERS / PAGE_SIZE;
+    private static final int ROUNDS = 5;
+
+    private static final DateRange OPEN_RANGE = new DateRange(null, null);
+
+    @BeforeAll
+    void seedUsers() {
+        UserTableSeeder.seed(jdbcTemplate, SEEDED_USERS);
+    }
+
+    @AfterAll
+    void cleanUsers() {
+        UserTableSeeder.clean(jdbcTemplate);
+    }
+
+    @Test
+    void testProjectionPages_ShouldAllocateLessThanManagedEntityPages() {
+        // Execute
+        var entities = measure(page -> transactionTemplate.execute(status -> {
+            var users = userRepository.findAll(page);
+            assertEquals(PAGE_SIZE, users.getNumberOfElements());
+            return users;
+        }));
+        var projections = measure(page -> {
+            var users = userService.findUsersByBirthDateRange(OPEN_RANGE, page);
+            assertEquals(PAGE_SIZE, users.getNumberOfElements());
+        });
+
+        Logger.info("User projection benchmark", String.format(
+                "%d-row pages of %d users: managed entities %.2f ms / %d KB, projections %.2f ms / %d KB",
+                PAGE_SIZE, SEEDED_USERS, entities.millis(), entities.bytes() / 1024,
+                projections.millis(), projections.bytes() / 1024));
+
+        // Assert
+        assertTrue(projections.bytes() < entities.bytes(),
+                String.format("projections %d B should allocate less than entities %d B",
+                        projections.bytes(), entities.bytes()));
+    }
+
+    /**
+     * Reads every page once to warm up, then measures the average latency and the bytes allocated
+     * by the calling thread per page.
+     */
+    private Measurement measure(PageReader reader) {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        readAllPages(reader);
+
+        var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        var started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            readAllPages(reader);
+        }
+        var elapsed = System.nanoTime() - started;
+        var allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        var measuredPages = ROUNDS * PAGES;
+        return new Measurement(elapsed / 1_000_000.0 / measuredPages, allocated / measuredPages);
+    }
+
+    private void readAllPages(PageReader reader) {
+        for (int page = 0; page < PAGES; page++) {
+            reader.read(PageRequest.of(page, PAGE_SIZE, Sort.by("birthDate", "id")));
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageReader {
+        void read(Pageable page);
+    }
+
+    private record Measurement(double millis, long bytes) {
+    }
+}
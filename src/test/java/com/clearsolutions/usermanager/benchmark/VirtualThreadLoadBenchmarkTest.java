@@ -0,0 +1,24 @@
+package com.clearsolutions.usermanager.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Runs the load with every request, and the JPA work it triggers, on its own virtual thread.
+ * Needs Java 21, see the virtual-threads Maven profile.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = {
+        ThreadModelLoadBenchmark.SHOW_SQL_OFF, ThreadModelLoadBenchmark.CACHE_OFF,
+        ThreadModelLoadBenchmark.POOL_SIZE, ThreadModelLoadBenchmark.DATABASE_LATENCY,
+        "spring.threads.virtual.enabled=true"})
+class VirtualThreadLoadBenchmarkTest extends ThreadModelLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
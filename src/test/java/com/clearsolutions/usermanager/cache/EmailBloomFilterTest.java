@@ -0,0 +1,115 @@
+package com.clearsolutions.usermanager.cache;
+
+import com.clearsolutions.usermanager.properties.EmailFilterProperties;
+import com.clearsolutions.usermanager.repository.UserExportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailBloomFilterTest {
+
+    private static final List<String> REGISTERED_EMAILS = List.of("john.doe@example.com", "Jane.Roe@Example.com");
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private EmailBloomFilter emailBloomFilter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var userExportRepository = mock(UserExportRepository.class);
+        doAnswer(invocation -> {
+            REGISTERED_EMAILS.forEach(invocation.<Consumer<String>>getArgument(0));
+            return null;
+        }).when(userExportRepository).forEachEmail(any(Consumer.class));
+
+        var emailFilterProperties = mock(EmailFilterProperties.class);
+        when(emailFilterProperties.getExpectedInsertions()).thenReturn(1_000L);
+        when(emailFilterProperties.getFalsePositiveRate()).thenReturn(0.01);
+
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        var busProvider = mock(ObjectProvider.class);
+        when(busProvider.getIfAvailable()).thenReturn(cacheInvalidationBus);
+
+        meterRegistry = new SimpleMeterRegistry();
+        emailBloomFilter = new EmailBloomFilter(userExportRepository, mock(PlatformTransactionManager.class),
+                busProvider, emailFilterProperties, meterRegistry);
+    }
+
+    @Test
+    void testMightContain_BeforeLoad_ShouldAlwaysBeTrue() {
+        // Execute & Assert
+        assertTrue(emailBloomFilter.mightContain("unknown@example.com"));
+    }
+
+    @Test
+    void testMightContain_AfterLoad_ShouldRuleOutUnknownEmails() {
+        // Execute
+        emailBloomFilter.load();
+
+        // Assert
+        assertTrue(emailBloomFilter.mightContain("john.doe@example.com"));
+        assertFalse(emailBloomFilter.mightContain("unknown@example.com"));
+        assertEquals(1.0, meterRegistry.get("users.email.filter.checks").tag("result", "absent").counter().count());
+    }
+
+    @Test
+    void testMightContain_ShouldIgnoreCaseAndSurroundingWhitespace() {
+        // Execute
+        emailBloomFilter.load();
+
+        // Assert
+        assertTrue(emailBloomFilter.mightContain(" jane.roe@example.com "));
+    }
+
+    @Test
+    void testPut_ShouldRegisterEmail() {
+        // Prepare
+        var email = "new.user@example.com";
+        emailBloomFilter.load();
+
+        // Execute
+        emailBloomFilter.put(email);
+
+        // Assert
+        assertTrue(emailBloomFilter.mightContain(email));
+    }
+
+    @Test
+    void testFalsePositiveProbability_ShouldBeReportedAsMetric() {
+        // Execute
+        emailBloomFilter.load();
+        emailBloomFilter.recordFalsePositive();
+
+        // Assert
+        var probability = meterRegistry.get("users.email.filter.false.positive.probability").gauge().value();
+        assertTrue(probability > 0 && probability < 0.01, String.valueOf(probability));
+        assertEquals(0.01, meterRegistry.get("users.email.filter.target.false.positive.probability").gauge().value());
+        assertEquals(1.0, meterRegistry.get("users.email.filter.false.positives").counter().count());
+    }
+
+    @Test
+    void testPut_ShouldPassEmailOnToOtherInstances() {
+        // Prepare
+        emailBloomFilter.load();
+
+        // Execute
+        emailBloomFilter.put("new.user@example.com");
+        emailBloomFilter.add("remote.user@example.com");
+
+        // Assert
+        assertTrue(emailBloomFilter.mightContain("new.user@example.com"));
+        assertTrue(emailBloomFilter.mightContain("remote.user@example.com"));
+        verify(cacheInvalidationBus).publishEmail("new.user@example.com");
+        verifyNoMoreInteractions(cacheInvalidationBus);
+    }
+}
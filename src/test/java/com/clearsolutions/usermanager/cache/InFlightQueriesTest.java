@@ -0,0 +1,173 @@
+package com.clearsolutions.usermanager.cache;
+
+import com.clearsolutions.usermanager.properties.CoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InFlightQueriesTest {
+
+    private static final long MAX_JOIN_WAIT_MILLIS = 2_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService callers;
+    private InFlightQueries inFlightQueries;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newCachedThreadPool();
+        inFlightQueries = inFlightQueries(MAX_JOIN_WAIT_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testExecute_WhenIdenticalQueryIsRunning_ShouldShareItsResult() throws Exception {
+        // Prepare
+        var executions = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var leader = callers.submit(() -> inFlightQueries.execute("key", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "result";
+        }));
+        awaitRunning(executions);
+
+        // Execute
+        var joiners = new ArrayList<Future<String>>();
+        for (int i = 0; i < 3; i++) {
+            joiners.add(callers.submit(() -> inFlightQueries.execute("key", () -> {
+                executions.incrementAndGet();
+                return "own result";
+            })));
+        }
+        awaitCoalesced(3);
+        release.countDown();
+
+        // Assert
+        assertEquals("result", leader.get());
+        for (var joiner : joiners) {
+            assertEquals("result", joiner.get());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testExecute_WhenQueriesDiffer_ShouldRunEachOfThem() {
+        // Execute
+        var first = inFlightQueries.execute("first", () -> 1);
+        var second = inFlightQueries.execute("second", () -> 2);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(0, coalesced("shared"));
+    }
+
+    @Test
+    void testExecute_WhenIdenticalQueryHasFinished_ShouldRunItAgain() {
+        // Execute
+        var first = inFlightQueries.execute("key", () -> 1);
+        var second = inFlightQueries.execute("key", () -> 2);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+    }
+
+    @Test
+    void testExecute_WhenJoinerWaitsTooLong_ShouldRunItsOwnQuery() throws Exception {
+        // Prepare
+        inFlightQueries = inFlightQueries(50);
+        var executions = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var leader = callers.submit(() -> inFlightQueries.execute("key", () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "slow result";
+        }));
+        awaitRunning(executions);
+
+        // Execute
+        var joined = inFlightQueries.execute("key", () -> "own result");
+        release.countDown();
+
+        // Assert
+        assertEquals("own result", joined);
+        assertEquals("slow result", leader.get());
+        assertEquals(1, coalesced("timed_out"));
+    }
+
+    @Test
+    void testExecute_WhenIdenticalQueryFails_ShouldShareTheFailure() throws Exception {
+        // Prepare
+        var executions = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var failure = new IllegalArgumentException("Query failed");
+        var leader = callers.submit(() -> inFlightQueries.execute("key", () -> {
+            executions.incrementAndGet();
+            await(release);
+            throw failure;
+        }));
+        awaitRunning(executions);
+        var joiner = callers.submit(() -> inFlightQueries.execute("key", () -> "own result"));
+        awaitCoalesced(1);
+
+        // Execute
+        release.countDown();
+
+        // Assert
+        assertSame(failure, assertThrows(Exception.class, leader::get).getCause());
+        assertSame(failure, assertThrows(Exception.class, joiner::get).getCause());
+    }
+
+    private InFlightQueries inFlightQueries(long maxJoinWaitMillis) {
+        var properties = mock(CoalescingProperties.class);
+        when(properties.getMaxJoinWaitMillis()).thenReturn(maxJoinWaitMillis);
+        return new InFlightQueries(properties, meterRegistry);
+    }
+
+    private double coalesced(String result) {
+        return meterRegistry.get("users.queries.coalesced").tag("result", result).counter().count();
+    }
+
+    private static void awaitRunning(AtomicInteger executions) throws InterruptedException {
+        while (executions.get() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits until the joiners have had time to find the running query; they only count once they are answered,
+     * so this gives them a moment to reach the wait.
+     */
+    private static void awaitCoalesced(int joiners) throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(100L * joiners);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
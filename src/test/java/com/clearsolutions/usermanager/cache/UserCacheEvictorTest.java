@@ -0,0 +1,76 @@
+package com.clearsolutions.usermanager.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheEvictorTest {
+
+    private Cache usersCache;
+    private CacheInvalidationBus cacheInvalidationBus;
+    private UserCacheEvictor userCacheEvictor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        var cacheManager = new ConcurrentMapCacheManager(USERS);
+        usersCache = cacheManager.getCache(USERS);
+        usersCache.put(1L, "first");
+        usersCache.put(2L, "second");
+        usersCache.put(3L, "third");
+
+        cacheInvalidationBus = mock(CacheInvalidationBus.class);
+        var busProvider = mock(ObjectProvider.class);
+        when(busProvider.getIfAvailable()).thenReturn(cacheInvalidationBus);
+
+        userCacheEvictor = new UserCacheEvictor(cacheManager, busProvider);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvictAll_ShouldEvictOnlyGivenUsers() {
+        // Execute
+        userCacheEvictor.evictAll(List.of(1L, 2L));
+
+        // Assert
+        assertNull(usersCache.get(1L));
+        assertNull(usersCache.get(2L));
+        assertNotNull(usersCache.get(3L));
+        verify(cacheInvalidationBus).publish(1L);
+        verify(cacheInvalidationBus).publish(2L);
+        verifyNoMoreInteractions(cacheInvalidationBus);
+    }
+
+    @Test
+    void testEvictAll_WithinTransaction_ShouldEvictAfterCommit() {
+        // Prepare
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Execute
+        userCacheEvictor.evictAll(List.of(1L));
+
+        // Assert
+        assertNotNull(usersCache.get(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(usersCache.get(1L));
+        assertNotNull(usersCache.get(2L));
+        verify(cacheInvalidationBus).publish(1L);
+    }
+}
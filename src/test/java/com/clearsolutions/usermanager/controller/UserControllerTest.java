@@ -1,10 +1,32 @@
 package com.clearsolutions.usermanager.controller;
 
+import com.clearsolutions.usermanager.changefeed.UserChangeFeed;
+import com.clearsolutions.usermanager.dto.BulkCreateResult;
+import com.clearsolutions.usermanager.dto.BulkDeleteResult;
+import com.clearsolutions.usermanager.dto.BulkItemResult;
+import com.clearsolutions.usermanager.dto.ChangePage;
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.dto.CursorPage;
 import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.ImportRejection;
+import com.clearsolutions.usermanager.dto.ImportReport;
+import com.clearsolutions.usermanager.dto.MultiGetResult;
+import com.clearsolutions.usermanager.dto.UserChange;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.dto.enums.BulkItemStatus;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+import com.clearsolutions.usermanager.exceptions.custom.ChangeTokenExpiredException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.PreconditionFailedException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
 import com.clearsolutions.usermanager.model.User;
-import com.clearsolutions.usermanager.properties.ValidationProperties;
+import com.clearsolutions.usermanager.service.UserBulkService;
+import com.clearsolutions.usermanager.service.UserChangeService;
+import com.clearsolutions.usermanager.service.UserExportService;
+import com.clearsolutions.usermanager.service.UserImportService;
 import com.clearsolutions.usermanager.service.UserService;
 import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
 import com.clearsolutions.usermanager.testutils.enums.UserFieldName;
@@ -21,9 +43,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Stream;
@@ -36,7 +64,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest({UserController.class, ValidationProperties.class})
+@WebMvcTest(UserController.class)
 @DisplayName("Testing UserController")
 class UserControllerTest {
 
@@ -49,7 +77,22 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
-    private static List<User> users;
+    @MockBean
+    private UserExportService userExportService;
+
+    @MockBean
+    private UserBulkService userBulkService;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @MockBean
+    private UserChangeService userChangeService;
+
+    @MockBean
+    private UserChangeFeed userChangeFeed;
+
+    private static List<UserView> users;
     private static final String REQUEST_URI = "/api/users";
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int DEFAULT_PAGE_NUMBER = 0;
@@ -59,7 +102,7 @@ class UserControllerTest {
 
     @BeforeAll
     static void setUp() {
-        users = FakeDataGenerator.getUsers();
+        users = FakeDataGenerator.getUserViews();
     }
 
     @SneakyThrows
@@ -82,7 +125,32 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"))
                 .andExpect(jsonPath("$.content.size()").value(users.size()))
-                .andExpect(jsonPath("$.content[0].firstName").value(users.get(0).getFirstName()))
+                .andExpect(jsonPath("$.content[0].firstName").value(users.get(0).firstName()))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersByBirthDateRange should return the page metadata as flat fields")
+    void getUsersByBirthDateRange_ShouldReturnCompactPageEnvelope() {
+        // Prepare
+        var pageRequest = PageRequest.of(2, 5);
+        var usersPage = new PageImpl<>(users.subList(0, 5), pageRequest, 42);
+
+        when(userService.findUsersByBirthDateRange(new DateRange(null, null), pageRequest)).thenReturn(usersPage);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("page", "2")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(5))
+                .andExpect(jsonPath("$.number").value(2))
+                .andExpect(jsonPath("$.size").value(5))
+                .andExpect(jsonPath("$.totalElements").value(42))
+                .andExpect(jsonPath("$.totalPages").value(9))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andExpect(jsonPath("$.sort").doesNotExist())
                 .andDo(print());
     }
 
@@ -128,7 +196,7 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"))
                 .andExpect(jsonPath("$.content.size()").value(users.size()))
-                .andExpect(jsonPath("$.content[0].firstName").value(users.get(0).getFirstName()))
+                .andExpect(jsonPath("$.content[0].firstName").value(users.get(0).firstName()))
                 .andDo(print());
     }
 
@@ -156,18 +224,501 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).findUsersByBirthDateRange(any(DateRange.class), any(Pageable.class));
-    }
-
-    private static Stream<Arguments> getInvalidDateRange() {
-        var invalidDate = "xxxx-xx-xx";
-        var validDate = "2020-10-01";
-
-        return Stream.of(
-                Arguments.of(validDate, invalidDate),
-                Arguments.of(invalidDate, validDate),
-                Arguments.of(invalidDate, invalidDate)
-        );
+        verify(userService, never()).findUsersByBirthDateRange(any(DateRange.class), any(Pageable.class));
+    }
+
+    private static Stream<Arguments> getInvalidDateRange() {
+        var invalidDate = "xxxx-xx-xx";
+        var validDate = "2020-10-01";
+
+        return Stream.of(
+                Arguments.of(validDate, invalidDate),
+                Arguments.of(invalidDate, validDate),
+                Arguments.of(invalidDate, invalidDate)
+        );
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersSliceByBirthDateRange should return 200 with a Slice and no total when count is none")
+    void getUsersSliceByBirthDateRange_WithoutCount_ShouldReturnSlice() {
+        // Prepare
+        var dateRange = new DateRange(null, null);
+        var usersSlice = new SliceImpl<>(users, DEFAULT_PAGE_REQUEST, true);
+
+        when(userService.findUsersSliceByBirthDateRange(dateRange, DEFAULT_PAGE_REQUEST)).thenReturn(usersSlice);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.content.size()").value(users.size()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.approximateTotal").doesNotExist())
+                .andDo(print());
+
+        // Verify
+        verify(userService, never()).estimateUsersByBirthDateRange(any(DateRange.class));
+        verify(userService, never()).findUsersByBirthDateRange(any(DateRange.class), any(Pageable.class));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersSliceByBirthDateRange should return 200 with an approximate total when count is estimate")
+    void getUsersSliceByBirthDateRange_WithEstimate_ShouldReturnApproximateTotal() {
+        // Prepare
+        var fromDate = "1999-10-01";
+        var dateRange = new DateRange(LocalDate.parse(fromDate), null);
+        var usersSlice = new SliceImpl<>(users, DEFAULT_PAGE_REQUEST, false);
+        var approximateTotal = 9_876L;
+
+        when(userService.findUsersSliceByBirthDateRange(dateRange, DEFAULT_PAGE_REQUEST)).thenReturn(usersSlice);
+        when(userService.estimateUsersByBirthDateRange(dateRange)).thenReturn(approximateTotal);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("from", fromDate)
+                        .param("count", "estimate"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.approximateTotal").value(approximateTotal))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersSliceByBirthDateRange should return 400 when count mode is not supported")
+    void getUsersSliceByBirthDateRange_WithUnsupportedCount_ShouldReturnBadRequest() {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("count", "exact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").value(containsString(INVALID_COUNT_MODE)))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method scrollUsersByBirthDateRange should return 200 with the first keyset page when cursor is empty")
+    void scrollUsersByBirthDateRange_WithEmptyCursor_ShouldReturnFirstPage() {
+        // Prepare
+        var size = 5;
+        var nextCursor = "MTk5OS0xMC0wMToxMg";
+        var dateRange = new DateRange(null, null);
+        var cursorPage = new CursorPage<>(users.subList(0, size), nextCursor, true);
+
+        when(userService.scrollUsersByBirthDateRange(dateRange, "", size)).thenReturn(cursorPage);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("cursor", "")
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.content.size()").value(size))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andDo(print());
+
+        // Verify
+        verify(userService, never()).findUsersByBirthDateRange(any(DateRange.class), any(Pageable.class));
+    }
+
+    @SneakyThrows
+    @DisplayName("Method scrollUsersByBirthDateRange should return 400 when size is not valid")
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "1001", "size"})
+    void scrollUsersByBirthDateRange_WithInvalidSize_ShouldReturnBadRequest(String size) {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("cursor", "")
+                        .param("size", size))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").exists())
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andDo(print());
+
+        // Verify
+        verify(userService, never()).scrollUsersByBirthDateRange(any(DateRange.class), anyString(), anyInt());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method scrollUsersByBirthDateRange should return 400 when cursor is malformed")
+    void scrollUsersByBirthDateRange_WithMalformedCursor_ShouldReturnBadRequest() {
+        // Prepare
+        var cursor = "not-a-cursor";
+
+        when(userService.scrollUsersByBirthDateRange(any(DateRange.class), eq(cursor), anyInt()))
+                .thenThrow(new ValidationException(INVALID_CURSOR));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").value(containsString(INVALID_CURSOR)))
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @DisplayName("Method getUserById should return 200 with the user when user exists")
+    @Test
+    void getUserById_WhenUserExists_ShouldReturnUser() {
+        // Prepare
+        long userId = 1L;
+        var user = users.get(0);
+
+        when(userService.getById(userId)).thenReturn(user);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.firstName").value(user.firstName()))
+                .andExpect(jsonPath("$.email").value(user.email()))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUserById should return only the requested fields")
+    void getUserById_WithFields_ShouldReturnRequestedFieldsOnly() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+
+        when(userService.getById(1L)).thenReturn(user);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", 1L)
+                        .param("fields", "id,firstName,lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.firstName").value(user.firstName()))
+                .andExpect(jsonPath("$.lastName").value(user.lastName()))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.address").doesNotExist())
+                .andExpect(jsonPath("$.phone").doesNotExist())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersByBirthDateRange should read and return only the requested fields")
+    void getUsersByBirthDateRange_WithFields_ShouldReturnRequestedFieldsOnly() {
+        // Prepare
+        var fields = UserFields.valueOf("id,firstName");
+        var user = new UserView(1L, "John", null, null, null, null, null, 3L);
+        var dateRange = new DateRange(null, null);
+
+        when(userService.findUsersByBirthDateRange(dateRange, DEFAULT_PAGE_REQUEST, fields))
+                .thenReturn(new PageImpl<>(List.of(user), DEFAULT_PAGE_REQUEST, 1));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("fields", "id,firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].firstName").value("John"))
+                .andExpect(jsonPath("$.content[0].lastName").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andDo(print());
+
+        // Verify
+        verify(userService, never()).findUsersByBirthDateRange(dateRange, DEFAULT_PAGE_REQUEST);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method scrollUsersByBirthDateRange should return only the requested fields")
+    void scrollUsersByBirthDateRange_WithFields_ShouldReturnRequestedFieldsOnly() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+        var dateRange = new DateRange(null, null);
+
+        when(userService.scrollUsersByBirthDateRange(dateRange, "", 20))
+                .thenReturn(new CursorPage<>(List.of(user), "next", true));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("cursor", "")
+                        .param("fields", "lastName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].lastName").value(user.lastName()))
+                .andExpect(jsonPath("$.content[0].id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(strings = {"password", "id,password", ","})
+    void getUserById_WithUnknownFields_ShouldReturnBadRequest(String fields) {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", 1L)
+                        .param("fields", fields))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUserById should send the user version as ETag instead of in the body")
+    void getUserById_ShouldReturnVersionAsETag() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).version(3L).build());
+
+        when(userService.getById(1L)).thenReturn(user);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUserById should return 304 without a body when If-None-Match holds the current ETag")
+    void getUserById_WithCurrentETag_ShouldReturnNotModified() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).version(3L).build());
+
+        when(userService.getById(1L)).thenReturn(user);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUserById should send a weak ETag for a response narrowed to some fields")
+    void getUserById_WithFields_ShouldReturnWeakETag() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).version(3L).build());
+
+        when(userService.getById(1L)).thenReturn(user);
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", 1L)
+                        .param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3\""))
+                .andDo(print());
+        mvc.perform(get(REQUEST_URI + "/{id}", 1L)
+                        .param("fields", "id,email")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method updateUser should pass the If-Match version on and return the new ETag")
+    void updateUser_WithIfMatch_ShouldPassExpectedVersion() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().id(1L).version(4L).build();
+
+        when(userService.update(eq(1L), any(User.class), eq(3L))).thenReturn(user);
+
+        // Act & Assert
+        mvc.perform(put(REQUEST_URI + "/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method updateUserFirstName should return 412 when the user changed since the If-Match version")
+    void updateUserFirstName_WithStaleIfMatch_ShouldReturnPreconditionFailed() {
+        // Prepare
+        when(userService.updateFirstName(1L, "John", 3L))
+                .thenThrow(new PreconditionFailedException(User.class.getSimpleName(), "ID: 1", 3L));
+
+        // Act & Assert
+        mvc.perform(patch(REQUEST_URI + "/{id}/first-name", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .param("firstName", "John"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", containsString("has changed since version 3")))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method updateUserFirstName should treat If-Match * as an unconditional update")
+    void updateUserFirstName_WithAnyIfMatch_ShouldUpdateAnyVersion() {
+        // Prepare
+        var updatedUser = FakeDataGenerator.userBuilder().id(1L).firstName("John").version(1L).build();
+
+        when(userService.updateFirstName(1L, "John", null)).thenReturn(updatedUser);
+
+        // Act & Assert
+        mvc.perform(patch(REQUEST_URI + "/{id}/first-name", 1L)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .param("firstName", "John"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(strings = {"W/\"3\"", "\"three\"", "\"1\", \"2\"", "3"})
+    void updateUserFirstName_WithMalformedIfMatch_ShouldReturnBadRequest(String ifMatch) {
+        // Act & Assert
+        mvc.perform(patch(REQUEST_URI + "/{id}/first-name", 1L)
+                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                        .param("firstName", "John"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method updateUserFirstName should return only the requested fields")
+    void updateUserFirstName_WithFields_ShouldReturnRequestedFieldsOnly() {
+        // Prepare
+        var updatedUser = FakeDataGenerator.userBuilder().id(1L).firstName("John").build();
+
+        when(userService.updateFirstName(1L, "John", null)).thenReturn(updatedUser);
+
+        // Act & Assert
+        mvc.perform(patch(REQUEST_URI + "/{id}/first-name", 1L)
+                        .param("firstName", "John")
+                        .param("fields", "id,firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("John"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @DisplayName("Method getUserById should return 400 when id is not valid")
+    @ParameterizedTest
+    @ValueSource(strings = {"id", "-1", "0", "_1_"})
+    void getUserById_WithInvalidId_ShouldReturnBadRequest(String userId) {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/" + userId))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").exists())
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andDo(print());
+
+        // Verify
+        verify(userService, never()).getById(anyLong());
+    }
+
+    @SneakyThrows
+    @DisplayName("Method getUserById should return 404 when user was not found")
+    @Test
+    void getUserById_WhenUserWasNotFound_ShouldReturnNotFound() {
+        // Prepare
+        long userId = 1L;
+        var errorMessage = "User with `Id: " + userId + "` was not found!";
+
+        when(userService.getById(userId))
+                .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/{id}", userId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").value(containsString(errorMessage)))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method exportUsersByBirthDateRange should stream NDJSON by default")
+    void exportUsersByBirthDateRange_WithDefaultFormat_ShouldStreamNdjson() {
+        // Prepare
+        var from = LocalDate.of(1990, 1, 1);
+        var dateRange = new DateRange(from, null);
+        var line = "{\"id\":1}\n";
+
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write(line.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userExportService).exportUsersByBirthDateRange(eq(dateRange), eq(FileFormat.NDJSON), any(OutputStream.class));
+
+        // Act
+        var result = mvc.perform(get(REQUEST_URI + "/export")
+                        .param("from", from.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("users.ndjson")))
+                .andExpect(content().string(line))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method exportUsersByBirthDateRange should stream CSV when format is csv")
+    void exportUsersByBirthDateRange_WithCsvFormat_ShouldStreamCsv() {
+        // Act
+        var result = mvc.perform(get(REQUEST_URI + "/export")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("users.csv")))
+                .andDo(print());
+
+        // Verify
+        verify(userExportService).exportUsersByBirthDateRange(
+                eq(new DateRange(null, null)), eq(FileFormat.CSV), any(OutputStream.class));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method exportUsersByBirthDateRange should return 400 when format is not supported")
+    void exportUsersByBirthDateRange_WithUnsupportedFormat_ShouldReturnBadRequest() {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/export")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").value(containsString(INVALID_EXPORT_FORMAT)))
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userExportService);
     }
 
     @SneakyThrows
@@ -257,6 +808,322 @@ class UserControllerTest {
                 .andDo(print());
     }
 
+    @SneakyThrows
+    @DisplayName("Method createUsers should return 200 with the outcome of every user")
+    @Test
+    void createUsers_WithValidData_ShouldReturnItemResults() {
+        // Prepare
+        var result = BulkCreateResult.of(List.of(
+                BulkItemResult.created(0, 11L),
+                BulkItemResult.rejected(1, BulkItemStatus.DUPLICATE, EMAIL_ALREADY_EXISTS)));
+
+        when(userBulkService.createAll(anyList())).thenReturn(result);
+
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users.subList(0, 2))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.items[0].message").doesNotExist())
+                .andExpect(jsonPath("$.items[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.items[1].message").value(EMAIL_ALREADY_EXISTS))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @DisplayName("Method createUsers should return 400 when no users are provided")
+    @Test
+    void createUsers_WithEmptyList_ShouldReturnBadRequest() {
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").value(containsString(USERS_REQUIRED)))
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userBulkService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersByIds should return 200 with the found users and the missing IDs")
+    void getUsersByIds_WithIds_ShouldReturnFoundAndMissing() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+        when(userService.getAllById(List.of(user.id(), 999L), UserFields.ALL))
+                .thenReturn(new MultiGetResult<>(List.of(user), List.of(999L)));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("ids", user.id() + ",999"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.users.size()").value(1))
+                .andExpect(jsonPath("$.users[0].email").value(user.email()))
+                .andExpect(jsonPath("$.missing[0]").value(999))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(strings = {"", "0", "1,-1", "one"})
+    void getUsersByIds_WithInvalidIds_ShouldReturnBadRequest(String ids) {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersByEmails should return 200 with the found users and the missing emails")
+    void getUsersByEmails_WithEmails_ShouldReturnFoundAndMissing() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+        when(userService.getAllByEmail(List.of(user.email(), "missing@example.com"), UserFields.ALL))
+                .thenReturn(new MultiGetResult<>(List.of(user), List.of("missing@example.com")));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("emails", user.email() + ",missing@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id").value(user.id()))
+                .andExpect(jsonPath("$.missing[0]").value("missing@example.com"))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersByEmails should return 400 when an email is malformed")
+    void getUsersByEmails_WithInvalidEmail_ShouldReturnBadRequest() {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("emails", "not-an-email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(INVALID_EMAIL_FORMAT)))
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(strings = {"ids=1&emails=a@example.com", "ids=1&count=none", "ids=1&cursor=",
+            "emails=a@example.com&count=none", "emails=a@example.com&cursor=", "cursor=&count=none"})
+    @DisplayName("Lookups, keyset pages and counted slices should return 400 when combined with each other")
+    void getUsers_WithCombinedQueryModes_ShouldReturnBadRequest(String query) {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "?" + query))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method getUsersByIds should return 400 when the service rejects too many IDs")
+    void getUsersByIds_WithTooManyIds_ShouldReturnBadRequest() {
+        // Prepare
+        var message = String.format(MULTI_GET_LIMIT_EXCEEDED, 1);
+        when(userService.getAllById(List.of(1L, 2L), UserFields.ALL)).thenThrow(new ValidationException(message));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI)
+                        .param("ids", "1,2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(message)))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method lookupUsers should look users up by the IDs in the request body")
+    void lookupUsers_WithIds_ShouldReturnFoundAndMissing() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+        when(userService.getAllById(List.of(user.id(), 999L), UserFields.ALL))
+                .thenReturn(new MultiGetResult<>(List.of(user), List.of(999L)));
+
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + user.id() + ", 999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id").value(user.id()))
+                .andExpect(jsonPath("$.missing[0]").value(999))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method lookupUsers should look users up by the emails in the request body")
+    void lookupUsers_WithEmails_ShouldReturnFoundAndMissing() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+        when(userService.getAllByEmail(List.of(user.email()), UserFields.ALL))
+                .thenReturn(new MultiGetResult<>(List.of(user), List.of()));
+
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"emails\": [\"" + user.email() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].email").value(user.email()))
+                .andExpect(jsonPath("$.missing.size()").value(0))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"ids\": [1], \"emails\": [\"a@example.com\"]}", "{\"ids\": [0]}",
+            "{\"emails\": [\"not-an-email\"]}"})
+    void lookupUsers_WithInvalidRequest_ShouldReturnBadRequest(String body) {
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method deleteUsers should return 200 with the number of deleted users when IDs are provided")
+    void deleteUsers_WithIds_ShouldReturnDeletedCount() {
+        // Prepare
+        when(userBulkService.deleteAllById(List.of(1L, 2L, 3L))).thenReturn(new BulkDeleteResult(2));
+
+        // Act & Assert
+        mvc.perform(delete(REQUEST_URI)
+                        .param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(strings = {"", "0", "1,-1", "one"})
+    void deleteUsers_WithInvalidIds_ShouldReturnBadRequest(String ids) {
+        // Act & Assert
+        mvc.perform(delete(REQUEST_URI)
+                        .param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userBulkService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method deleteUsersByBirthDateRange should return 200 with the number of deleted users")
+    void deleteUsersByBirthDateRange_WithValidRange_ShouldReturnDeletedCount() {
+        // Prepare
+        var dateRange = new DateRange(LocalDate.parse("1990-01-01"), LocalDate.parse("1999-12-31"));
+        when(userBulkService.deleteByBirthDateRange(dateRange)).thenReturn(new BulkDeleteResult(4));
+
+        // Act & Assert
+        mvc.perform(delete(REQUEST_URI)
+                        .param("from", "1990-01-01")
+                        .param("to", "1999-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(4))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method deleteUsersByBirthDateRange should return 400 when the range is reversed")
+    void deleteUsersByBirthDateRange_WithReversedRange_ShouldReturnBadRequest() {
+        // Act & Assert
+        mvc.perform(delete(REQUEST_URI)
+                        .param("from", "1999-12-31")
+                        .param("to", "1990-01-01"))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userBulkService);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method importUsers should return 200 with the import report when a CSV body is provided")
+    void importUsers_WithCsvBody_ShouldReturnReport() {
+        // Prepare
+        var report = new ImportReport(1, 1, List.of(new ImportRejection(2, EMAIL_ALREADY_EXISTS)));
+        when(userImportService.importUsers(eq(FileFormat.CSV), any(InputStream.class))).thenReturn(report);
+
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/import")
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("firstName,lastName,email,birthDate\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejections[0].row").value(2))
+                .andExpect(jsonPath("$.rejections[0].message").value(EMAIL_ALREADY_EXISTS))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method importUsers should read NDJSON when an NDJSON body is provided")
+    void importUsers_WithNdjsonBody_ShouldImportNdjson() {
+        // Prepare
+        when(userImportService.importUsers(eq(FileFormat.NDJSON), any(InputStream.class)))
+                .thenReturn(new ImportReport(0, 0, List.of()));
+
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isOk())
+                .andDo(print());
+
+        // Verify
+        verify(userImportService).importUsers(eq(FileFormat.NDJSON), any(InputStream.class));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method importUsers should return 415 when the body is neither CSV nor NDJSON")
+    void importUsers_WithUnsupportedContentType_ShouldReturnUnsupportedMediaType() {
+        // Act & Assert
+        mvc.perform(post(REQUEST_URI + "/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userImportService);
+    }
+
     @SneakyThrows
     @ParameterizedTest
     @MethodSource("invalidUserFieldsProvider")
@@ -288,7 +1155,7 @@ class UserControllerTest {
         long userId = 1L;
         var user = FakeDataGenerator.userBuilder().build();
 
-        when(userService.update(anyLong(), any(User.class))).thenReturn(user);
+        when(userService.update(anyLong(), any(User.class), any())).thenReturn(user);
 
         // Act & Assert
         mvc.perform(put(REQUEST_URI + "/{id}", userId)
@@ -317,7 +1184,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).update(anyLong(), any(User.class));
+        verify(userService, never()).update(anyLong(), any(User.class), any());
     }
 
     @SneakyThrows
@@ -339,7 +1206,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).update(anyLong(), any(User.class));
+        verify(userService, never()).update(anyLong(), any(User.class), any());
     }
 
     @SneakyThrows
@@ -351,7 +1218,7 @@ class UserControllerTest {
         var user = FakeDataGenerator.userBuilder().build();
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.update(anyLong(), any(User.class)))
+        when(userService.update(anyLong(), any(User.class), any()))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -376,7 +1243,7 @@ class UserControllerTest {
                 .birthDate(LocalDate.of(2021, 1, 1))
                 .build();
 
-        when(userService.update(anyLong(), any(User.class))).thenReturn(user);
+        when(userService.update(anyLong(), any(User.class), any())).thenReturn(user);
 
         // Act & Assert
         mvc.perform(put(REQUEST_URI + "/{id}", userId)
@@ -389,7 +1256,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).update(anyLong(), any(User.class));
+        verify(userService, never()).update(anyLong(), any(User.class), any());
     }
 
     @SneakyThrows
@@ -404,7 +1271,7 @@ class UserControllerTest {
                 .email(testEmail)
                 .build();
 
-        when(userService.update(anyLong(), any(User.class)))
+        when(userService.update(anyLong(), any(User.class), any()))
                 .thenThrow(new EntityAlreadyExistsException(User.class.getSimpleName(), "Email: " + testEmail));
 
         // Act & Assert
@@ -439,7 +1306,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).update(anyLong(), any(User.class));
+        verify(userService, never()).update(anyLong(), any(User.class), any());
     }
 
     private static Stream<Arguments> invalidUserFieldsProvider() {
@@ -515,7 +1382,7 @@ class UserControllerTest {
                 .firstName(newFirstName)
                 .build();
 
-        when(userService.updateFirstName(userId, newFirstName)).thenReturn(updatedUser);
+        when(userService.updateFirstName(userId, newFirstName, null)).thenReturn(updatedUser);
 
         // Act & Assert
         mvc.perform(patch(REQUEST_URI + "/{id}/first-name", userId)
@@ -543,7 +1410,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateFirstName(anyLong(), anyString());
+        verify(userService, never()).updateFirstName(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -564,7 +1431,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateFirstName(userId, newFirstName);
+        verify(userService, never()).updateFirstName(userId, newFirstName, null);
     }
 
     @SneakyThrows
@@ -576,7 +1443,7 @@ class UserControllerTest {
         var newFirstName = "John";
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.updateFirstName(userId, newFirstName))
+        when(userService.updateFirstName(userId, newFirstName, null))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -600,7 +1467,7 @@ class UserControllerTest {
                 .lastName(newLastName)
                 .build();
 
-        when(userService.updateLastName(userId, newLastName)).thenReturn(updatedUser);
+        when(userService.updateLastName(userId, newLastName, null)).thenReturn(updatedUser);
 
         // Act & Assert
         mvc.perform(patch(REQUEST_URI + "/{id}/last-name", userId)
@@ -628,7 +1495,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateFirstName(anyLong(), anyString());
+        verify(userService, never()).updateFirstName(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -649,7 +1516,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateFirstName(userId, newLastName);
+        verify(userService, never()).updateFirstName(userId, newLastName, null);
     }
 
     @SneakyThrows
@@ -661,7 +1528,7 @@ class UserControllerTest {
         var newLastName = "John";
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.updateLastName(userId, newLastName))
+        when(userService.updateLastName(userId, newLastName, null))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -685,7 +1552,7 @@ class UserControllerTest {
                 .address(newAddress)
                 .build();
 
-        when(userService.updateAddress(userId, newAddress)).thenReturn(updatedUser);
+        when(userService.updateAddress(userId, newAddress, null)).thenReturn(updatedUser);
 
         // Act & Assert
         mvc.perform(patch(REQUEST_URI + "/{id}/address", userId)
@@ -713,7 +1580,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateAddress(anyLong(), anyString());
+        verify(userService, never()).updateAddress(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -732,7 +1599,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateAddress(anyLong(), anyString());
+        verify(userService, never()).updateAddress(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -744,7 +1611,7 @@ class UserControllerTest {
         var newAddress = "Liberty Street";
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.updateAddress(userId, newAddress))
+        when(userService.updateAddress(userId, newAddress, null))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -768,7 +1635,7 @@ class UserControllerTest {
                 .phone(newPhone)
                 .build();
 
-        when(userService.updatePhone(userId, newPhone)).thenReturn(updatedUser);
+        when(userService.updatePhone(userId, newPhone, null)).thenReturn(updatedUser);
 
         // Act & Assert
         mvc.perform(patch(REQUEST_URI + "/{id}/phone", userId)
@@ -796,7 +1663,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updatePhone(anyLong(), anyString());
+        verify(userService, never()).updatePhone(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -815,7 +1682,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updatePhone(anyLong(), anyString());
+        verify(userService, never()).updatePhone(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -827,7 +1694,7 @@ class UserControllerTest {
         var newPhone = "111-222-333";
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.updatePhone(userId, newPhone))
+        when(userService.updatePhone(userId, newPhone, null))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -851,7 +1718,7 @@ class UserControllerTest {
                 .birthDate(newBirtDate)
                 .build();
 
-        when(userService.updateBirthdate(userId, newBirtDate)).thenReturn(updatedUser);
+        when(userService.updateBirthdate(userId, newBirtDate, null)).thenReturn(updatedUser);
 
         // Act & Assert
         mvc.perform(patch(REQUEST_URI + "/{id}/birth-date", userId)
@@ -879,7 +1746,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateBirthdate(anyLong(), any(LocalDate.class));
+        verify(userService, never()).updateBirthdate(anyLong(), any(LocalDate.class), any());
     }
 
     @SneakyThrows
@@ -900,7 +1767,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateBirthdate(anyLong(), any(LocalDate.class));
+        verify(userService, never()).updateBirthdate(anyLong(), any(LocalDate.class), any());
     }
 
     @SneakyThrows
@@ -912,7 +1779,7 @@ class UserControllerTest {
         var newBirtDate = LocalDate.of(1999, 1, 1);
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.updateBirthdate(userId, newBirtDate))
+        when(userService.updateBirthdate(userId, newBirtDate, null))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -955,7 +1822,7 @@ class UserControllerTest {
                 .email(newEmail)
                 .build();
 
-        when(userService.updateEmail(userId, newEmail)).thenReturn(updatedUser);
+        when(userService.updateEmail(userId, newEmail, null)).thenReturn(updatedUser);
 
         // Act & Assert
         mvc.perform(patch(REQUEST_URI + "/{id}/email", userId)
@@ -983,7 +1850,47 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateEmail(anyLong(), anyString());
+        verify(userService, never()).updateEmail(anyLong(), anyString(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method patchUser should return 200 with the patched user when a merge patch is provided")
+    void patchUser_WithMergePatch_ShouldReturnPatchedUser() {
+        // Prepare
+        long userId = 1L;
+        var patchedUser = FakeDataGenerator.userBuilder()
+                .lastName("Doe")
+                .phone(null)
+                .build();
+        var patch = objectMapper.readTree("{\"lastName\":\"Doe\",\"phone\":null}");
+
+        when(userService.patch(userId, patch, null)).thenReturn(patchedUser);
+
+        // Act & Assert
+        mvc.perform(patch(REQUEST_URI + "/{id}", userId)
+                        .contentType("application/merge-patch+json")
+                        .content(patch.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.lastName").value("Doe"))
+                .andExpect(jsonPath("$.phone").doesNotExist())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("Method patchUser should return 415 when the body is not a merge patch")
+    void patchUser_WithPlainJson_ShouldReturnUnsupportedMediaType() {
+        // Act & Assert
+        mvc.perform(patch(REQUEST_URI + "/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\":\"Doe\"}"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andDo(print());
+
+        // Verify
+        verify(userService, never()).patch(anyLong(), any(), any());
     }
 
     @SneakyThrows
@@ -1004,7 +1911,7 @@ class UserControllerTest {
                 .andDo(print());
 
         // Verify
-        verify(userService, never()).updateEmail(anyLong(), anyString());
+        verify(userService, never()).updateEmail(anyLong(), anyString(), any());
     }
 
     @SneakyThrows
@@ -1016,7 +1923,7 @@ class UserControllerTest {
         var newEmail = "test@test.com";
         var errorMessage = "User with `Id: " + userId + "` was not found!";
 
-        when(userService.updateEmail(userId, newEmail))
+        when(userService.updateEmail(userId, newEmail, null))
                 .thenThrow(new EntityNotFoundException(User.class.getSimpleName(), "Id: " + userId));
 
         // Act & Assert
@@ -1038,7 +1945,7 @@ class UserControllerTest {
         var newEmail = "test@test.com";
         var errorMessage = "User with 'Email: " + newEmail + "' already exists!";
 
-        when(userService.updateEmail(userId, newEmail))
+        when(userService.updateEmail(userId, newEmail, null))
                 .thenThrow(new EntityAlreadyExistsException(User.class.getSimpleName(), "Email: " + newEmail));
 
         // Act & Assert
@@ -1050,4 +1957,77 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.timestamp").exists())
                 .andDo(print());
     }
+
+    @SneakyThrows
+    @DisplayName("Method getChanges should return the changes after the since token")
+    @Test
+    void getChanges_WithSinceToken_ShouldReturnChangePage() {
+        // Prepare
+        var since = new ChangeToken(10L, 5L);
+        var change = new UserChange(new ChangeToken(11L, 6L).encode(), 1L, UserChangeType.UPDATED, 2L,
+                Instant.parse("2024-05-01T10:00:00Z"));
+        when(userChangeService.findChangesSince(since, 100))
+                .thenReturn(new ChangePage(List.of(change), change.token(), false));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/changes")
+                        .param("since", since.encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].userId").value(1))
+                .andExpect(jsonPath("$.changes[0].type").value("UPDATED"))
+                .andExpect(jsonPath("$.token").value(change.token()))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @DisplayName("Method getChanges should return 400 when the since token is malformed")
+    @Test
+    void getChanges_WithMalformedToken_ShouldReturnBadRequest() {
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/changes")
+                        .param("since", "not-a-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+
+        // Verify
+        verifyNoInteractions(userChangeService);
+    }
+
+    @SneakyThrows
+    @DisplayName("Method getChanges should return 410 when the changes after the token were purged")
+    @Test
+    void getChanges_WithExpiredToken_ShouldReturnGone() {
+        // Prepare
+        var since = new ChangeToken(10L, 5L);
+        when(userChangeService.findChangesSince(since, 100))
+                .thenThrow(new ChangeTokenExpiredException(since.encode()));
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/changes")
+                        .param("since", since.encode()))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.message").exists())
+                .andDo(print());
+    }
+
+    @SneakyThrows
+    @DisplayName("Method streamChanges should resume after Last-Event-ID rather than the since parameter")
+    @Test
+    void streamChanges_WithLastEventId_ShouldResumeAfterLastEvent() {
+        // Prepare
+        var lastEventId = new ChangeToken(12L, 7L);
+        when(userChangeFeed.subscribe(lastEventId)).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mvc.perform(get(REQUEST_URI + "/changes/stream")
+                        .param("since", new ChangeToken(1L, 1L).encode())
+                        .header("Last-Event-ID", lastEventId.encode()))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        // Verify
+        verify(userChangeFeed).subscribe(lastEventId);
+    }
 }
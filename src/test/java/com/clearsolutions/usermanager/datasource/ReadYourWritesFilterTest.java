@@ -0,0 +1,85 @@
+package com.clearsolutions.usermanager.datasource;
+
+import jakarta.servlet.http.Cookie;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+
+    @Test
+    void testWrite_ShouldPinToPrimaryAndOpenWindow() {
+        // Prepare
+        var request = new MockHttpServletRequest("PUT", "/api/users/1");
+        var response = new MockHttpServletResponse();
+
+        // Execute
+        var pinned = filter(request, response);
+
+        // Assert
+        assertTrue(pinned);
+        assertFalse(RoutingContext.isPrimaryPinned());
+        var cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE + "="));
+        assertTrue(cookie.contains("HttpOnly"));
+    }
+
+    @Test
+    void testRead_WithinWindow_ShouldPinToPrimary() {
+        // Prepare
+        var request = new MockHttpServletRequest("GET", "/api/users/1");
+        var until = System.currentTimeMillis() + 5000;
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(until)));
+        var response = new MockHttpServletResponse();
+
+        // Execute
+        var pinned = filter(request, response);
+
+        // Assert
+        assertTrue(pinned);
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void testRead_AfterWindow_ShouldNotPinToPrimary() {
+        // Prepare
+        var request = new MockHttpServletRequest("GET", "/api/users/1");
+        var until = System.currentTimeMillis() - 1;
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(until)));
+
+        // Execute
+        var pinned = filter(request, new MockHttpServletResponse());
+
+        // Assert
+        assertFalse(pinned);
+    }
+
+    @Test
+    void testRead_WithMalformedCookie_ShouldNotPinToPrimary() {
+        // Prepare
+        var request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, "soon"));
+
+        // Execute
+        var pinned = filter(request, new MockHttpServletResponse());
+
+        // Assert
+        assertFalse(pinned);
+    }
+
+    @SneakyThrows
+    private boolean filter(MockHttpServletRequest request, MockHttpServletResponse response) {
+        var pinned = new AtomicBoolean();
+        filter.doFilter(request, response, (req, res) -> pinned.set(RoutingContext.isPrimaryPinned()));
+        return pinned.get();
+    }
+}
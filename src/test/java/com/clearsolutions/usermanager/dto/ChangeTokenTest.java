@@ -0,0 +1,56 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_CHANGE_TOKEN;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeTokenTest {
+
+    @Test
+    void testValueOf_WithEncodedToken_ShouldRestorePosition() {
+        // Prepare
+        var token = new ChangeToken(1024L, 42L);
+
+        // Execute
+        var decoded = ChangeToken.valueOf(" " + token.encode() + " ");
+
+        // Assert
+        assertEquals(token, decoded);
+    }
+
+    @Test
+    void testBefore_ShouldSortAfterEveryChangeOfEarlierTransactions() {
+        // Execute
+        var position = ChangeToken.before(100L);
+
+        // Assert
+        assertTrue(position.compareTo(new ChangeToken(99L, Long.MAX_VALUE - 1)) > 0);
+        assertTrue(position.compareTo(new ChangeToken(100L, 0L)) < 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not-a-token", "MTAyNA", "MTAyNDo0Mjo3", "YWJjOjQy"})
+    void testValueOf_WithMalformedToken_ShouldThrowValidationException(String token) {
+        // Execute
+        var exception = assertThrows(ValidationException.class, () -> ChangeToken.valueOf(token));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith(INVALID_CHANGE_TOKEN));
+    }
+
+    @Test
+    void testValueOf_WithNegativePosition_ShouldThrowValidationException() {
+        // Prepare
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString("-1:5".getBytes(StandardCharsets.UTF_8));
+
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> ChangeToken.valueOf(token));
+    }
+}
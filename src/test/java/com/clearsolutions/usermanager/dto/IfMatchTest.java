@@ -0,0 +1,41 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_IF_MATCH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IfMatchTest {
+
+    @Test
+    void testValueOf_ShouldParseStrongETagAsVersion() {
+        // Execute
+        var ifMatch = IfMatch.valueOf(" \"42\" ");
+
+        // Assert
+        assertEquals(42L, ifMatch.version());
+    }
+
+    @Test
+    void testValueOf_WithWildcard_ShouldMatchAnyVersion() {
+        // Execute
+        var ifMatch = IfMatch.valueOf("*");
+
+        // Assert
+        assertSame(IfMatch.ANY, ifMatch);
+        assertNull(ifMatch.version());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "\"\"", "42", "W/\"42\"", "\"forty-two\"", "\"1\", \"2\""})
+    void testValueOf_WithUnsupportedValue_ShouldThrowValidationException(String value) {
+        // Execute
+        var exception = assertThrows(ValidationException.class, () -> IfMatch.valueOf(value));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith(INVALID_IF_MATCH));
+    }
+}
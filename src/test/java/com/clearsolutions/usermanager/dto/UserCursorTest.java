@@ -0,0 +1,44 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserCursorTest {
+
+    @Test
+    void testEncodeAndDecode_ShouldReturnSamePosition() {
+        // Prepare
+        var cursor = new UserCursor(LocalDate.of(1990, 5, 17), 42L);
+
+        // Execute
+        var decoded = UserCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64 !", "MTk5MC0wNS0xNw", "YWJjOmRlZg", "MTk5MC0xMy0wMTo0Mg"})
+    void testDecode_WithMalformedToken_ShouldThrowValidationException(String token) {
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> UserCursor.decode(token));
+    }
+
+    @Test
+    void testDecode_WithExtraSegments_ShouldThrowValidationException() {
+        // Prepare
+        var token = Base64.getUrlEncoder().encodeToString("1990-05-17:42:1".getBytes(StandardCharsets.UTF_8));
+
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> UserCursor.decode(token));
+    }
+}
@@ -0,0 +1,58 @@
+package com.clearsolutions.usermanager.dto;
+
+import com.clearsolutions.usermanager.dto.enums.UserField;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.UNKNOWN_USER_FIELD;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserFieldsTest {
+
+    @Test
+    void testValueOf_ShouldParseFieldsIgnoringBlanks() {
+        // Execute
+        var fields = UserFields.valueOf("lastName, id,,firstName");
+
+        // Assert
+        assertEquals(Set.of(UserField.ID, UserField.FIRST_NAME, UserField.LAST_NAME), fields.fields());
+    }
+
+    @Test
+    void testValueOf_WithUnknownField_ShouldThrowValidationException() {
+        // Execute
+        var exception = assertThrows(ValidationException.class, () -> UserFields.valueOf("id,password"));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith(String.format(UNKNOWN_USER_FIELD, "password")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", ",,"})
+    void testValueOf_WithoutFields_ShouldThrowValidationException(String value) {
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> UserFields.valueOf(value));
+    }
+
+    @Test
+    void testSelect_ShouldKeepRequestedPropertiesInDeclarationOrder() {
+        // Prepare
+        var user = new UserView(7L, "Ada", "Lovelace", "ada@example.com", LocalDate.of(1990, 12, 10), null, null, 0L);
+
+        // Execute
+        var selected = UserFields.valueOf("phone,firstName,id").select(user);
+
+        // Assert
+        assertEquals(List.of("id", "firstName", "phone"), List.copyOf(selected.keySet()));
+        assertEquals(7L, selected.get("id"));
+        assertEquals("Ada", selected.get("firstName"));
+        assertTrue(selected.containsKey("phone"));
+        assertNull(selected.get("phone"));
+    }
+}
@@ -8,8 +8,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
@@ -71,4 +76,24 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().timestamp()).isGreaterThan(0L);
         assertThat(response.getBody().message()).isEqualTo(exception.getMessage());
     }
+
+    @Test
+    @DisplayName("Handle WebExchangeBindException: Should Return Bad Request With Every Message")
+    void testWebExchangeBindExceptionHandling() throws NoSuchMethodException {
+        // Prepare
+        var bindingResult = new BeanPropertyBindingResult(new Object(), "user");
+        bindingResult.addError(new FieldError("user", "email", "Email is required"));
+        bindingResult.addError(new ObjectError("user", "Dates are out of order"));
+        var parameter = new MethodParameter(
+                GlobalExceptionHandler.class.getMethod("handleBadRequest", Exception.class), 0);
+        Exception exception = new WebExchangeBindException(parameter, bindingResult);
+
+        // Execute
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleBadRequest(exception);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().message()).isEqualTo("Email is required, Dates are out of order");
+    }
 }
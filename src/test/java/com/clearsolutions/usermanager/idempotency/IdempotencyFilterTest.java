@@ -0,0 +1,114 @@
+package com.clearsolutions.usermanager.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private static final String KEY = "retried-key";
+    private static final String BODY = "{\"email\":\"retried@example.com\"}";
+
+    private final IdempotencyStore idempotencyStore = mock(IdempotencyStore.class);
+    private final IdempotencyFilter filter = new IdempotencyFilter(idempotencyStore,
+            mock(HandlerExceptionResolver.class), 1024, 5000, new SimpleMeterRegistry());
+
+    @Test
+    void testDuplicate_WhenWaitedForRequestFailsWithServerError_ShouldRunWithItsBody() {
+        // Execute & Assert
+        assertDuplicateRunsAfterFailure((request, response) -> ((HttpServletResponse) response).setStatus(500));
+    }
+
+    @Test
+    void testDuplicate_WhenWaitedForRequestThrows_ShouldRunWithItsBody() {
+        // Execute & Assert
+        assertDuplicateRunsAfterFailure((request, response) -> {
+            throw new IllegalStateException("Database is down");
+        });
+    }
+
+    @SneakyThrows
+    private void assertDuplicateRunsAfterFailure(FilterChain failure) {
+        // Prepare
+        when(idempotencyStore.find(KEY)).thenReturn(Optional.empty());
+        var firstStarted = new CountDownLatch(1);
+        var releaseFirst = new CountDownLatch(1);
+        FilterChain firstChain = (request, response) -> {
+            firstStarted.countDown();
+            await(releaseFirst);
+            failure.doFilter(request, response);
+        };
+        FilterChain retryChain = (request, response) -> {
+            var body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(BODY, body);
+            var httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+        var retryResponse = new MockHttpServletResponse();
+
+        // Execute
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var first = executor.submit(() -> filter(firstChain, new MockHttpServletResponse()));
+            firstStarted.await();
+            var retry = executor.submit(() -> filter(retryChain, retryResponse));
+            // Gives the retry time to start waiting for the first request
+            Thread.sleep(200);
+            releaseFirst.countDown();
+            try {
+                first.get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                // The first request may fail with the exception of its chain
+            }
+            retry.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(201, retryResponse.getStatus());
+        assertEquals(BODY, retryResponse.getContentAsString());
+        verify(idempotencyStore).save(eq(KEY), argThat(stored -> stored.status() == 201));
+        verify(idempotencyStore, never()).save(eq(KEY), argThat(stored -> stored.status() >= 500));
+        verify(idempotencyStore, times(1)).save(any(), any());
+    }
+
+    @SneakyThrows
+    private Void filter(FilterChain chain, MockHttpServletResponse response) {
+        var request = new MockHttpServletRequest("POST", "/api/users");
+        request.addHeader(IdempotencyFilter.HEADER, KEY);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        filter.doFilter(request, response, chain);
+        return null;
+    }
+
+    private static void await(CountDownLatch latch) throws ServletException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.cache.CacheInvalidationBus;
+import com.clearsolutions.usermanager.cache.EmailBloomFilter;
+import com.clearsolutions.usermanager.properties.CacheInvalidationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Runs two buses side by side against the test database, standing in for two instances of the application.
+ */
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CacheInvalidationBusTest {
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheInvalidationProperties cacheInvalidationProperties;
+
+    private static final long WAIT_MILLIS = 5000;
+
+    private Node writer;
+    private Node reader;
+
+    @BeforeEach
+    void startNodes() {
+        writer = new Node();
+        reader = new Node();
+        awaitListening(writer, 1);
+        awaitListening(reader, 1);
+    }
+
+    @AfterEach
+    void stopNodes() throws InterruptedException {
+        writer.bus.destroy();
+        reader.bus.destroy();
+    }
+
+    @Test
+    void testPublish_ShouldEvictUserOnOtherInstanceOnly() {
+        // Prepare
+        reader.cache.put(1L, "stale");
+        reader.cache.put(2L, "fresh");
+        writer.cache.put(1L, "reloaded");
+
+        // Execute
+        writer.bus.publish(1L);
+
+        // Assert
+        await(() -> reader.cache.get(1L) == null);
+        assertEquals("fresh", reader.cache.get(2L).get());
+        assertEquals(1.0, received(reader));
+        assertEquals("reloaded", writer.cache.get(1L).get(), "an instance ignores its own invalidations");
+    }
+
+    @Test
+    void testPublish_WithBurst_ShouldEvictEveryUserOnOtherInstance() {
+        // Prepare
+        var ids = LongStream.rangeClosed(1, 100).boxed().toList();
+        ids.forEach(id -> reader.cache.put(id, "stale"));
+
+        // Execute
+        ids.forEach(writer.bus::publish);
+
+        // Assert
+        await(() -> received(reader) == ids.size());
+        ids.forEach(id -> assertNull(reader.cache.get(id)));
+        assertEquals(ids.size(), sent(writer));
+    }
+
+    @Test
+    void testPublish_WithBurstAboveMaxBatchSize_ShouldFlushOtherInstance() {
+        // Prepare
+        reader.cache.put(-1L, "unrelated");
+
+        // Execute
+        LongStream.rangeClosed(1, cacheInvalidationProperties.getMaxBatchSize() + 1).forEach(writer.bus::publish);
+
+        // Assert
+        await(() -> reader.cache.get(-1L) == null);
+        assertEquals(2.0, flushed(reader));
+        assertEquals(0.0, received(reader));
+    }
+
+    @Test
+    void testPublishEmail_ShouldAddEmailToFilterOfOtherInstance() {
+        // Execute
+        writer.bus.publishEmail("first@example.com");
+        writer.bus.publishEmail("second@example.com");
+
+        // Assert
+        verify(reader.emailBloomFilter, timeout(WAIT_MILLIS)).add("first@example.com");
+        verify(reader.emailBloomFilter, timeout(WAIT_MILLIS)).add("second@example.com");
+        verify(writer.emailBloomFilter, never()).add(anyString());
+    }
+
+    @Test
+    void testListener_WhenConnectionIsLost_ShouldFlushCacheAndListenAgain() {
+        // Prepare
+        reader.cache.put(1L, "stale");
+
+        // Execute
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+                CacheInvalidationBus.APPLICATION_NAME);
+
+        // Assert
+        awaitListening(reader, 2);
+        assertNull(reader.cache.get(1L));
+        verify(reader.emailBloomFilter).load();
+
+        reader.cache.put(2L, "stale");
+        writer.bus.publish(2L);
+        await(() -> reader.cache.get(2L) == null);
+    }
+
+    private void awaitListening(Node node, int times) {
+        await(() -> flushed(node) >= times);
+    }
+
+    private static double sent(Node node) {
+        return count(node, "sent");
+    }
+
+    private static double received(Node node) {
+        return count(node, "received");
+    }
+
+    private static double flushed(Node node) {
+        return count(node, "flushed");
+    }
+
+    private static double count(Node node, String result) {
+        return node.meterRegistry.get(CacheInvalidationBus.INVALIDATIONS_METRIC).tag("result", result).counter().count();
+    }
+
+    @SneakyThrows
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within " + WAIT_MILLIS + " ms");
+            Thread.sleep(20);
+        }
+    }
+
+    private class Node {
+
+        private final Cache cache = new ConcurrentMapCache(USERS);
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final EmailBloomFilter emailBloomFilter = mock(EmailBloomFilter.class);
+        private final CacheInvalidationBus bus;
+
+        Node() {
+            var listenerDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(SimpleDriverDataSource.class)
+                    .build();
+            bus = new CacheInvalidationBus(listenerDataSource, jdbcTemplate, cache, emailBloomFilter,
+                    cacheInvalidationProperties, meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.idempotency.IdempotencyFilter;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.clearsolutions.usermanager.testutils.RecordingStatementInspector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("integration")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.clearsolutions.usermanager.testutils.RecordingStatementInspector")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IdempotentCreateTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final String REQUEST_URI = "/api/users";
+    private static final String EMAIL_PREFIX = "idempotent.";
+    private static final int CALLERS = 8;
+
+    @AfterEach
+    void cleanUsers() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PREFIX + "%");
+    }
+
+    @SneakyThrows
+    @Test
+    void testCreateUser_WhenRetried_ShouldReplayResponseWithoutQueries() {
+        // Prepare
+        var key = UUID.randomUUID().toString();
+        var body = userJson("retried");
+        var original = create(key, body).andExpect(status().isCreated()).andReturn();
+        RecordingStatementInspector.clear();
+
+        // Execute
+        var retry = create(key, body).andReturn();
+
+        // Assert
+        assertEquals(201, retry.getResponse().getStatus());
+        assertEquals("true", retry.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(original.getResponse().getHeader("ETag"), retry.getResponse().getHeader("ETag"));
+        assertEquals(original.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertTrue(RecordingStatementInspector.getStatements().isEmpty());
+        assertEquals(1, countUsers("retried"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testCreateUser_WithKeyOfDifferentRequest_ShouldReturnUnprocessableEntity() {
+        // Prepare
+        var key = UUID.randomUUID().toString();
+        create(key, userJson("first")).andExpect(status().isCreated());
+
+        // Execute & Assert
+        create(key, userJson("second"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value(startsWith(
+                        "Idempotency key `" + key + "` was already used for a different request!")));
+        assertEquals(0, countUsers("second"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testCreateUser_WithInvalidKey_ShouldReturnBadRequest() {
+        // Prepare
+        var key = "k".repeat(256);
+
+        // Execute & Assert
+        create(key, userJson("invalid.key"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+        assertEquals(0, countUsers("invalid.key"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testCreateUser_WhenSentConcurrently_ShouldCreateUserOnce() {
+        // Prepare
+        var key = UUID.randomUUID().toString();
+        var body = userJson("concurrent");
+        var executed = requests("executed");
+        var ready = new CountDownLatch(CALLERS);
+        var tasks = new ArrayList<Callable<MvcResult>>();
+        for (int i = 0; i < CALLERS; i++) {
+            tasks.add(() -> {
+                ready.countDown();
+                ready.await();
+                return create(key, body).andReturn();
+            });
+        }
+
+        // Execute
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        var results = new ArrayList<MvcResult>();
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        var expectedBody = results.get(0).getResponse().getContentAsString();
+        for (var result : results) {
+            assertEquals(201, result.getResponse().getStatus());
+            assertEquals(expectedBody, result.getResponse().getContentAsString());
+        }
+        assertEquals(executed + 1, requests("executed"));
+        assertEquals(1, countUsers("concurrent"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testCreateUsers_WhenRetried_ShouldReplayBulkResult() {
+        // Prepare
+        var key = UUID.randomUUID().toString();
+        var users = List.of(
+                FakeDataGenerator.userBuilder().email(EMAIL_PREFIX + "bulk1@example.com").build(),
+                FakeDataGenerator.userBuilder().email(EMAIL_PREFIX + "bulk2@example.com").build());
+        var body = objectMapper.writeValueAsString(users);
+        var original = mvc.perform(post(REQUEST_URI + "/batch")
+                        .header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Execute & Assert
+        mvc.perform(post(REQUEST_URI + "/batch")
+                        .header(IdempotencyFilter.HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(result -> assertEquals(original.getResponse().getContentAsString(),
+                        result.getResponse().getContentAsString()));
+        assertEquals(1, countUsers("bulk1"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testCreateUser_WithoutKey_ShouldNotReplay() {
+        // Prepare
+        var body = userJson("unkeyed");
+        mvc.perform(post(REQUEST_URI).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        // Execute & Assert
+        mvc.perform(post(REQUEST_URI).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @SneakyThrows
+    private ResultActions create(String key, String body) {
+        return mvc.perform(post(REQUEST_URI)
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    @SneakyThrows
+    private String userJson(String name) {
+        return objectMapper.writeValueAsString(
+                FakeDataGenerator.userBuilder().email(EMAIL_PREFIX + name + "@example.com").build());
+    }
+
+    private int countUsers(String name) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE email LIKE ?", Integer.class,
+                EMAIL_PREFIX + name + "%");
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get(IdempotencyFilter.REQUESTS_METRIC).tag("result", result).counter().count();
+    }
+}
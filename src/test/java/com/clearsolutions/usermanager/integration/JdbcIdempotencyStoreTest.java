@@ -0,0 +1,100 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.idempotency.IdempotencyStore;
+import com.clearsolutions.usermanager.idempotency.JdbcIdempotencyStore;
+import com.clearsolutions.usermanager.idempotency.StoredResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("integration")
+@SpringBootTest(properties = {
+        "app.idempotency.table.enabled=true",
+        "app.idempotency.maxEntries=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class JdbcIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanKeys() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+    }
+
+    @Test
+    void testSave_ShouldKeepResponseForFind() {
+        // Prepare
+        var response = response("hash", "{\"id\":1}");
+
+        // Execute
+        idempotencyStore.save("key", response);
+
+        // Assert
+        var stored = idempotencyStore.find("key").orElseThrow();
+        assertEquals("hash", stored.requestHash());
+        assertEquals(201, stored.status());
+        assertEquals("application/json", stored.contentType());
+        assertEquals("\"0\"", stored.eTag());
+        assertArrayEquals(response.body(), stored.body());
+    }
+
+    @Test
+    void testSave_WithKeptKey_ShouldNotReplaceResponse() {
+        // Prepare
+        idempotencyStore.save("key", response("first", "{}"));
+
+        // Execute
+        idempotencyStore.save("key", response("second", "{}"));
+
+        // Assert
+        assertEquals("first", idempotencyStore.find("key").orElseThrow().requestHash());
+    }
+
+    @Test
+    void testFind_WithExpiredResponse_ShouldReturnEmpty() {
+        // Prepare
+        idempotencyStore.save("key", response("hash", "{}"));
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = now() - interval '2 days'");
+
+        // Execute & Assert
+        assertTrue(idempotencyStore.find("key").isEmpty());
+    }
+
+    @Test
+    void testPurge_ShouldDeleteExpiredAndOldestResponsesBeyondMaxEntries() {
+        // Prepare
+        idempotencyStore.save("expired", response("hash", "{}"));
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = now() - interval '2 days'");
+        for (var key : new String[]{"oldest", "older", "newest"}) {
+            idempotencyStore.save(key, response("hash", "{}"));
+            jdbcTemplate.update("UPDATE idempotency_keys SET created_at = created_at - interval '1 minute'"
+                    + " WHERE idempotency_key <> ?", key);
+        }
+
+        // Execute
+        var purged = ((JdbcIdempotencyStore) idempotencyStore).purge();
+
+        // Assert
+        assertEquals(2, purged);
+        assertTrue(idempotencyStore.find("oldest").isEmpty());
+        assertTrue(idempotencyStore.find("older").isPresent());
+        assertTrue(idempotencyStore.find("newest").isPresent());
+    }
+
+    private static StoredResponse response(String requestHash, String body) {
+        return new StoredResponse(requestHash, 201, "application/json", "\"0\"", null,
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,216 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.clearsolutions.usermanager.testutils.R2dbcFromJdbcInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Runs the reactive variant end to end against the integration database over R2DBC.
+ */
+@ActiveProfiles({"integration", ReactiveUserManagerApplication.PROFILE})
+@SpringBootTest(classes = ReactiveUserManagerApplication.class, webEnvironment = RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ContextConfiguration(initializers = R2dbcFromJdbcInitializer.class)
+@AutoConfigureWebTestClient
+class ReactiveUserApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private static final String REQUEST_URI = "/api/users";
+    private static final String EMAIL_DOMAIN = "@reactive.example.com";
+    private static final int TOTAL_USERS = 10;
+
+    @AfterEach
+    void deleteCreatedUsers() {
+        databaseClient.sql("DELETE FROM users WHERE email LIKE :pattern")
+                .bind("pattern", "%" + EMAIL_DOMAIN)
+                .then()
+                .block();
+    }
+
+    @Test
+    void testGetUserById_ShouldReadMockUser() {
+        // Execute & Assert
+        webTestClient.get().uri(REQUEST_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.email").isEqualTo("ivan.petrov@example.com");
+    }
+
+    @Test
+    void testStreamUsersByBirthDateRange_ShouldStreamEveryUserInOrder() {
+        // Execute
+        var users = webTestClient.get().uri(REQUEST_URI + "?from=1900-01-01&to=2024-01-01")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserView.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertNotNull(users);
+        assertEquals(TOTAL_USERS, users.size());
+        var sorted = users.stream()
+                .sorted(Comparator.comparing(UserView::birthDate).thenComparing(UserView::id))
+                .toList();
+        assertEquals(sorted, users);
+    }
+
+    @Test
+    void testCreateUser_ShouldInsertOnceAndRejectDuplicateEmail() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().email("new.user" + EMAIL_DOMAIN).address(null).build();
+
+        // Execute
+        var created = webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(User.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertNotNull(created);
+        assertNotNull(created.getId());
+        webTestClient.get().uri(REQUEST_URI + "/" + created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo(user.getEmail())
+                .jsonPath("$.address").doesNotExist();
+        webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(startsWith("User with 'Email: " + user.getEmail()));
+    }
+
+    @Test
+    void testUpdateUser_ShouldReplaceFieldsAndRejectTakenEmail() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().email("updated.user" + EMAIL_DOMAIN).build();
+        var id = webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectBody(User.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+        user.setFirstName("Updated");
+        user.setBirthDate(LocalDate.of(1970, 7, 7));
+
+        // Execute & Assert
+        webTestClient.put().uri(REQUEST_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(id)
+                .jsonPath("$.firstName").isEqualTo("Updated")
+                .jsonPath("$.birthDate").isEqualTo("1970-07-07");
+
+        user.setEmail("ivan.petrov@example.com");
+        webTestClient.put().uri(REQUEST_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(startsWith("User with 'Email already exists"));
+    }
+
+    @Test
+    void testUpdateUser_ShouldReturnNotFoundForMissingUser() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().email("missing.user" + EMAIL_DOMAIN).build();
+
+        // Execute & Assert
+        webTestClient.put().uri(REQUEST_URI + "/999999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testDeleteUser_ShouldDeleteOnce() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().email("deleted.user" + EMAIL_DOMAIN).build();
+        var id = webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectBody(User.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+
+        // Execute & Assert
+        webTestClient.delete().uri(REQUEST_URI + "/" + id).exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri(REQUEST_URI + "/" + id).exchange().expectStatus().isNotFound();
+        webTestClient.get().uri(REQUEST_URI + "/" + id).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void testWrites_ShouldRecordChangesLikeServletVariant() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().email("recorded.user" + EMAIL_DOMAIN).build();
+        var id = webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectBody(User.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+
+        // Execute
+        user.setFirstName("Recorded");
+        webTestClient.put().uri(REQUEST_URI + "/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri(REQUEST_URI + "/" + id).exchange().expectStatus().isNoContent();
+
+        // Assert
+        var changes = databaseClient.sql("SELECT operation, version FROM user_changes WHERE user_id = :id ORDER BY id")
+                .bind("id", id)
+                .map(row -> row.get("operation", String.class) + "@" + row.get("version", Long.class))
+                .all()
+                .collectList()
+                .block();
+        assertEquals(List.of("CREATED@0", "UPDATED@1", "DELETED@1"), changes);
+    }
+}
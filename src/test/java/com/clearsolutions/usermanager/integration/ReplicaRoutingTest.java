@@ -0,0 +1,114 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.datasource.ReplicaLagMonitor;
+import com.clearsolutions.usermanager.datasource.RoutingContext;
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static com.clearsolutions.usermanager.datasource.ReplicaRoutingDataSource.PRIMARY;
+import static com.clearsolutions.usermanager.datasource.ReplicaRoutingDataSource.ROUTE_METRIC;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Runs against two replicas: the test database itself, which is not in recovery and so never lags,
+ * and a server that cannot be reached.
+ */
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties = {
+        "spring.cache.type=none",
+        "app.replicas.enabled=true",
+        "app.replicas.urls=${spring.datasource.url},jdbc:postgresql://localhost:1/unreachable",
+        "app.replicas.connectionTimeoutMillis=250",
+        "app.replicas.lagCheckIntervalMillis=60000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReplicaRoutingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final DateRange dateRange = new DateRange(LocalDate.of(1900, 1, 1), LocalDate.of(2000, 1, 1));
+
+    @BeforeEach
+    void checkReplicas() {
+        replicaLagMonitor.checkReplicas();
+    }
+
+    @Test
+    void testLagMonitor_ShouldOnlyServeReadsFromReachableReplica() {
+        // Assert
+        assertEquals(0.0, meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).tag("replica", "replica-1").gauge().value());
+        assertTrue(Double.isNaN(
+                meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).tag("replica", "replica-2").gauge().value()));
+        assertEquals("replica-1", replicaLagMonitor.nextReplica().orElseThrow());
+        assertEquals("replica-1", replicaLagMonitor.nextReplica().orElseThrow());
+    }
+
+    @Test
+    void testFindUsersByBirthDateRange_ShouldReadFromReplica() {
+        // Prepare
+        var replicaReads = routed("replica-1", "read");
+
+        // Execute
+        var page = userService.findUsersByBirthDateRange(dateRange, PageRequest.of(0, 5));
+
+        // Assert
+        assertFalse(page.isEmpty());
+        assertTrue(routed("replica-1", "read") > replicaReads);
+        assertEquals(0.0, routed("replica-2", "read"));
+    }
+
+    @Test
+    void testFindUsersByBirthDateRange_WhenPinnedToPrimary_ShouldReadFromPrimary() {
+        // Prepare
+        var replicaReads = routed("replica-1", "read");
+        var pinnedReads = routed(PRIMARY, "read_your_writes");
+
+        // Execute
+        var page = RoutingContext.onPrimary(
+                () -> userService.findUsersByBirthDateRange(dateRange, PageRequest.of(0, 5)));
+
+        // Assert
+        assertFalse(page.isEmpty());
+        assertTrue(routed(PRIMARY, "read_your_writes") > pinnedReads);
+        assertEquals(replicaReads, routed("replica-1", "read"));
+    }
+
+    @Test
+    void testCreateAndGetById_ShouldUsePrimary() {
+        // Prepare
+        var replicaReads = routed("replica-1", "read");
+        var writes = routed(PRIMARY, "read_write");
+
+        // Execute
+        var user = userService.create(FakeDataGenerator.userBuilder().build());
+        var view = userService.getById(user.getId());
+
+        // Assert
+        assertEquals(user.getEmail(), view.email());
+        assertTrue(routed(PRIMARY, "read_write") > writes);
+        assertEquals(replicaReads, routed("replica-1", "read"));
+        userService.deleteById(user.getId());
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.get(ROUTE_METRIC).tag("route", route).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,155 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.enums.BulkItemStatus;
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.properties.BulkProperties;
+import com.clearsolutions.usermanager.service.UserBulkService;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
+import static com.clearsolutions.usermanager.testutils.enums.UserFieldName.FIRST_NAME;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserBulkServiceTest {
+
+    @Autowired
+    private UserBulkService userBulkService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BulkProperties bulkProperties;
+
+    private static final DateRange OPEN_RANGE = new DateRange(null, null);
+
+    @Test
+    void testCreateAll_ShouldReportEveryUserInRequestOrder() {
+        // Prepare
+        var valid = FakeDataGenerator.userBuilder().email("bulk.valid@example.com").build();
+        var invalid = FakeDataGenerator.userBuilder().withInvalid(FIRST_NAME).build();
+        var repeated = FakeDataGenerator.userBuilder().email(valid.getEmail()).build();
+        var existing = FakeDataGenerator.userBuilder().email(userService.getById(1L).email()).build();
+
+        // Execute
+        var result = userBulkService.createAll(List.of(valid, invalid, repeated, existing));
+
+        // Assert
+        assertEquals(1, result.created());
+        assertEquals(3, result.failed());
+        var items = result.items();
+        assertEquals(BulkItemStatus.CREATED, items.get(0).status());
+        assertEquals(valid.getEmail(), userService.getById(items.get(0).id()).email());
+        assertEquals(BulkItemStatus.INVALID, items.get(1).status());
+        assertEquals(FIRST_NAME_REQUIRED, items.get(1).message());
+        assertEquals(BulkItemStatus.DUPLICATE, items.get(2).status());
+        assertEquals(EMAIL_REPEATED_IN_BULK, items.get(2).message());
+        assertEquals(BulkItemStatus.DUPLICATE, items.get(3).status());
+        assertEquals(EMAIL_ALREADY_EXISTS, items.get(3).message());
+    }
+
+    @Test
+    void testCreateAll_WithNullUser_ShouldReportItAsInvalid() {
+        // Prepare
+        var valid = FakeDataGenerator.userBuilder().email("bulk.valid@example.com").build();
+
+        // Execute
+        var result = userBulkService.createAll(Arrays.asList(valid, null));
+
+        // Assert
+        assertEquals(1, result.created());
+        var items = result.items();
+        assertEquals(BulkItemStatus.CREATED, items.get(0).status());
+        assertEquals(BulkItemStatus.INVALID, items.get(1).status());
+        assertEquals(USER_REQUIRED, items.get(1).message());
+    }
+
+    @Test
+    void testCreateAll_WithSeveralBatches_ShouldCreateAllUsersWithDistinctIds() {
+        // Prepare
+        var count = bulkProperties.getBatchSize() * 2 + 7;
+        var users = new ArrayList<User>();
+        for (int i = 0; i < count; i++) {
+            users.add(FakeDataGenerator.userBuilder().email("bulk.user" + i + "@example.com").build());
+        }
+
+        // Execute
+        var result = userBulkService.createAll(users);
+
+        // Assert
+        var ids = new HashSet<Long>();
+        result.items().forEach(item -> ids.add(item.id()));
+        assertEquals(count, result.created());
+        assertEquals(count, ids.size());
+        assertFalse(ids.contains(null));
+    }
+
+    @Test
+    void testDeleteAllById_ShouldDeleteExistingUsersAndIgnoreUnknownIds() {
+        // Execute
+        var result = userBulkService.deleteAllById(List.of(1L, 2L, 2L, 1_000_000L));
+
+        // Assert
+        assertEquals(2, result.deleted());
+        assertThrows(EntityNotFoundException.class, () -> userService.getById(1L));
+        assertThrows(EntityNotFoundException.class, () -> userService.getById(2L));
+        assertDoesNotThrow(() -> userService.getById(3L));
+    }
+
+    @Test
+    void testDeleteByBirthDateRange_ShouldDeleteOnlyUsersWithinRange() {
+        // Prepare
+        var dateRange = new DateRange(LocalDate.of(1990, 1, 1), null);
+        var expected = userService.findUsersByBirthDateRange(dateRange, Pageable.unpaged()).getTotalElements();
+        var total = userService.findUsersByBirthDateRange(OPEN_RANGE, Pageable.unpaged()).getTotalElements();
+
+        // Execute
+        var result = userBulkService.deleteByBirthDateRange(dateRange);
+
+        // Assert
+        assertEquals(expected, result.deleted());
+        assertEquals(0, userService.findUsersByBirthDateRange(dateRange, Pageable.unpaged()).getTotalElements());
+        assertEquals(total - expected, userService.findUsersByBirthDateRange(OPEN_RANGE, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void testDeleteByBirthDateRange_WithOpenRange_ShouldThrowException() {
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> userBulkService.deleteByBirthDateRange(OPEN_RANGE));
+    }
+
+    @Test
+    void testCreateAll_WhenLimitIsExceeded_ShouldThrowException() {
+        // Prepare
+        var users = new ArrayList<User>();
+        var user = FakeDataGenerator.userBuilder().build();
+        for (int i = 0; i <= bulkProperties.getMaxItems(); i++) {
+            users.add(user);
+        }
+
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> userBulkService.createAll(users));
+    }
+}
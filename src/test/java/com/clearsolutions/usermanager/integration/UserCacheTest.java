@@ -0,0 +1,117 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    private Cache usersCache;
+
+    @BeforeEach
+    void clearCache() {
+        usersCache = cacheManager.getCache(USERS);
+        assertNotNull(usersCache);
+        usersCache.clear();
+    }
+
+    @Test
+    void testGetById_WhenCalledTwice_ShouldQueryDatabaseOnce() {
+        // Prepare
+        long userId = 1L;
+
+        // Execute
+        var first = userService.getById(userId);
+        var second = userService.getById(userId);
+
+        // Assert
+        assertEquals(first, second);
+        assertNotNull(usersCache.get(userId));
+        verify(userRepository, times(1)).findViewById(userId);
+    }
+
+    @Test
+    void testUpdateFirstName_ShouldEvictCachedUser() {
+        // Prepare
+        long userId = 1L;
+        var newFirstName = "Evicted";
+        userService.getById(userId);
+
+        // Execute
+        userService.updateFirstName(userId, newFirstName, null);
+
+        // Assert
+        assertNull(usersCache.get(userId));
+        assertEquals(newFirstName, userService.getById(userId).firstName());
+    }
+
+    @Test
+    void testUpdate_WhenEmailAlreadyExists_ShouldKeepCachedUser() {
+        // Prepare
+        long userId = 1L;
+        var cachedUser = userService.getById(userId);
+        var user = FakeDataGenerator.userBuilder()
+                .email(userService.getById(2L).email())
+                .build();
+
+        // Execute
+        assertThrows(EntityAlreadyExistsException.class, () -> userService.update(userId, user, null));
+
+        // Assert
+        assertEquals(cachedUser, usersCache.get(userId, Object.class));
+    }
+
+    @Test
+    void testDeleteById_ShouldEvictCachedUser() {
+        // Prepare
+        long userId = 1L;
+        userService.getById(userId);
+
+        // Execute
+        userService.deleteById(userId);
+
+        // Assert
+        assertNull(usersCache.get(userId));
+    }
+
+    @Test
+    void testGetById_WhenUserNotFound_ShouldNotCacheMiss() {
+        // Prepare
+        long userId = 999L;
+
+        // Execute & Assert
+        assertThrows(EntityNotFoundException.class, () -> userService.getById(userId));
+        assertNull(usersCache.get(userId));
+    }
+}
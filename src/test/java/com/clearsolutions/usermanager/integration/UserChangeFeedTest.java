@@ -0,0 +1,175 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.changefeed.UserChangeFeed;
+import com.clearsolutions.usermanager.dto.ChangeToken;
+import com.clearsolutions.usermanager.dto.UserChange;
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
+import com.clearsolutions.usermanager.exceptions.custom.ChangeTokenExpiredException;
+import com.clearsolutions.usermanager.properties.ChangeFeedProperties;
+import com.clearsolutions.usermanager.repository.UserChangeRepository;
+import com.clearsolutions.usermanager.service.UserChangeService;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ActiveProfiles("integration")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.clearsolutions.usermanager.testutils.RecordingStatementInspector")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserChangeFeedTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserChangeService userChangeService;
+
+    @Autowired
+    private UserChangeRepository userChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChangeFeedProperties changeFeedProperties;
+
+    private static final String EMAIL_PREFIX = "change.feed.";
+    private static final long STREAM_WAIT_MILLIS = 5000;
+
+    @AfterEach
+    void cleanUsers() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PREFIX + "%");
+    }
+
+    @Test
+    void testFindChangesSince_ShouldReturnWritesOfUserInCommitOrder() {
+        // Prepare
+        var since = userChangeService.currentPosition();
+        var userId = createUser("ordered");
+        userService.updateFirstName(userId, "Renamed", null);
+        userService.deleteById(userId);
+
+        // Execute
+        var page = userChangeService.findChangesSince(since, 100);
+
+        // Assert
+        var changes = changesOf(page.changes(), userId);
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.UPDATED, UserChangeType.DELETED),
+                changes.stream().map(UserChange::type).toList());
+        assertEquals(List.of(0L, 1L, 1L), changes.stream().map(UserChange::version).toList());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void testFindChangesSince_WithTokenOfPage_ShouldResumeAfterIt() {
+        // Prepare
+        var since = userChangeService.currentPosition();
+        var userId = createUser("resumed");
+        var firstPage = userChangeService.findChangesSince(since, 100);
+        userService.updateLastName(userId, "Resumed", null);
+
+        // Execute
+        var nextPage = userChangeService.findChangesSince(ChangeToken.decode(firstPage.token()), 100);
+
+        // Assert
+        var changes = changesOf(nextPage.changes(), userId);
+        assertEquals(1, changes.size());
+        assertEquals(UserChangeType.UPDATED, changes.get(0).type());
+    }
+
+    @Test
+    void testFindChangesSince_WithLimit_ShouldReportMoreChanges() {
+        // Prepare
+        var since = userChangeService.currentPosition();
+        var userId = createUser("limited");
+        userService.updateFirstName(userId, "Limited", null);
+
+        // Execute
+        var page = userChangeService.findChangesSince(since, 1);
+
+        // Assert
+        assertEquals(1, page.changes().size());
+        assertEquals(page.changes().get(0).token(), page.token());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void testFindChangesSince_WithPurgedToken_ShouldThrowChangeTokenExpiredException() {
+        // Prepare
+        var since = userChangeService.currentPosition();
+        var userId = createUser("expired");
+        jdbcTemplate.update("UPDATE user_changes SET changed_at = now() - interval '2 days' WHERE user_id = ?", userId);
+        userChangeRepository.purge(24);
+
+        // Execute
+        var exception = assertThrows(ChangeTokenExpiredException.class,
+                () -> userChangeService.findChangesSince(since, 100));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("Changes after token `" + since.encode() + "`"));
+    }
+
+    @SneakyThrows
+    @Test
+    void testStreamChanges_ShouldSendChangesCommittedAfterSubscribing() {
+        // Prepare
+        var result = mvc.perform(get("/api/users/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Execute
+        var userId = createUser("streamed");
+
+        // Assert
+        var expected = "\"userId\":" + userId;
+        var deadline = System.currentTimeMillis() + STREAM_WAIT_MILLIS;
+        while (!result.getResponse().getContentAsString().contains(expected)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        var stream = result.getResponse().getContentAsString();
+        assertTrue(stream.contains("event:" + UserChangeFeed.EVENT_NAME), stream);
+        assertTrue(stream.contains(expected), stream);
+        assertTrue(stream.contains("\"type\":\"CREATED\""), stream);
+    }
+
+    @SneakyThrows
+    @Test
+    void testStreamChanges_ShouldTimeOutAfterStreamTimeout() {
+        // Execute
+        var result = mvc.perform(get("/api/users/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertEquals(changeFeedProperties.getStreamTimeoutMillis(), result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    private long createUser(String name) {
+        var user = FakeDataGenerator.userBuilder().email(EMAIL_PREFIX + name + "@test.com").build();
+        return userService.create(user).getId();
+    }
+
+    private static List<UserChange> changesOf(List<UserChange> changes, long userId) {
+        return changes.stream().filter(change -> change.userId() == userId).toList();
+    }
+}
@@ -0,0 +1,170 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.PreconditionFailedException;
+import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.clearsolutions.usermanager.constants.CacheNames.USERS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserConditionalWriteTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clearCache() {
+        cacheManager.getCache(USERS).clear();
+    }
+
+    @Test
+    void testUpdateFirstName_WithCurrentVersion_ShouldIncrementVersion() {
+        // Prepare
+        long userId = 1L;
+        var version = userService.getById(userId).version();
+
+        // Execute
+        var updatedUser = userService.updateFirstName(userId, "Versioned", version);
+
+        // Assert
+        assertEquals("Versioned", updatedUser.getFirstName());
+        assertEquals(version + 1, updatedUser.getVersion());
+        assertEquals(version + 1, userService.getById(userId).version());
+    }
+
+    @Test
+    void testUpdateFirstName_WithStaleVersion_ShouldKeepNewerWrite() {
+        // Prepare
+        long userId = 1L;
+        var version = userService.getById(userId).version();
+        userService.updateFirstName(userId, "First", version);
+
+        // Execute
+        var exception = assertThrows(PreconditionFailedException.class,
+                () -> userService.updateFirstName(userId, "Second", version));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("User with `ID: 1` has changed since version " + version));
+        var user = userService.getById(userId);
+        assertEquals("First", user.firstName());
+        assertEquals(version + 1, user.version());
+    }
+
+    @Test
+    void testUpdateFirstName_WithVersionOfMissingUser_ShouldReportNotFound() {
+        // Prepare
+        long userId = Long.MAX_VALUE;
+
+        // Execute & Assert
+        assertThrows(EntityNotFoundException.class, () -> userService.updateFirstName(userId, "Nobody", 0L));
+    }
+
+    @Test
+    void testUpdate_WithStaleVersion_ShouldFailBeforeChangingUser() {
+        // Prepare
+        long userId = 1L;
+        var version = userService.getById(userId).version();
+        userService.updateLastName(userId, "Concurrent", version);
+        var user = FakeDataGenerator.userBuilder().build();
+
+        // Execute
+        assertThrows(PreconditionFailedException.class, () -> userService.update(userId, user, version));
+
+        // Assert
+        entityManager.flush();
+        entityManager.clear();
+        var storedUser = userRepository.findById(userId).orElseThrow();
+        assertEquals("Concurrent", storedUser.getLastName());
+        assertEquals(version + 1, storedUser.getVersion());
+    }
+
+    @Test
+    void testUpdateEmail_WhenWriteCommitsAfterVersionCheck_ShouldThrowPreconditionFailedException() {
+        // Prepare
+        long userId = 1L;
+        var version = userRepository.findById(userId).orElseThrow().getVersion();
+        // Changes the row behind the loaded entity, as a write committed between the version check and the flush
+        userService.updateLastName(userId, "Concurrent", version);
+
+        // Execute
+        var exception = assertThrows(PreconditionFailedException.class,
+                () -> userService.updateEmail(userId, "lost.race@example.com", version));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("User with `ID: 1` has changed since version " + version));
+    }
+
+    @Test
+    void testUpdateEmail_WhenUnconditionalWriteLosesRace_ShouldThrowOptimisticLockingFailure() {
+        // Prepare
+        long userId = 1L;
+        userRepository.findById(userId).orElseThrow();
+        userService.updateLastName(userId, "Concurrent", null);
+
+        // Execute & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> userService.updateEmail(userId, "lost.race@example.com", null));
+    }
+
+    @SneakyThrows
+    @Test
+    void testPatch_WithCurrentVersion_ShouldIncrementVersionOnFlush() {
+        // Prepare
+        long userId = 1L;
+        var version = userService.getById(userId).version();
+        var patch = objectMapper.readTree("""
+                {"firstName": "Patched"}
+                """);
+
+        // Execute
+        var patchedUser = userService.patch(userId, patch, version);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(version + 1, patchedUser.getVersion());
+    }
+
+    @Test
+    void testCreate_ShouldStartAtInitialVersion() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().build();
+
+        // Execute
+        var createdUser = userService.create(user);
+
+        // Assert
+        assertEquals(0L, createdUser.getVersion());
+        assertEquals(0L, userService.getById(createdUser.getId()).version());
+    }
+}
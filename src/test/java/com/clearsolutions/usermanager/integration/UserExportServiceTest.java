@@ -0,0 +1,100 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.service.UserExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserExportServiceTest {
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final int TOTAL_USERS = 10;
+    private static final DateRange OPEN_RANGE = new DateRange(null, null);
+
+    @SneakyThrows
+    @Test
+    void testExportUsersByBirthDateRange_AsNdjson_ShouldWriteOneUserPerLineInKeysetOrder() {
+        // Prepare
+        var outputStream = new ByteArrayOutputStream();
+
+        // Execute
+        userExportService.exportUsersByBirthDateRange(OPEN_RANGE, FileFormat.NDJSON, outputStream);
+
+        // Assert
+        var content = outputStream.toString(StandardCharsets.UTF_8);
+        var lines = content.split("\n");
+        var users = new ArrayList<UserView>();
+        for (var line : lines) {
+            users.add(objectMapper.readValue(line, UserView.class));
+        }
+
+        var expectedOrder = Comparator.comparing(UserView::birthDate).thenComparing(UserView::id);
+        assertTrue(content.endsWith("\n"));
+        assertEquals(TOTAL_USERS, users.size());
+        assertEquals(users.stream().sorted(expectedOrder).toList(), users);
+    }
+
+    @SneakyThrows
+    @Test
+    void testExportUsersByBirthDateRange_AsCsv_ShouldWriteHeaderAndOneUserPerRow() {
+        // Prepare
+        var fromDate = LocalDate.of(1970, 1, 1);
+        var toDate = LocalDate.of(1995, 12, 31);
+        var outputStream = new ByteArrayOutputStream();
+
+        // Execute
+        userExportService.exportUsersByBirthDateRange(new DateRange(fromDate, toDate), FileFormat.CSV, outputStream);
+
+        // Assert
+        var rows = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,firstName,lastName,email,birthDate,address,phone", rows[0]);
+        assertTrue(rows.length > 1);
+        for (int i = 1; i < rows.length; i++) {
+            var birthDate = LocalDate.parse(rows[i].split(",")[4]);
+            assertFalse(birthDate.isBefore(fromDate) || birthDate.isAfter(toDate), rows[i]);
+        }
+    }
+
+    @Test
+    void testExportUsersByBirthDateRange_WhenClientDisconnects_ShouldStopAndThrowException() {
+        // Prepare
+        var brokenStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Execute & Assert
+        assertThrows(IOException.class,
+                () -> userExportService.exportUsersByBirthDateRange(OPEN_RANGE, FileFormat.NDJSON, brokenStream));
+    }
+}
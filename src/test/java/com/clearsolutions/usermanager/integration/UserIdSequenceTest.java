@@ -0,0 +1,97 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.repository.UserIdAllocator;
+import lombok.SneakyThrows;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * Migrates a schema of its own from scratch, so that the users sequence starts out as on a new database.
+ */
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserIdSequenceTest {
+
+    private static final String SCHEMA = "fresh_sequence";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void testAllocate_WhenSequenceWasNeverCalled_ShouldStartAtFirstId() {
+        // Prepare
+        migrate("7");
+        // Leaves the sequence as on a database that never had users
+        jdbcTemplate.execute("DELETE FROM " + SCHEMA + ".users");
+        jdbcTemplate.execute("ALTER SEQUENCE " + SCHEMA + ".users_id_seq RESTART");
+        migrate("latest");
+
+        // Execute
+        var ids = allocate(60);
+
+        // Assert
+        assertEquals(LongStream.rangeClosed(1, 60).boxed().toList(), ids);
+    }
+
+    @Test
+    void testAllocate_AfterMockData_ShouldContinueAfterExistingIds() {
+        // Prepare
+        migrate("latest");
+        var maxId = jdbcTemplate.queryForObject("SELECT max(id) FROM " + SCHEMA + ".users", Long.class);
+
+        // Execute
+        var ids = allocate(2);
+
+        // Assert
+        assertEquals(List.of(maxId + 1, maxId + 2), ids);
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(SCHEMA)
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    @SneakyThrows
+    private List<Long> allocate(int count) {
+        try (var connection = dataSource.getConnection()) {
+            try (var statement = connection.createStatement()) {
+                statement.execute("SET search_path TO " + SCHEMA);
+            }
+            try {
+                var schemaTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+                return new UserIdAllocator(schemaTemplate).allocate(count);
+            } finally {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("RESET search_path");
+                }
+            }
+        }
+    }
+}
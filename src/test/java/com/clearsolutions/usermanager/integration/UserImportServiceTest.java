@@ -0,0 +1,164 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.dto.ImportRejection;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.service.UserImportService;
+import com.clearsolutions.usermanager.service.UserService;
+import jakarta.transaction.Transactional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE)
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static final int TOTAL_USERS = 10;
+    private static final String UNDERAGE_MESSAGE = "User must be at least 18 years old";
+
+    @SneakyThrows
+    @Test
+    void testImportUsers_FromCsv_ShouldImportValidRowsAndReportTheRest() {
+        // Prepare
+        var existingEmail = userService.getById(1L).email();
+        var csv = """
+                firstName,lastName,email,birthDate,address,phone
+                Anna,Smith,import.anna@example.com,1990-01-15,"12 Main St, Springfield",+380501112233
+                Bob,Young,import.bob@example.com,2020-01-01,,
+                Carl,Brown,import.carl@example.com,15.01.1990,,
+                Dana,White,%s,1985-05-05,,
+                Eve,Black,import.anna@example.com,1991-02-02,,
+                ,Green,not-an-email,1980-03-03,,
+                """.formatted(existingEmail);
+
+        // Execute
+        var report = userImportService.importUsers(FileFormat.CSV, toStream(csv));
+
+        // Assert
+        assertEquals(1, report.imported());
+        assertEquals(5, report.rejected());
+        assertEquals(List.of(
+                new ImportRejection(2, UNDERAGE_MESSAGE),
+                new ImportRejection(3, INVALID_BIRTH_DATE_FORMAT),
+                new ImportRejection(4, EMAIL_ALREADY_EXISTS),
+                new ImportRejection(5, EMAIL_ALREADY_EXISTS),
+                new ImportRejection(6, FIRST_NAME_REQUIRED + ", " + INVALID_EMAIL_FORMAT)), report.rejections());
+
+        var imported = findUserByEmail("import.anna@example.com");
+        assertEquals("Anna", imported.getFirstName());
+        assertEquals("12 Main St, Springfield", imported.getAddress());
+        assertEquals("+380501112233", imported.getPhone());
+        assertEquals(TOTAL_USERS + 1, userRepository.count());
+    }
+
+    @SneakyThrows
+    @Test
+    void testImportUsers_FromNdjson_ShouldNumberRowsByLine() {
+        // Prepare
+        var ndjson = """
+                {"firstName":"Anna","lastName":"Smith","email":"import.anna@example.com","birthDate":"1990-01-15"}
+
+                {"firstName":"Bob",
+                {"firstName":"Carl","lastName":"Brown","email":"import.carl@example.com","birthDate":"1980-03-03","phone":"+380501112233"}
+                """;
+
+        // Execute
+        var report = userImportService.importUsers(FileFormat.NDJSON, toStream(ndjson));
+
+        // Assert
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new ImportRejection(3, MALFORMED_JSON_ROW)), report.rejections());
+        assertEquals("+380501112233", findUserByEmail("import.carl@example.com").getPhone());
+    }
+
+    @SneakyThrows
+    @Test
+    void testImportUsers_WithValueLongerThanColumn_ShouldRejectRow() {
+        // Prepare
+        var ndjson = """
+                {"firstName":"Anna","lastName":"Smith","email":"import.anna@example.com","birthDate":"1990-01-15","address":"%s"}
+                {"firstName":"Carl","lastName":"Brown","email":"import.carl@example.com","birthDate":"1980-03-03"}
+                """.formatted("a".repeat(User.MAX_TEXT_LENGTH + 1));
+
+        // Execute
+        var report = userImportService.importUsers(FileFormat.NDJSON, toStream(ndjson));
+
+        // Assert
+        assertEquals(1, report.imported());
+        assertEquals(List.of(new ImportRejection(1, ADDRESS_TOO_LONG)), report.rejections());
+        assertEquals(TOTAL_USERS + 1, userRepository.count());
+    }
+
+    @SneakyThrows
+    @Test
+    void testImportUsers_WithSeveralIdBlocks_ShouldAssignDistinctIds() {
+        // Prepare
+        var count = 137;
+        var ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"firstName\":\"First\",\"lastName\":\"Last\",\"email\":\"import.user")
+                    .append(i)
+                    .append("@example.com\",\"birthDate\":\"1990-01-01\"}\n");
+        }
+
+        // Execute
+        var report = userImportService.importUsers(FileFormat.NDJSON, toStream(ndjson.toString()));
+
+        // Assert
+        var ids = new HashSet<Long>();
+        userRepository.findAll().forEach(user -> ids.add(user.getId()));
+        assertEquals(count, report.imported());
+        assertEquals(0, report.rejected());
+        assertEquals(TOTAL_USERS + count, ids.size());
+    }
+
+    @Test
+    void testImportUsers_WithMalformedCsv_ShouldThrowException() {
+        // Prepare
+        var csv = """
+                firstName,lastName,email,birthDate
+                Anna,Smith,import.anna@example.com,1990-01-15
+                "Bob,Young,import.bob@example.com,1990-01-15
+                """;
+
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> userImportService.importUsers(FileFormat.CSV, toStream(csv)));
+    }
+
+    private User findUserByEmail(String email) {
+        return userRepository.findAll().stream()
+                .filter(user -> email.equals(user.getEmail()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ByteArrayInputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.repository.UserViewBatchLoader;
+import com.clearsolutions.usermanager.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties = {
+        "spring.cache.type=none",
+        "app.lookupBatching.enabled=true",
+        "app.lookupBatching.maxWaitMicros=200000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserLookupBatchingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final int TOTAL_USERS = 10;
+
+    @Test
+    void testGetById_WhenCalledConcurrently_ShouldReadUsersInSharedBatches() throws Exception {
+        // Prepare
+        var batchSizes = meterRegistry.get(UserViewBatchLoader.BATCH_SIZE_METRIC).summary();
+        var batchesBefore = batchSizes.count();
+        var ready = new CountDownLatch(TOTAL_USERS);
+        var tasks = new ArrayList<Callable<UserView>>();
+        LongStream.rangeClosed(1, TOTAL_USERS).forEach(id -> tasks.add(() -> {
+            ready.countDown();
+            ready.await();
+            return userService.getById(id);
+        }));
+
+        // Execute
+        var executor = Executors.newFixedThreadPool(TOTAL_USERS);
+        var users = new ArrayList<UserView>();
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                users.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        for (int i = 0; i < TOTAL_USERS; i++) {
+            assertEquals(i + 1L, users.get(i).id());
+        }
+        var batches = batchSizes.count() - batchesBefore;
+        assertTrue(batches < TOTAL_USERS, TOTAL_USERS + " lookups took " + batches + " queries");
+    }
+
+    @Test
+    void testGetById_WhenUserIsMissing_ShouldThrowEntityNotFoundException() {
+        // Execute & Assert
+        assertThrows(EntityNotFoundException.class, () -> userService.getById(999_999L));
+    }
+}
@@ -0,0 +1,90 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.service.UserService;
+import com.clearsolutions.usermanager.testutils.RecordingStatementInspector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.clearsolutions.usermanager.testutils.RecordingStatementInspector")
+@Transactional
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserPatchTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SneakyThrows
+    @Test
+    void testPatch_ShouldUpdateOnlyThePatchedColumns() {
+        // Prepare
+        long userId = 1L;
+        var original = userService.getById(userId);
+        var patch = objectMapper.readTree("""
+                {"firstName": "Patched", "address": null}
+                """);
+
+        // Execute
+        RecordingStatementInspector.clear();
+        userService.patch(userId, patch, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        var updates = RecordingStatementInspector.getStatements().stream()
+                .filter(sql -> sql.startsWith("update"))
+                .toList();
+        assertEquals(1, updates.size(), updates.toString());
+        var update = updates.get(0);
+        assertTrue(update.contains("first_name"), update);
+        assertTrue(update.contains("address"), update);
+        assertFalse(update.contains("last_name"), update);
+        assertFalse(update.contains("email"), update);
+
+        var patched = userService.getById(userId);
+        assertEquals("Patched", patched.firstName());
+        assertNull(patched.address());
+        assertEquals(original.lastName(), patched.lastName());
+        assertEquals(original.email(), patched.email());
+    }
+
+    @SneakyThrows
+    @Test
+    void testPatch_WithInvalidValues_ShouldReportEveryViolationAndKeepUser() {
+        // Prepare
+        long userId = 1L;
+        var original = userService.getById(userId);
+        var patch = objectMapper.readTree("""
+                {"lastName": " ", "birthDate": "%s"}
+                """.formatted(LocalDate.now().minusYears(10)));
+
+        // Execute
+        var exception = assertThrows(ValidationException.class, () -> userService.patch(userId, patch, null));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("Last name is required, User must be at least 18 years old"),
+                exception.getMessage());
+        assertEquals(original, userService.getById(userId));
+    }
+}
@@ -0,0 +1,88 @@
+package com.clearsolutions.usermanager.integration;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@ActiveProfiles("integration")
+@SpringBootTest(webEnvironment = NONE, properties = "spring.cache.type=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserRangeCoalescingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void testFindUsersByBirthDateRange_WhenCalledConcurrently_ShouldQueryOnce() throws Exception {
+        // Prepare
+        var dateRange = new DateRange(LocalDate.of(1900, 1, 1), LocalDate.of(2000, 1, 1));
+        var pageable = PageRequest.of(0, 5);
+        var slowPage = userService.findUsersByBirthDateRange(dateRange, pageable);
+        doAnswer(invocation -> {
+            Thread.sleep(500);
+            return slowPage;
+        }).when(userRepository).findUserByBirthDateBetween(any(), any(), any(Pageable.class));
+        clearInvocations(userRepository);
+        var shared = meterRegistry.get("users.queries.coalesced").tag("result", "shared").counter();
+        var sharedBefore = shared.count();
+        var ready = new CountDownLatch(CALLERS);
+        var tasks = new ArrayList<Callable<Page<UserView>>>();
+        for (int i = 0; i < CALLERS; i++) {
+            tasks.add(() -> {
+                ready.countDown();
+                ready.await();
+                return userService.findUsersByBirthDateRange(dateRange, pageable);
+            });
+        }
+
+        // Execute
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        var pages = new ArrayList<Page<UserView>>();
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                pages.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertFalse(slowPage.getContent().isEmpty());
+        pages.forEach(page -> assertSame(slowPage, page));
+        verify(userRepository, times(1)).findUserByBirthDateBetween(any(), any(), any(Pageable.class));
+        assertEquals(CALLERS - 1, shared.count() - sharedBefore);
+    }
+}
@@ -1,8 +1,12 @@
 package com.clearsolutions.usermanager.integration;
 
 import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserView;
 import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
+import com.clearsolutions.usermanager.model.User;
 import com.clearsolutions.usermanager.service.UserService;
 import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
 import jakarta.transaction.Transactional;
@@ -13,9 +17,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
@@ -29,6 +41,9 @@ class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final int TOTAL_USERS = 10;
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int DEFAULT_PAGE_NUMBER = 0;
@@ -50,6 +65,127 @@ class UserServiceTest {
         assertEquals(usersPage.getContent().size(), TOTAL_USERS);
     }
 
+    @Test
+    void testGetAllById_ShouldReturnFoundUsersAndMissingIds() {
+        // Execute
+        var result = userService.getAllById(List.of(2L, 999_999L, 1L), UserFields.ALL);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.users().stream().map(UserView::id).toList());
+        assertEquals(List.of(999_999L), result.missing());
+    }
+
+    @Test
+    void testGetAllByEmail_ShouldReturnFoundUsersAndMissingEmails() {
+        // Prepare
+        var email = jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = 1", String.class);
+
+        // Execute
+        var result = userService.getAllByEmail(List.of("missing@example.com", email), UserFields.ALL);
+
+        // Assert
+        assertEquals(1, result.users().size());
+        assertEquals(1L, result.users().get(0).id());
+        assertEquals(List.of("missing@example.com"), result.missing());
+    }
+
+    @Test
+    void testFindUsersByBirthDateRangeWithFields_ShouldReadOnlyRequestedFields() {
+        // Prepare
+        var dateRange = new DateRange(LocalDate.of(1900, 1, 1), null);
+        var pageable = PageRequest.of(0, 4, Sort.by("lastName").descending());
+
+        // Execute
+        var usersPage = userService.findUsersByBirthDateRange(dateRange, pageable, UserFields.valueOf("id,lastName"));
+
+        // Assert
+        var fullPage = userService.findUsersByBirthDateRange(dateRange, pageable);
+        assertEquals(fullPage.getTotalElements(), usersPage.getTotalElements());
+        assertEquals(fullPage.getContent().stream().map(UserView::lastName).toList(),
+                usersPage.getContent().stream().map(UserView::lastName).toList());
+        usersPage.forEach(user -> {
+            assertNotNull(user.id());
+            assertNull(user.firstName());
+            assertNull(user.email());
+        });
+    }
+
+    @Test
+    void testFindUsersByBirthDateRangeWithFields_WhenSortedByUnknownProperty_ShouldThrowValidationException() {
+        // Prepare
+        var pageable = PageRequest.of(0, 4, Sort.by("password"));
+
+        // Execute & Assert
+        assertThrows(ValidationException.class, () -> userService.findUsersByBirthDateRange(
+                new DateRange(null, null), pageable, UserFields.ALL));
+    }
+
+    @Test
+    void testFindUsersSliceByBirthDateRange() {
+        // Prepare
+        var dateRange = new DateRange(null, null);
+        var pageSize = 4;
+
+        // Execute
+        var usersSlice = userService.findUsersSliceByBirthDateRange(dateRange, PageRequest.of(0, pageSize));
+
+        // Assert
+        assertEquals(pageSize, usersSlice.getNumberOfElements());
+        assertTrue(usersSlice.hasNext());
+    }
+
+    @Test
+    void testEstimateUsersByBirthDateRange_ShouldMatchAnalyzedTable() {
+        // Prepare
+        jdbcTemplate.execute("ANALYZE users");
+
+        // Execute
+        var estimate = userService.estimateUsersByBirthDateRange(new DateRange(null, null));
+
+        // Assert
+        assertEquals(TOTAL_USERS, estimate);
+    }
+
+    @Test
+    void testScrollUsersByBirthDateRange_ShouldVisitEveryUserOnceInKeysetOrder() {
+        // Prepare
+        var pageSize = 3;
+        var dateRange = new DateRange(null, null);
+        var visited = new ArrayList<UserView>();
+
+        // Execute
+        var page = userService.scrollUsersByBirthDateRange(dateRange, "", pageSize);
+        visited.addAll(page.content());
+        while (page.hasNext()) {
+            page = userService.scrollUsersByBirthDateRange(dateRange, page.nextCursor(), pageSize);
+            visited.addAll(page.content());
+        }
+
+        // Assert
+        var expectedOrder = Comparator.comparing(UserView::birthDate).thenComparing(UserView::id);
+        assertEquals(TOTAL_USERS, visited.size());
+        assertEquals(visited.stream().sorted(expectedOrder).toList(), visited);
+    }
+
+    @Test
+    void testScrollUsersByBirthDateRange_WithBounds_ShouldStayWithinRange() {
+        // Prepare
+        var fromDate = LocalDate.of(1970, 1, 1);
+        var toDate = LocalDate.of(1995, 12, 31);
+        var dateRange = new DateRange(fromDate, toDate);
+
+        // Execute
+        var page = userService.scrollUsersByBirthDateRange(dateRange, "", DEFAULT_PAGE_SIZE);
+
+        // Assert
+        assertFalse(page.hasNext());
+        assertEquals(
+                userService.findUsersByBirthDateRange(dateRange, DEFAULT_PAGE_REQUEST).getTotalElements(),
+                page.content().size());
+        assertTrue(page.content().stream()
+                .allMatch(user -> !user.birthDate().isBefore(fromDate) && !user.birthDate().isAfter(toDate)));
+    }
+
     @Test
     void testFindById() {
         // Prepare
@@ -60,7 +196,7 @@ class UserServiceTest {
 
         // Assert
         assertNotNull(user);
-        assertEquals(user.getId(), userId);
+        assertEquals(user.id(), userId);
     }
 
     @Test
@@ -96,13 +232,55 @@ class UserServiceTest {
         // Prepare
         var existingUser = userService.getById(1L);
         var user = FakeDataGenerator.userBuilder()
-                .email(existingUser.getEmail())
+                .email(existingUser.email())
                 .build();
 
         // Execute & Assert
         assertThrows(EntityAlreadyExistsException.class, () -> userService.create(user));
     }
 
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void testCreate_WhenSameEmailIsCreatedConcurrently_ShouldCreateOnlyOneUser() throws Exception {
+        // Prepare
+        var email = "concurrent.signup@example.com";
+        var attempts = 8;
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(attempts);
+
+        try {
+            var results = new ArrayList<Future<User>>();
+            for (int i = 0; i < attempts; i++) {
+                var user = FakeDataGenerator.userBuilder().email(email).build();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userService.create(user);
+                }));
+            }
+
+            // Execute
+            start.countDown();
+            var created = 0;
+            var rejected = 0;
+            for (var result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(EntityAlreadyExistsException.class, e.getCause());
+                    rejected++;
+                }
+            }
+
+            // Assert
+            assertEquals(1, created);
+            assertEquals(attempts - 1, rejected);
+        } finally {
+            executor.shutdown();
+            jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+        }
+    }
+
     @Test
     void testUpdate() {
         // Prepare
@@ -110,7 +288,7 @@ class UserServiceTest {
         var user = FakeDataGenerator.userBuilder().build();
 
         // Execute
-        var updatedUser = userService.update(userId, user);
+        var updatedUser = userService.update(userId, user, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -129,11 +307,11 @@ class UserServiceTest {
         long userId = 1L;
         var existingUser = userService.getById(2L);
         var user = FakeDataGenerator.userBuilder()
-                .email(existingUser.getEmail())
+                .email(existingUser.email())
                 .build();
 
         // Execute & Assert
-        assertThrows(EntityAlreadyExistsException.class, () -> userService.update(userId, user));
+        assertThrows(EntityAlreadyExistsException.class, () -> userService.update(userId, user, null));
     }
 
     @Test
@@ -143,7 +321,7 @@ class UserServiceTest {
         var user = FakeDataGenerator.userBuilder().build();
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.update(userId, user));
+        assertThrows(EntityNotFoundException.class, () -> userService.update(userId, user, null));
     }
 
     @Test
@@ -174,7 +352,7 @@ class UserServiceTest {
         var newFirstName = "John";
 
         // Execute
-        var updatedUser = userService.updateFirstName(userId, newFirstName);
+        var updatedUser = userService.updateFirstName(userId, newFirstName, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -188,7 +366,7 @@ class UserServiceTest {
         var newFirstName = "John";
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.updateFirstName(userId, newFirstName));
+        assertThrows(EntityNotFoundException.class, () -> userService.updateFirstName(userId, newFirstName, null));
     }
 
     @Test
@@ -198,7 +376,7 @@ class UserServiceTest {
         var newLastName = "Doe";
 
         // Execute
-        var updatedUser = userService.updateLastName(userId, newLastName);
+        var updatedUser = userService.updateLastName(userId, newLastName, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -212,7 +390,7 @@ class UserServiceTest {
         var newLastName = "Doe";
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.updateLastName(userId, newLastName));
+        assertThrows(EntityNotFoundException.class, () -> userService.updateLastName(userId, newLastName, null));
     }
 
     @Test
@@ -222,7 +400,7 @@ class UserServiceTest {
         var newAddress = "Liberty Street";
 
         // Execute
-        var updatedUser = userService.updateAddress(userId, newAddress);
+        var updatedUser = userService.updateAddress(userId, newAddress, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -236,7 +414,7 @@ class UserServiceTest {
         var newAddress = "Liberty Street";
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.updateAddress(userId, newAddress));
+        assertThrows(EntityNotFoundException.class, () -> userService.updateAddress(userId, newAddress, null));
     }
 
     @Test
@@ -246,7 +424,7 @@ class UserServiceTest {
         var newPhone = "111-222-333";
 
         // Execute
-        var updatedUser = userService.updatePhone(userId, newPhone);
+        var updatedUser = userService.updatePhone(userId, newPhone, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -260,7 +438,7 @@ class UserServiceTest {
         var newPhone = "111-222-333";
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.updatePhone(userId, newPhone));
+        assertThrows(EntityNotFoundException.class, () -> userService.updatePhone(userId, newPhone, null));
     }
 
     @Test
@@ -270,7 +448,7 @@ class UserServiceTest {
         var newBirthDate = LocalDate.of(1991, 1, 1);
 
         // Execute
-        var updatedUser = userService.updateBirthdate(userId, newBirthDate);
+        var updatedUser = userService.updateBirthdate(userId, newBirthDate, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -284,7 +462,7 @@ class UserServiceTest {
         var newBirthDate = LocalDate.of(1991, 1, 1);
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.updateBirthdate(userId, newBirthDate));
+        assertThrows(EntityNotFoundException.class, () -> userService.updateBirthdate(userId, newBirthDate, null));
     }
 
     @Test
@@ -294,7 +472,7 @@ class UserServiceTest {
         var newEmail = "test@test.com";
 
         // Execute
-        var updatedUser = userService.updateEmail(userId, newEmail);
+        var updatedUser = userService.updateEmail(userId, newEmail, null);
 
         // Assert
         assertNotNull(updatedUser);
@@ -308,16 +486,34 @@ class UserServiceTest {
         var newEmail = "test@test.com";
 
         // Execute & Assert
-        assertThrows(EntityNotFoundException.class, () -> userService.updateEmail(userId, newEmail));
+        assertThrows(EntityNotFoundException.class, () -> userService.updateEmail(userId, newEmail, null));
     }
 
     @Test
     void testUpdateEmail_WhenEmailAlreadyExists_ShouldThrowException() {
         // Prepare
         long userId = 1L;
-        var existingEmail = userService.getById(2L).getEmail();
+        var existingEmail = userService.getById(2L).email();
 
         // Execute & Assert
-        assertThrows(EntityAlreadyExistsException.class, () -> userService.updateEmail(userId, existingEmail));
+        assertThrows(EntityAlreadyExistsException.class, () -> userService.updateEmail(userId, existingEmail, null));
+    }
+
+    @Test
+    void testUpdateEmail_WhenEmailWasTakenOnAnotherInstance_ShouldThrowException() {
+        // Prepare
+        long userId = 1L;
+        var takenEmail = "taken.elsewhere@example.com";
+        // Written directly, as another instance would, so the email filter of this one never sees it
+        jdbcTemplate.update("""
+                INSERT INTO users (first_name, last_name, email, birth_date)
+                VALUES ('Taken', 'Elsewhere', ?, DATE '1990-01-01')""", takenEmail);
+
+        // Execute
+        var exception = assertThrows(EntityAlreadyExistsException.class,
+                () -> userService.updateEmail(userId, takenEmail, null));
+
+        // Assert
+        assertTrue(exception.getMessage().contains(takenEmail));
     }
 }
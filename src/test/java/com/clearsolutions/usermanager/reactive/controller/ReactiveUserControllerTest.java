@@ -0,0 +1,211 @@
+package com.clearsolutions.usermanager.reactive.controller;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
+import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.reactive.ReactiveUserManagerApplication;
+import com.clearsolutions.usermanager.reactive.service.ReactiveUserService;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static com.clearsolutions.usermanager.constants.ValidationMessages.EMAIL_REQUIRED;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles(ReactiveUserManagerApplication.PROFILE)
+@WebFluxTest(ReactiveUserController.class)
+@DisplayName("Testing ReactiveUserController")
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserService userService;
+
+    private static final String REQUEST_URI = "/api/users";
+
+    @Test
+    @DisplayName("Get User By Id: Should Return User")
+    void testGetUserById_ShouldReturnUser() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().build());
+        when(userService.getById(1L)).thenReturn(Mono.just(user));
+
+        // Execute & Assert
+        webTestClient.get().uri(REQUEST_URI + "/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserView.class).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Get User By Id: Should Return Not Found With Error Response")
+    void testGetUserById_ShouldReturnNotFound() {
+        // Prepare
+        when(userService.getById(999L)).thenReturn(Mono.error(new EntityNotFoundException("User", "ID: 999")));
+
+        // Execute & Assert
+        webTestClient.get().uri(REQUEST_URI + "/999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").value(startsWith("User with `ID: 999` was not found!"))
+                .jsonPath("$.timestamp").isNumber();
+    }
+
+    @Test
+    @DisplayName("Get User By Id: Should Return Bad Request For Non-Positive Id")
+    void testGetUserById_ShouldRejectNonPositiveId() {
+        // Execute & Assert
+        webTestClient.get().uri(REQUEST_URI + "/0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").exists();
+
+        verify(userService, never()).getById(any());
+    }
+
+    @Test
+    @DisplayName("Stream Users: Should Return Users As NDJSON")
+    void testStreamUsersByBirthDateRange_ShouldReturnNdjson() {
+        // Prepare
+        var from = LocalDate.of(1980, 1, 1);
+        var to = LocalDate.of(1990, 1, 1);
+        var users = Flux.range(0, 3).map(i -> UserView.of(FakeDataGenerator.userBuilder().build()));
+        when(userService.findUsersByBirthDateRange(new DateRange(from, to))).thenReturn(users);
+
+        // Execute & Assert
+        webTestClient.get().uri(REQUEST_URI + "?from={from}&to={to}", from, to)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserView.class).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Stream Users: Should Reject Dates Out Of Order Like The Servlet API")
+    void testStreamUsersByBirthDateRange_ShouldRejectDatesOutOfOrder() {
+        // Execute & Assert
+        webTestClient.get().uri(REQUEST_URI + "?from=2000-01-01&to=1990-01-01")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("End date must be before start date");
+
+        verify(userService, never()).findUsersByBirthDateRange(any());
+    }
+
+    @Test
+    @DisplayName("Create User: Should Return Created User")
+    void testCreateUser_ShouldReturnCreated() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().build();
+        when(userService.create(any(User.class))).thenAnswer(invocation -> {
+            User created = invocation.getArgument(0);
+            created.setId(42L);
+            return Mono.just(created);
+        });
+
+        // Execute & Assert
+        webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Create User: Should Reject Underage User Like The Servlet API")
+    void testCreateUser_ShouldRejectUnderageUser() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().birthDate(LocalDate.now().minusYears(10)).build();
+
+        // Execute & Assert
+        webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("User must be at least 18 years old");
+
+        verify(userService, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("Create User: Should Reject Missing Email")
+    void testCreateUser_ShouldRejectMissingEmail() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().email(null).build();
+
+        // Execute & Assert
+        webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo(EMAIL_REQUIRED);
+    }
+
+    @Test
+    @DisplayName("Create User: Should Return Unsupported Media Type For Plain Text")
+    void testCreateUser_ShouldRejectUnsupportedMediaType() {
+        // Execute & Assert
+        webTestClient.post().uri(REQUEST_URI)
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue("not a user")
+                .exchange()
+                .expectStatus().isEqualTo(415)
+                .expectBody().jsonPath("$.message").exists();
+    }
+
+    @Test
+    @DisplayName("Update User: Should Return Bad Request When Email Is Taken")
+    void testUpdateUser_ShouldReturnBadRequestWhenEmailTaken() {
+        // Prepare
+        var user = FakeDataGenerator.userBuilder().build();
+        when(userService.update(eq(1L), any(User.class)))
+                .thenReturn(Mono.error(new EntityAlreadyExistsException("User", "Email already exists: " + user.getEmail())));
+
+        // Execute & Assert
+        webTestClient.put().uri(REQUEST_URI + "/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(user)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(startsWith("User with 'Email already exists"));
+    }
+
+    @Test
+    @DisplayName("Delete User: Should Return No Content")
+    void testDeleteUser_ShouldReturnNoContent() {
+        // Prepare
+        when(userService.deleteById(1L)).thenReturn(Mono.empty());
+
+        // Execute & Assert
+        webTestClient.delete().uri(REQUEST_URI + "/1")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(userService).deleteById(1L);
+    }
+}
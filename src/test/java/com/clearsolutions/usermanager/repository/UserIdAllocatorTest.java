@@ -0,0 +1,56 @@
+package com.clearsolutions.usermanager.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserIdAllocatorTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UserIdAllocator userIdAllocator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        userIdAllocator = new UserIdAllocator(jdbcTemplate);
+    }
+
+    @Test
+    void testAllocate_ShouldReuseTheRestOfTheBlockBeforeQueryingAgain() {
+        // Prepare
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(60L));
+
+        // Execute
+        var first = userIdAllocator.allocate(3);
+        var second = userIdAllocator.allocate(2);
+
+        // Assert
+        assertEquals(List.of(11L, 12L, 13L), first);
+        assertEquals(List.of(14L, 15L), second);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), anyInt());
+    }
+
+    @Test
+    void testAllocate_WhenMoreThanOneBlockIsNeeded_ShouldFetchAllBlocksInOneQuery() {
+        // Prepare
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(3))).thenReturn(List.of(150L, 200L, 300L));
+
+        // Execute
+        var ids = userIdAllocator.allocate(120);
+
+        // Assert
+        var expected = LongStream.concat(LongStream.rangeClosed(101, 200), LongStream.rangeClosed(251, 270))
+                .boxed()
+                .toList();
+        assertEquals(expected, ids);
+        assertEquals(List.of(271L), userIdAllocator.allocate(1));
+    }
+}
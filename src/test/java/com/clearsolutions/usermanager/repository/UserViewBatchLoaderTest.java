@@ -0,0 +1,156 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.properties.LookupBatchingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserViewBatchLoaderTest {
+
+    private UserLookupRepository userLookupRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService callers;
+    private UserViewBatchLoader userViewBatchLoader;
+
+    @BeforeEach
+    void setUp() {
+        userLookupRepository = mock(UserLookupRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newCachedThreadPool();
+        when(userLookupRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 100).map(UserViewBatchLoaderTest::userView).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        userViewBatchLoader.destroy();
+    }
+
+    @Test
+    void testLoad_WhenCalledConcurrently_ShouldAnswerAllLookupsWithOneQuery() throws Exception {
+        // Prepare
+        userViewBatchLoader = loader(100, Duration.ofMillis(500));
+        var ids = List.of(1L, 2L, 2L, 3L, 999L);
+
+        // Execute
+        var results = loadConcurrently(ids);
+
+        // Assert
+        assertEquals(Optional.of(userView(1L)), results.get(0).get());
+        assertEquals(Optional.of(userView(2L)), results.get(1).get());
+        assertEquals(Optional.of(userView(2L)), results.get(2).get());
+        assertEquals(Optional.of(userView(3L)), results.get(3).get());
+        assertEquals(Optional.empty(), results.get(4).get());
+        verify(userLookupRepository, times(1)).findAllById(Set.of(1L, 2L, 3L, 999L));
+
+        var batchSizes = meterRegistry.get(UserViewBatchLoader.BATCH_SIZE_METRIC).summary();
+        assertEquals(1, batchSizes.count());
+        assertEquals(ids.size(), batchSizes.totalAmount());
+        assertEquals(ids.size(), meterRegistry.get(UserViewBatchLoader.WAIT_METRIC).timer().count());
+    }
+
+    @Test
+    void testLoad_WhenBatchIsFull_ShouldSendItWithoutWaiting() {
+        // Prepare
+        userViewBatchLoader = loader(2, Duration.ofMinutes(1));
+
+        // Execute
+        var results = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            var futures = loadConcurrently(List.of(1L, 2L, 3L, 4L));
+            var loaded = new ArrayList<Optional<UserView>>();
+            for (var future : futures) {
+                loaded.add(future.get());
+            }
+            return loaded;
+        });
+
+        // Assert
+        assertTrue(results.stream().allMatch(Optional::isPresent));
+        var batchSizes = meterRegistry.get(UserViewBatchLoader.BATCH_SIZE_METRIC).summary();
+        assertEquals(2, batchSizes.count());
+        assertEquals(2, batchSizes.max());
+    }
+
+    @Test
+    void testLoad_WhenQueryFails_ShouldFailEveryLookupOfTheBatch() throws InterruptedException {
+        // Prepare
+        userViewBatchLoader = loader(100, Duration.ofMillis(200));
+        var failure = new DataAccessResourceFailureException("Connection refused");
+        doThrow(failure).when(userLookupRepository).findAllById(any());
+
+        // Execute
+        var results = loadConcurrently(List.of(1L, 2L));
+
+        // Assert
+        for (var result : results) {
+            var thrown = assertThrows(Exception.class, result::get);
+            assertSame(failure, thrown.getCause());
+        }
+    }
+
+    @Test
+    void testLoad_AfterDestroy_ShouldFailInsteadOfWaiting() throws InterruptedException {
+        // Prepare
+        userViewBatchLoader = loader(100, Duration.ofMillis(200));
+        userViewBatchLoader.destroy();
+
+        // Execute & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class, () -> userViewBatchLoader.load(1L)));
+        verifyNoInteractions(userLookupRepository);
+    }
+
+    private UserViewBatchLoader loader(int maxBatchSize, Duration maxWait) {
+        var properties = mock(LookupBatchingProperties.class);
+        when(properties.getMaxBatchSize()).thenReturn(maxBatchSize);
+        when(properties.getMaxWaitMicros()).thenReturn(maxWait.toNanos() / 1000);
+        when(properties.getConcurrentBatches()).thenReturn(2);
+        return new UserViewBatchLoader(userLookupRepository, properties, meterRegistry);
+    }
+
+    /**
+     * Starts a lookup for every ID on its own thread, releasing them all at once.
+     */
+    private List<Future<Optional<UserView>>> loadConcurrently(List<Long> ids) throws InterruptedException {
+        var ready = new CountDownLatch(ids.size());
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Optional<UserView>>>();
+        for (var id : ids) {
+            futures.add(callers.submit(() -> {
+                ready.countDown();
+                start.await();
+                return userViewBatchLoader.load(id);
+            }));
+        }
+        ready.await();
+        start.countDown();
+        return futures;
+    }
+
+    private static UserView userView(Long id) {
+        return new UserView(id, "First" + id, "Last" + id, "user" + id + "@example.com",
+                LocalDate.of(1990, 1, 1), null, null, 0L);
+    }
+}
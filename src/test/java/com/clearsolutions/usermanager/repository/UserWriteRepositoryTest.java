@@ -0,0 +1,44 @@
+package com.clearsolutions.usermanager.repository;
+
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserWriteRepositoryTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInsertAllIfEmailAbsent_WhenDriverReportsNoInfo_ShouldCheckWhichUsersWereInserted() {
+        // Prepare
+        var jdbcTemplate = mock(JdbcTemplate.class);
+        var userIdAllocator = mock(UserIdAllocator.class);
+        when(userIdAllocator.allocate(3)).thenReturn(List.of(11L, 12L, 13L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, 0}});
+        // Only the first user was inserted; the second one's email was taken
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of(11L));
+        var userWriteRepository = new UserWriteRepository(jdbcTemplate, userIdAllocator);
+        var users = List.of(
+                FakeDataGenerator.userBuilder().build(),
+                FakeDataGenerator.userBuilder().build(),
+                FakeDataGenerator.userBuilder().build());
+
+        // Execute
+        var inserted = userWriteRepository.insertAllIfEmailAbsent(users, 50);
+
+        // Assert
+        assertArrayEquals(new boolean[]{true, false, false}, inserted);
+    }
+}
@@ -0,0 +1,49 @@
+package com.clearsolutions.usermanager.service.impl;
+
+import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.dto.enums.FileFormat;
+import com.clearsolutions.usermanager.properties.ExportProperties;
+import com.clearsolutions.usermanager.repository.UserExportRepository;
+import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserExportServiceImplTest {
+
+    @SneakyThrows
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    @SuppressWarnings("unchecked")
+    void testExportUsersByBirthDateRange_WithoutFlushInterval_ShouldWriteEveryUser(int flushEvery) {
+        // Prepare
+        var userExportRepository = mock(UserExportRepository.class);
+        doAnswer(invocation -> {
+            Consumer<UserView> consumer = invocation.getArgument(2);
+            consumer.accept(UserView.of(FakeDataGenerator.userBuilder().id(1L).build()));
+            consumer.accept(UserView.of(FakeDataGenerator.userBuilder().id(2L).build()));
+            return null;
+        }).when(userExportRepository).forEachByBirthDateBetween(any(), any(), any(Consumer.class));
+        var exportProperties = mock(ExportProperties.class);
+        when(exportProperties.getFlushEvery()).thenReturn(flushEvery);
+        var userExportService = new UserExportServiceImpl(userExportRepository, exportProperties,
+                new ObjectMapper().findAndRegisterModules());
+        var outputStream = new ByteArrayOutputStream();
+
+        // Execute
+        userExportService.exportUsersByBirthDateRange(new DateRange(null, null), FileFormat.NDJSON, outputStream);
+
+        // Assert
+        assertEquals(2, outputStream.toString(StandardCharsets.UTF_8).lines().count());
+    }
+}
@@ -1,27 +1,65 @@
 package com.clearsolutions.usermanager.service.impl;
 
+import com.clearsolutions.usermanager.cache.EmailBloomFilter;
+import com.clearsolutions.usermanager.cache.InFlightQueries;
 import com.clearsolutions.usermanager.dto.DateRange;
+import com.clearsolutions.usermanager.dto.UserCursor;
+import com.clearsolutions.usermanager.dto.UserFields;
+import com.clearsolutions.usermanager.dto.UserView;
+import com.clearsolutions.usermanager.dto.enums.UserChangeType;
 import com.clearsolutions.usermanager.exceptions.custom.EntityAlreadyExistsException;
 import com.clearsolutions.usermanager.exceptions.custom.EntityNotFoundException;
+import com.clearsolutions.usermanager.exceptions.custom.PreconditionFailedException;
+import com.clearsolutions.usermanager.exceptions.custom.ValidationException;
 import com.clearsolutions.usermanager.model.User;
+import com.clearsolutions.usermanager.properties.MultiGetProperties;
+import com.clearsolutions.usermanager.repository.UserChangeRepository;
+import com.clearsolutions.usermanager.repository.UserLookupRepository;
 import com.clearsolutions.usermanager.repository.UserRepository;
+import com.clearsolutions.usermanager.repository.UserStatisticsRepository;
+import com.clearsolutions.usermanager.repository.UserWriteRepository;
 import com.clearsolutions.usermanager.service.UserService;
 import com.clearsolutions.usermanager.testutils.FakeDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.SneakyThrows;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import static com.clearsolutions.usermanager.constants.ValidationMessages.INVALID_CURSOR;
+import static com.clearsolutions.usermanager.constants.ValidationMessages.MULTI_GET_LIMIT_EXCEEDED;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
 
@@ -34,20 +72,54 @@ class UserServiceImplTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private UserStatisticsRepository userStatisticsRepository;
+
+    @MockBean
+    private UserWriteRepository userWriteRepository;
+
+    @MockBean
+    private EmailBloomFilter emailBloomFilter;
+
+    @MockBean
+    private Validator validator;
+
+    @MockBean
+    private InFlightQueries inFlightQueries;
+
+    @MockBean
+    private UserLookupRepository userLookupRepository;
+
+    @MockBean
+    private MultiGetProperties multiGetProperties;
+
+    @MockBean
+    private UserChangeRepository userChangeRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     public static final String USER_WITH_ID_NOT_FOUND = "User with ID: %d was not found!";
     private static final int DEFAULT_PAGE_SIZE = 20;
     private static final int DEFAULT_PAGE_NUMBER = 0;
+    private static final int MULTI_GET_MAX_ITEMS = 3;
 
     private static final Pageable DEFAULT_PAGE_REQUEST
             = PageRequest.of(DEFAULT_PAGE_NUMBER, DEFAULT_PAGE_SIZE, Sort.unsorted());
 
+    @BeforeEach
+    void setUp() {
+        when(emailBloomFilter.mightContain(anyString())).thenReturn(true);
+        when(inFlightQueries.execute(any(), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(multiGetProperties.getMaxItems()).thenReturn(MULTI_GET_MAX_ITEMS);
+    }
+
     @Test
     void testGetExistingUserById_ShouldNotThrowAnyException() {
         // Prepare
         long id = 1L;
-        var user = FakeDataGenerator.userBuilder().build();
+        var user = UserView.of(FakeDataGenerator.userBuilder().build());
 
-        when(userRepository.findById(id)).thenReturn(Optional.ofNullable(user));
+        when(userRepository.findViewById(id)).thenReturn(Optional.ofNullable(user));
 
         // Execute & Verify
         assertDoesNotThrow(() -> userService.getById(id));
@@ -59,19 +131,69 @@ class UserServiceImplTest {
         long userId = 1L;
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findViewById(userId)).thenReturn(Optional.empty());
 
         // Execute & Verify
         assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.getById(userId));
     }
 
+    @Test
+    void testGetAllById_ShouldReturnUsersInRequestOrderAndMissingIds() {
+        // Prepare
+        var first = UserView.of(FakeDataGenerator.userBuilder().id(1L).build());
+        var second = UserView.of(FakeDataGenerator.userBuilder().id(2L).build());
+        when(userLookupRepository.findAllById(Set.of(2L, 3L, 1L), UserFields.ALL)).thenReturn(List.of(first, second));
+
+        // Execute
+        var result = userService.getAllById(List.of(2L, 3L, 2L, 1L), UserFields.ALL);
+
+        // Assert
+        assertEquals(List.of(second, first), result.users());
+        assertEquals(List.of(3L), result.missing());
+    }
+
+    @Test
+    void testGetAllByEmail_ShouldReturnUsersInRequestOrderAndMissingEmails() {
+        // Prepare
+        var user = UserView.of(FakeDataGenerator.userBuilder().id(1L).email("found@example.com").build());
+        when(userLookupRepository.findAllByEmail(Set.of("missing@example.com", "found@example.com"), UserFields.ALL))
+                .thenReturn(List.of(user));
+
+        // Execute
+        var result = userService.getAllByEmail(List.of("missing@example.com", "found@example.com"), UserFields.ALL);
+
+        // Assert
+        assertEquals(List.of(user), result.users());
+        assertEquals(List.of("missing@example.com"), result.missing());
+    }
+
+    @Test
+    void testGetAllById_WithRepeatedIdsWithinLimit_ShouldNotThrowAnyException() {
+        // Prepare
+        when(userLookupRepository.findAllById(any(), any())).thenReturn(List.of());
+
+        // Execute & Verify
+        assertDoesNotThrow(() -> userService.getAllById(List.of(1L, 2L, 3L, 3L, 1L), UserFields.ALL));
+    }
+
+    @Test
+    void testGetAllById_WithTooManyIds_ShouldThrowValidationException() {
+        // Execute
+        var exception = assertThrows(ValidationException.class,
+                () -> userService.getAllById(List.of(1L, 2L, 3L, 4L), UserFields.ALL));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith(String.format(MULTI_GET_LIMIT_EXCEEDED, MULTI_GET_MAX_ITEMS)));
+        verify(userLookupRepository, never()).findAllById(any(), any());
+    }
+
     @Test
     void testFindUsersByBirthDateRange_ShouldReturnListOfUsers() {
         // Prepare
         var from = LocalDate.of(1990, 1, 1);
         var to = LocalDate.of(2000, 1, 1);
         var dateRange = new DateRange(from, to);
-        var users = FakeDataGenerator.getUsers();
+        var users = FakeDataGenerator.getUserViews();
         var expectedUsersPage = new PageImpl<>(users, DEFAULT_PAGE_REQUEST, users.size());
 
         when(userRepository.findUserByBirthDateBetween(from, to, DEFAULT_PAGE_REQUEST)).thenReturn(expectedUsersPage);
@@ -83,15 +205,211 @@ class UserServiceImplTest {
         assertEquals(expectedUsersPage.getContent().size(), actualUsersPage.getContent().size());
     }
 
+    @Test
+    void testFindUsersByBirthDateRange_WithOnlyFrom_ShouldUseLowerBoundQuery() {
+        // Prepare
+        var from = LocalDate.of(1990, 1, 1);
+        var users = FakeDataGenerator.getUserViews();
+        var expectedUsersPage = new PageImpl<>(users, DEFAULT_PAGE_REQUEST, users.size());
+
+        when(userRepository.findUserByBirthDateGreaterThanEqual(from, DEFAULT_PAGE_REQUEST)).thenReturn(expectedUsersPage);
+
+        // Act
+        var actualUsersPage = userService.findUsersByBirthDateRange(new DateRange(from, null), DEFAULT_PAGE_REQUEST);
+
+        // Assert
+        assertEquals(expectedUsersPage.getContent().size(), actualUsersPage.getContent().size());
+        verify(userRepository, never()).findUserByBirthDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testFindUsersByBirthDateRange_WithOnlyTo_ShouldUseUpperBoundQuery() {
+        // Prepare
+        var to = LocalDate.of(2000, 1, 1);
+        var users = FakeDataGenerator.getUserViews();
+        var expectedUsersPage = new PageImpl<>(users, DEFAULT_PAGE_REQUEST, users.size());
+
+        when(userRepository.findUserByBirthDateLessThanEqual(to, DEFAULT_PAGE_REQUEST)).thenReturn(expectedUsersPage);
+
+        // Act
+        var actualUsersPage = userService.findUsersByBirthDateRange(new DateRange(null, to), DEFAULT_PAGE_REQUEST);
+
+        // Assert
+        assertEquals(expectedUsersPage.getContent().size(), actualUsersPage.getContent().size());
+        verify(userRepository, never()).findUserByBirthDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testFindUsersByBirthDateRange_WithoutBounds_ShouldNotFilter() {
+        // Prepare
+        var users = FakeDataGenerator.getUserViews();
+        var expectedUsersPage = new PageImpl<>(users, DEFAULT_PAGE_REQUEST, users.size());
+
+        when(userRepository.findPageBy(DEFAULT_PAGE_REQUEST)).thenReturn(expectedUsersPage);
+
+        // Act
+        var actualUsersPage = userService.findUsersByBirthDateRange(new DateRange(null, null), DEFAULT_PAGE_REQUEST);
+
+        // Assert
+        assertEquals(expectedUsersPage.getContent().size(), actualUsersPage.getContent().size());
+        verify(userRepository, never()).findUserByBirthDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testFindUsersSliceByBirthDateRange_ShouldNotRunCountQuery() {
+        // Prepare
+        var from = LocalDate.of(1990, 1, 1);
+        var to = LocalDate.of(2000, 1, 1);
+        var users = FakeDataGenerator.getUserViews();
+        var expectedSlice = new SliceImpl<>(users, DEFAULT_PAGE_REQUEST, true);
+
+        when(userRepository.findSliceByBirthDateBetween(from, to, DEFAULT_PAGE_REQUEST)).thenReturn(expectedSlice);
+
+        // Act
+        var actualSlice = userService.findUsersSliceByBirthDateRange(new DateRange(from, to), DEFAULT_PAGE_REQUEST);
+
+        // Assert
+        assertEquals(users.size(), actualSlice.getContent().size());
+        assertTrue(actualSlice.hasNext());
+        verify(userRepository, never()).findUserByBirthDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void testEstimateUsersByBirthDateRange_ShouldUsePlannerStatistics() {
+        // Prepare
+        var from = LocalDate.of(1990, 1, 1);
+        var estimate = 1_234L;
+
+        when(userStatisticsRepository.estimateCountByBirthDateBetween(from, null)).thenReturn(estimate);
+
+        // Act
+        var actualEstimate = userService.estimateUsersByBirthDateRange(new DateRange(from, null));
+
+        // Assert
+        assertEquals(estimate, actualEstimate);
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void testScrollUsersByBirthDateRange_WhenMoreUsersFollow_ShouldReturnNextCursor() {
+        // Prepare
+        var size = 3;
+        var from = LocalDate.of(1990, 1, 1);
+        var users = new ArrayList<UserView>();
+        for (long id = 1; id <= size + 1; id++) {
+            var user = FakeDataGenerator.userBuilder().build();
+            user.setId(id);
+            users.add(UserView.of(user));
+        }
+
+        when(userRepository.findKeysetPageAfter(from, 0L, Limit.of(size + 1))).thenReturn(users);
+
+        // Act
+        var page = userService.scrollUsersByBirthDateRange(new DateRange(from, null), "", size);
+
+        // Assert
+        assertEquals(size, page.content().size());
+        assertTrue(page.hasNext());
+        assertEquals(UserCursor.of(users.get(size - 1)), UserCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testScrollUsersByBirthDateRange_WithCursor_ShouldSeekAfterCursor() {
+        // Prepare
+        var size = 3;
+        var to = LocalDate.of(2000, 1, 1);
+        var cursor = new UserCursor(LocalDate.of(1995, 6, 1), 7L);
+
+        when(userRepository.findKeysetPageAfterUpTo(cursor.birthDate(), cursor.id(), to, Limit.of(size + 1)))
+                .thenReturn(List.of());
+
+        // Act
+        var page = userService.scrollUsersByBirthDateRange(new DateRange(null, to), cursor.encode(), size);
+
+        // Assert
+        assertTrue(page.content().isEmpty());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testScrollUsersByBirthDateRange_WithMalformedCursor_ShouldThrowValidationException() {
+        // Execute & Verify
+        assertThrows(INVALID_CURSOR, ValidationException.class,
+                () -> userService.scrollUsersByBirthDateRange(new DateRange(null, null), "???", 3));
+    }
+
     @Test
     void testCreateNotExistingUser_ShouldReturnSavedPublication() {
         // Prepare
+        var id = 11L;
         var user = FakeDataGenerator.userBuilder().build();
 
-        when(userRepository.existsByEmail(user.getEmail())).thenReturn(false);
+        when(userWriteRepository.insertIfEmailAbsent(user)).thenReturn(Optional.of(id));
 
-        // Execute & Verify
-        assertDoesNotThrow(() -> userService.create(user));
+        // Execute
+        var createdUser = userService.create(user);
+
+        // Verify
+        assertEquals(id, createdUser.getId());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(emailBloomFilter).put(user.getEmail());
+    }
+
+    @Test
+    void testUpdateEmail_WhenEmailFilterRulesEmailOut_ShouldNotQueryDatabase() {
+        // Prepare
+        long userId = 1L;
+        var newEmail = "new.email@example.com";
+        var existingUser = FakeDataGenerator.userBuilder().build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(emailBloomFilter.mightContain(newEmail)).thenReturn(false);
+
+        // Execute
+        userService.updateEmail(userId, newEmail, null);
+
+        // Verify
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(emailBloomFilter).put(newEmail);
+    }
+
+    @Test
+    void testUpdateEmail_WhenEmailFilterReportsFalsePositive_ShouldRecordIt() {
+        // Prepare
+        long userId = 1L;
+        var newEmail = "new.email@example.com";
+        var existingUser = FakeDataGenerator.userBuilder().build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userRepository.existsByEmail(newEmail)).thenReturn(false);
+
+        // Execute
+        userService.updateEmail(userId, newEmail, null);
+
+        // Verify
+        verify(emailBloomFilter).recordFalsePositive();
+    }
+
+    @Test
+    void testUpdate_WhenUniqueIndexRejectsEmail_ShouldThrowEntityAlreadyExistsException() {
+        // Prepare
+        long userId = 1L;
+        var existingUser = FakeDataGenerator.userBuilder().build();
+        var user = FakeDataGenerator.userBuilder().email("taken.elsewhere@example.com").build();
+        var violation = new ConstraintViolationException("duplicate key", new SQLException(), "users_email_key");
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(emailBloomFilter.mightContain(user.getEmail())).thenReturn(false);
+        doThrow(new DataIntegrityViolationException("duplicate key", violation)).when(userRepository).flush();
+
+        // Execute
+        var exception = assertThrows(EntityAlreadyExistsException.class, () -> userService.update(userId, user, null));
+
+        // Assert
+        assertTrue(exception.getMessage().contains(user.getEmail()));
+        verify(emailBloomFilter).add(user.getEmail());
+        verify(userChangeRepository, never()).record(anyLong(), any(), anyLong());
     }
 
     @Test
@@ -99,7 +417,7 @@ class UserServiceImplTest {
         // Prepare
         var user = FakeDataGenerator.userBuilder().build();
 
-        when(userRepository.existsByEmail(user.getEmail())).thenReturn(true);
+        when(userWriteRepository.insertIfEmailAbsent(user)).thenReturn(Optional.empty());
 
         // Execute & Verify
         assertThrows("User with email: " + user.getEmail() + " already exists!",
@@ -116,7 +434,7 @@ class UserServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         // Execute & Verify
-        assertDoesNotThrow(() -> userService.update(userId, user));
+        assertDoesNotThrow(() -> userService.update(userId, user, null));
     }
 
     @Test
@@ -130,7 +448,7 @@ class UserServiceImplTest {
         when(userRepository.existsById(userId)).thenReturn(false);
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.update(userId, user));
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.update(userId, user, null));
     }
 
     @Test
@@ -138,10 +456,11 @@ class UserServiceImplTest {
         // Prepare
         long userId = 1L;
 
-        when(userRepository.existsById(userId)).thenReturn(true);
+        when(userWriteRepository.deleteById(userId)).thenReturn(true);
 
         // Execute & Verify
         assertDoesNotThrow(() -> userService.deleteById(userId));
+        verify(userRepository, never()).existsById(any());
     }
 
     @Test
@@ -150,26 +469,113 @@ class UserServiceImplTest {
         long userId = 1L;
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.existsById(userId)).thenReturn(false);
+        when(userWriteRepository.deleteById(userId)).thenReturn(false);
 
         // Execute & Verify
         assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.deleteById(userId));
     }
 
     @Test
-    void testUpdateFirstNameOfExistingUser_ShouldReturnUpdatedUser() {
+    @SneakyThrows
+    void testPatchExistingUser_ShouldChangeOnlySuppliedFields() {
+        // Prepare
+        long userId = 1L;
+        var existingUser = FakeDataGenerator.userBuilder().build();
+        var firstName = existingUser.getFirstName();
+        var email = existingUser.getEmail();
+        var patch = objectMapper.readTree("""
+                {"lastName": "Doe", "phone": null}
+                """);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+
+        // Act
+        var patchedUser = userService.patch(userId, patch, null);
+
+        // Assert
+        assertEquals("Doe", patchedUser.getLastName());
+        assertNull(patchedUser.getPhone());
+        assertEquals(firstName, patchedUser.getFirstName());
+        assertEquals(email, patchedUser.getEmail());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @SneakyThrows
+    void testPatchExistingUser_ShouldRecordChangeAfterFlush() {
+        // Prepare
+        long userId = 1L;
+        var existingUser = FakeDataGenerator.userBuilder().id(userId).version(3L).build();
+        var patch = objectMapper.readTree("""
+                {"lastName": "Doe"}
+                """);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+
+        // Act
+        userService.patch(userId, patch, null);
+
+        // Assert
+        var order = inOrder(userRepository, userChangeRepository);
+        order.verify(userRepository).flush();
+        order.verify(userChangeRepository).record(userId, UserChangeType.UPDATED, 3L);
+    }
+
+    @Test
+    @SneakyThrows
+    void testPatchWithUnknownField_ShouldThrowValidationException() {
+        // Prepare
+        var patch = objectMapper.readTree("""
+                {"id": 5}
+                """);
+
+        // Execute & Verify
+        assertThrows(ValidationException.class, () -> userService.patch(1L, patch, null));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @SneakyThrows
+    void testPatchWithNonObjectDocument_ShouldThrowValidationException() {
+        // Prepare
+        var patch = objectMapper.readTree("[]");
+
+        // Execute & Verify
+        assertThrows(ValidationException.class, () -> userService.patch(1L, patch, null));
+    }
+
+    @Test
+    @SneakyThrows
+    void testPatchEmailToExistingOne_ShouldThrowEntityAlreadyExistsException() {
         // Prepare
         long userId = 1L;
-        var newFirstName = "John";
         var existingUser = FakeDataGenerator.userBuilder().build();
+        var patch = objectMapper.readTree("""
+                {"email": "taken@example.com"}
+                """);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userRepository.existsByEmail("taken@example.com")).thenReturn(true);
+
+        // Execute & Verify
+        assertThrows(EntityAlreadyExistsException.class, () -> userService.patch(userId, patch, null));
+    }
+
+    @Test
+    void testUpdateFirstNameOfExistingUser_ShouldReturnUpdatedUser() {
+        // Prepare
+        long userId = 1L;
+        var newFirstName = "John";
+        var storedUser = FakeDataGenerator.userBuilder().firstName(newFirstName).build();
+
+        when(userWriteRepository.updateFirstName(userId, newFirstName, null)).thenReturn(Optional.of(storedUser));
 
         // Act
-        var updatedUser = userService.updateFirstName(userId, newFirstName);
+        var updatedUser = userService.updateFirstName(userId, newFirstName, null);
 
         // Assert
         assertEquals(newFirstName, updatedUser.getFirstName());
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
@@ -179,10 +585,38 @@ class UserServiceImplTest {
         var newFirstName = "John";
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userWriteRepository.updateFirstName(userId, newFirstName, null)).thenReturn(Optional.empty());
+
+        // Execute & Verify
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateFirstName(userId, newFirstName, null));
+    }
+
+    @Test
+    void testUpdateFirstNameWithStaleVersion_ShouldThrowPreconditionFailedException() {
+        // Prepare
+        long userId = 1L;
+        var newFirstName = "John";
+
+        when(userWriteRepository.updateFirstName(userId, newFirstName, 3L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        // Execute & Verify
+        assertThrows(PreconditionFailedException.class, () -> userService.updateFirstName(userId, newFirstName, 3L));
+    }
+
+    @Test
+    void testUpdateWithStaleVersion_ShouldThrowPreconditionFailedExceptionAndKeepUser() {
+        // Prepare
+        long userId = 1L;
+        var storedUser = FakeDataGenerator.userBuilder().id(userId).version(4L).build();
+        var storedFirstName = storedUser.getFirstName();
+        var user = FakeDataGenerator.userBuilder().build();
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(storedUser));
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateFirstName(userId, newFirstName));
+        assertThrows(PreconditionFailedException.class, () -> userService.update(userId, user, 3L));
+        assertEquals(storedFirstName, storedUser.getFirstName());
     }
 
     @Test
@@ -190,12 +624,12 @@ class UserServiceImplTest {
         // Prepare
         long userId = 1L;
         var newLastName = "Doe";
-        var existingUser = FakeDataGenerator.userBuilder().build();
+        var storedUser = FakeDataGenerator.userBuilder().lastName(newLastName).build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userWriteRepository.updateLastName(userId, newLastName, null)).thenReturn(Optional.of(storedUser));
 
         // Act
-        var updatedUser = userService.updateLastName(userId, newLastName);
+        var updatedUser = userService.updateLastName(userId, newLastName, null);
 
         // Assert
         assertEquals(newLastName, updatedUser.getLastName());
@@ -208,10 +642,10 @@ class UserServiceImplTest {
         var newLastName = "Doe";
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userWriteRepository.updateLastName(userId, newLastName, null)).thenReturn(Optional.empty());
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateLastName(userId, newLastName));
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateLastName(userId, newLastName, null));
     }
 
     @Test
@@ -219,12 +653,12 @@ class UserServiceImplTest {
         // Prepare
         long userId = 1L;
         var newPhone = "111-222-333";
-        var existingUser = FakeDataGenerator.userBuilder().build();
+        var storedUser = FakeDataGenerator.userBuilder().phone(newPhone).build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userWriteRepository.updatePhone(userId, newPhone, null)).thenReturn(Optional.of(storedUser));
 
         // Act
-        var updatedUser = userService.updatePhone(userId, newPhone);
+        var updatedUser = userService.updatePhone(userId, newPhone, null);
 
         // Assert
         assertEquals(newPhone, updatedUser.getPhone());
@@ -237,10 +671,10 @@ class UserServiceImplTest {
         var newPhone = "111-222-333";
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userWriteRepository.updatePhone(userId, newPhone, null)).thenReturn(Optional.empty());
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updatePhone(userId, newPhone));
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updatePhone(userId, newPhone, null));
     }
 
     @Test
@@ -248,12 +682,12 @@ class UserServiceImplTest {
         // Prepare
         long userId = 1L;
         var newAddress = "Liberty Street";
-        var existingUser = FakeDataGenerator.userBuilder().build();
+        var storedUser = FakeDataGenerator.userBuilder().address(newAddress).build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userWriteRepository.updateAddress(userId, newAddress, null)).thenReturn(Optional.of(storedUser));
 
         // Act
-        var updatedUser = userService.updateAddress(userId, newAddress);
+        var updatedUser = userService.updateAddress(userId, newAddress, null);
 
         // Assert
         assertEquals(newAddress, updatedUser.getAddress());
@@ -266,10 +700,10 @@ class UserServiceImplTest {
         var newAddress = "Liberty Street";
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userWriteRepository.updateAddress(userId, newAddress, null)).thenReturn(Optional.empty());
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateAddress(userId, newAddress));
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateAddress(userId, newAddress, null));
     }
 
     @Test
@@ -277,12 +711,12 @@ class UserServiceImplTest {
         // Prepare
         long userId = 1L;
         var newBirthDate = LocalDate.of(2000, 1, 1);
-        var existingUser = FakeDataGenerator.userBuilder().build();
+        var storedUser = FakeDataGenerator.userBuilder().birthDate(newBirthDate).build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userWriteRepository.updateBirthDate(userId, newBirthDate, null)).thenReturn(Optional.of(storedUser));
 
         // Act
-        var updatedUser = userService.updateBirthdate(userId, newBirthDate);
+        var updatedUser = userService.updateBirthdate(userId, newBirthDate, null);
 
         // Assert
         assertEquals(newBirthDate, updatedUser.getBirthDate());
@@ -295,10 +729,10 @@ class UserServiceImplTest {
         var newBirthDate = LocalDate.of(2000, 1, 1);
         var errorMessage = String.format(USER_WITH_ID_NOT_FOUND, userId);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userWriteRepository.updateBirthDate(userId, newBirthDate, null)).thenReturn(Optional.empty());
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateBirthdate(userId, newBirthDate));
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateBirthdate(userId, newBirthDate, null));
     }
 
     @Test
@@ -311,7 +745,7 @@ class UserServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
 
         // Act
-        var updatedUser = userService.updateEmail(userId, newEmail);
+        var updatedUser = userService.updateEmail(userId, newEmail, null);
 
         // Assert
         assertEquals(newEmail, updatedUser.getEmail());
@@ -327,7 +761,7 @@ class UserServiceImplTest {
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         // Execute & Verify
-        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateEmail(userId, newEmail));
+        assertThrows(errorMessage, EntityNotFoundException.class, () -> userService.updateEmail(userId, newEmail, null));
     }
 
     @Test
@@ -343,6 +777,6 @@ class UserServiceImplTest {
 
         // Execute & Verify
         assertThrows("User with Email: " + newEmail + " 1 was not found!",
-                EntityAlreadyExistsException.class, () -> userService.updateEmail(userId, newEmail));
+                EntityAlreadyExistsException.class, () -> userService.updateEmail(userId, newEmail, null));
     }
 }
@@ -0,0 +1,124 @@
+package com.clearsolutions.usermanager.testutils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Opens one connection per request and sends all requests of a burst at once, so that the server
+ * has to hold every one of them in flight at the same time. While the burst runs, the live JVM threads
+ * and the database connections in use are sampled to find their peaks.
+ * The client runs on a single event loop thread of its own, so it adds almost nothing to the thread count.
+ * Every request needs a file descriptor on both ends, so the process needs twice the burst size of them.
+ */
+public final class BurstLoad {
+
+    private static final Duration RESPONSE_TIMEOUT = Duration.ofMinutes(2);
+    private static final long SAMPLE_PERIOD_MILLIS = 5;
+
+    private BurstLoad() {}
+
+    /**
+     * Outcome of one burst.
+     *
+     * @param concurrency     The number of requests sent at once.
+     * @param completed       The number of requests that finished, successfully or not.
+     * @param errors          The number of requests that failed or did not return 2xx.
+     * @param elapsedMillis   The time until the last response arrived.
+     * @param p50Millis       The median latency.
+     * @param p99Millis       The 99th percentile latency.
+     * @param peakThreads     The highest number of live JVM threads during the burst.
+     * @param peakConnections The highest number of database connections in use during the burst.
+     */
+    public record BurstResult(int concurrency, long completed, long errors, double elapsedMillis,
+                              double p50Millis, double p99Millis, int peakThreads, int peakConnections) {
+
+        @Override
+        public String toString() {
+            return String.format("%6d concurrent: %8.0f ms total, p50 %8.2f ms, p99 %8.2f ms, "
+                            + "peak %4d threads, peak %3d DB connections, %d errors",
+                    concurrency, elapsedMillis, p50Millis, p99Millis, peakThreads, peakConnections, errors);
+        }
+    }
+
+    /**
+     * Sends a burst of GET requests.
+     *
+     * @param baseUrl          The address of the server.
+     * @param paths            Supplies the path of every request.
+     * @param concurrency      The number of requests to send at once.
+     * @param connectionsInUse Reports the database connections the server currently uses.
+     * @return The outcome of the burst.
+     */
+    public static BurstResult fire(String baseUrl, Supplier<String> paths, int concurrency, IntSupplier connectionsInUse) {
+        var provider = ConnectionProvider.builder("burst-load")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        var loop = LoopResources.create("burst-load", 1, true);
+        var client = HttpClient.create(provider)
+                .runOn(loop)
+                .baseUrl(baseUrl)
+                .responseTimeout(RESPONSE_TIMEOUT);
+
+        var threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        var peakConnections = new AtomicInteger();
+        var sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakConnections.accumulateAndGet(connectionsInUse.getAsInt(), Math::max),
+                0, SAMPLE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+
+        var errors = new AtomicLong();
+        var started = System.nanoTime();
+        try {
+            var latencies = Flux.range(0, concurrency)
+                    .map(i -> paths.get())
+                    .flatMap(path -> Mono.defer(() -> {
+                        var sent = System.nanoTime();
+                        return client.get().uri(path)
+                                .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                                .doOnNext(status -> {
+                                    if (status / 100 != 2) {
+                                        errors.incrementAndGet();
+                                    }
+                                })
+                                .onErrorResume(e -> {
+                                    errors.incrementAndGet();
+                                    return Mono.just(0);
+                                })
+                                .map(status -> System.nanoTime() - sent);
+                    }), concurrency)
+                    .collectSortedList()
+                    .block();
+            var elapsedMillis = (System.nanoTime() - started) / 1_000_000.0;
+
+            return new BurstResult(concurrency, latencies.size(), errors.get(), elapsedMillis,
+                    percentileMillis(latencies.stream().mapToLong(Long::longValue).toArray(), 50),
+                    percentileMillis(latencies.stream().mapToLong(Long::longValue).toArray(), 99),
+                    threads.getPeakThreadCount(), peakConnections.get());
+        } finally {
+            sampler.shutdownNow();
+            provider.disposeLater().block();
+            loop.disposeLater().block();
+        }
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.clearsolutions.usermanager.testutils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Stands in for a slow database: every connection taken from the pool is held for an extra
+ * {@code test.database.latencyMillis} before it is handed out, the way a query stalls on the server.
+ * The wait is a plain sleep, so a virtual thread unmounts from its carrier while it waits.
+ */
+@TestConfiguration
+public class DatabaseLatencyConfig {
+
+    @Bean
+    static BeanPostProcessor databaseLatencyPostProcessor(@Value("${test.database.latencyMillis:20}") long latencyMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        ? new SlowDataSource(dataSource, latencyMillis)
+                        : bean;
+            }
+        };
+    }
+
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        private final long latencyMillis;
+
+        private SlowDataSource(DataSource targetDataSource, long latencyMillis) {
+            super(targetDataSource);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var connection = super.getConnection();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                connection.close();
+                throw new SQLException("Interrupted while simulating database latency", e);
+            }
+            return connection;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.clearsolutions.usermanager.testutils;
 
+import com.clearsolutions.usermanager.dto.UserView;
 import com.clearsolutions.usermanager.model.User;
 import com.clearsolutions.usermanager.testutils.enums.UserFieldName;
 import com.github.javafaker.Faker;
@@ -18,11 +19,15 @@ public class FakeDataGenerator {
     @Getter
     private static final List<User> users = new ArrayList<>();
 
+    @Getter
+    private static final List<UserView> userViews = new ArrayList<>();
+
     private FakeDataGenerator() {
     }
 
     static {
         users.addAll(generateUsers());
+        users.forEach(user -> userViews.add(UserView.of(user)));
     }
 
     static List<User> generateUsers() {
@@ -38,6 +43,7 @@ public class FakeDataGenerator {
     }
 
     public static class UserBuilder {
+        private Long id;
         private String firstName = FAKER.name().firstName();
         private String lastName = FAKER.name().lastName();
         private String email = FAKER.internet().emailAddress();
@@ -45,6 +51,7 @@ public class FakeDataGenerator {
                 .toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
         private String address = FAKER.address().fullAddress();
         private String phone = FAKER.phoneNumber().phoneNumber();
+        private Long version;
 
         public UserBuilder withInvalid(UserFieldName... fields) {
             Arrays.stream(fields)
@@ -59,6 +66,11 @@ public class FakeDataGenerator {
             return this;
         }
 
+        public UserBuilder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
         public UserBuilder firstName(String firstName) {
             this.firstName = firstName;
             return this;
@@ -89,14 +101,21 @@ public class FakeDataGenerator {
             return this;
         }
 
+        public UserBuilder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public User build() {
             return User.builder()
+                    .id(this.id)
                     .firstName(this.firstName)
                     .lastName(this.lastName)
                     .email(this.email)
                     .birthDate(this.birthDate)
                     .phone(this.phone)
                     .address(this.address)
+                    .version(this.version)
                     .build();
         }
     }
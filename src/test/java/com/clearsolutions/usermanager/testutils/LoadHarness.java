@@ -0,0 +1,136 @@
+package com.clearsolutions.usermanager.testutils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator: a fixed number of clients each send a request, wait for the response
+ * and immediately send the next one, for a fixed time per concurrency level.
+ */
+public final class LoadHarness {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private LoadHarness() {}
+
+    /**
+     * Outcome of one concurrency level.
+     *
+     * @param concurrency   The number of concurrent clients.
+     * @param requests      The number of completed requests.
+     * @param errors        The number of requests that failed or did not return 2xx.
+     * @param throughput    The completed requests per second.
+     * @param p50Millis     The median latency.
+     * @param p99Millis     The 99th percentile latency.
+     * @param maxMillis     The highest latency.
+     */
+    public record LevelResult(int concurrency, long requests, long errors, double throughput,
+                              double p50Millis, double p99Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%5d clients: %7.0f req/s, p50 %8.2f ms, p99 %8.2f ms, max %8.2f ms, %d errors",
+                    concurrency, throughput, p50Millis, p99Millis, maxMillis, errors);
+        }
+    }
+
+    /**
+     * Runs every concurrency level in turn against the URIs the factory returns.
+     *
+     * @param uris              Supplies the URI of every request.
+     * @param concurrencyLevels The numbers of concurrent clients, in the order to run them.
+     * @param levelDuration     How long to keep each level running.
+     * @return The outcome of every level.
+     */
+    public static List<LevelResult> run(Supplier<URI> uris, int[] concurrencyLevels, Duration levelDuration)
+            throws InterruptedException, ExecutionException {
+        var results = new ArrayList<LevelResult>();
+        for (var concurrency : concurrencyLevels) {
+            results.add(runLevel(uris, concurrency, levelDuration));
+        }
+        return results;
+    }
+
+    private static LevelResult runLevel(Supplier<URI> uris, int concurrency, Duration levelDuration)
+            throws InterruptedException, ExecutionException {
+        var responses = Executors.newCachedThreadPool();
+        var client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(responses)
+                .build();
+        var clients = Executors.newFixedThreadPool(concurrency);
+        var started = System.nanoTime();
+        var deadline = started + levelDuration.toNanos();
+
+        try {
+            var tasks = new ArrayList<Callable<ClientResult>>();
+            for (int i = 0; i < concurrency; i++) {
+                tasks.add(() -> {
+                    var latencies = new long[1024];
+                    var count = 0;
+                    var errors = 0L;
+                    while (System.nanoTime() < deadline) {
+                        var request = HttpRequest.newBuilder(uris.get())
+                                .timeout(REQUEST_TIMEOUT)
+                                .GET()
+                                .build();
+                        var sent = System.nanoTime();
+                        try {
+                            var status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status / 100 != 2) {
+                                errors++;
+                            }
+                        } catch (IOException e) {
+                            errors++;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    return new ClientResult(Arrays.copyOf(latencies, count), errors);
+                });
+            }
+
+            var latencies = new long[0];
+            var errors = 0L;
+            for (var future : clients.invokeAll(tasks)) {
+                var result = future.get();
+                var offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + result.latencies().length);
+                System.arraycopy(result.latencies(), 0, latencies, offset, result.latencies().length);
+                errors += result.errors();
+            }
+            var elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            return new LevelResult(concurrency, latencies.length, errors, latencies.length / elapsedSeconds,
+                    percentileMillis(latencies, 50), percentileMillis(latencies, 99), percentileMillis(latencies, 100));
+        } finally {
+            clients.shutdownNow();
+            responses.shutdownNow();
+        }
+    }
+
+    private static double percentileMillis(long[] sortedNanos, int percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        var index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record ClientResult(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.clearsolutions.usermanager.testutils;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Records the {@code jdk.VirtualThreadPinned} JFR events emitted while a virtual thread blocks
+ * inside a {@code synchronized} block or a native frame and so keeps its carrier thread busy.
+ * Pinned sections are grouped by the innermost frame that does not belong to the JDK,
+ * which usually points at the driver or pool code that holds the monitor.
+ * On Java versions without virtual threads no events are emitted and the report stays empty.
+ */
+public final class PinningRecorder implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int REPORTED_SITES = 10;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, AtomicLong> pinnedSites = new ConcurrentHashMap<>();
+
+    private PinningRecorder() {
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> pinnedSites
+                .computeIfAbsent(pinnedSite(event), site -> new AtomicLong())
+                .incrementAndGet());
+    }
+
+    /**
+     * Starts recording pinned virtual threads in the background.
+     *
+     * @return The running recorder; close it to stop recording.
+     */
+    public static PinningRecorder start() {
+        var recorder = new PinningRecorder();
+        recorder.stream.startAsync();
+        return recorder;
+    }
+
+    /**
+     * @return The number of pinned sections recorded so far.
+     */
+    public long pinnedCount() {
+        return pinnedSites.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * @return The sites that pinned most often with their counts, one per line.
+     */
+    public String report() {
+        if (pinnedSites.isEmpty()) {
+            return "no pinned virtual threads";
+        }
+        return pinnedSites.entrySet().stream()
+                .sorted(Map.Entry.<String, AtomicLong>comparingByValue(
+                        (a, b) -> Long.compare(b.get(), a.get())))
+                .limit(REPORTED_SITES)
+                .map(entry -> String.format("%6d x %s", entry.getValue().get(), entry.getKey()))
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private static String pinnedSite(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                .findFirst()
+                .orElse("JDK internal");
+    }
+}
@@ -0,0 +1,49 @@
+package com.clearsolutions.usermanager.testutils;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for reading PostgreSQL execution plans in benchmarks.
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    /**
+     * Runs EXPLAIN for the given SQL on a single connection.
+     *
+     * @param jdbcTemplate     The template used to obtain a connection.
+     * @param sql              The statement to explain, with JDBC placeholders.
+     * @param parameters       The values bound to the placeholders in order.
+     * @param seqScanDisabled  Whether sequential scans are disabled while planning.
+     * @return The text plan, one plan node per line.
+     */
+    public static String explain(JdbcTemplate jdbcTemplate, String sql, List<?> parameters, boolean seqScanDisabled) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (var settings = connection.createStatement()) {
+                settings.execute("SET enable_seqscan = " + (seqScanDisabled ? "off" : "on"));
+            }
+            try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                var planLines = new ArrayList<String>();
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        planLines.add(resultSet.getString(1));
+                    }
+                }
+                return String.join(System.lineSeparator(), planLines);
+            } finally {
+                try (var settings = connection.createStatement()) {
+                    settings.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.clearsolutions.usermanager.testutils;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Points R2DBC and Flyway at the database behind {@code spring.datasource.url}, so that reactive tests
+ * run against the same database as the JDBC ones, including a Testcontainers {@code jdbc:tc:} one.
+ * The actual address is read from an open JDBC connection, which is kept open for the rest of the run
+ * so that Testcontainers does not stop the container behind it.
+ */
+public class R2dbcFromJdbcInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static Connection keepAlive;
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        var environment = context.getEnvironment();
+        var username = environment.getProperty("spring.datasource.username", "");
+        var password = environment.getProperty("spring.datasource.password", "");
+        var jdbcUrl = resolveJdbcUrl(environment.getRequiredProperty("spring.datasource.url"), username, password);
+        var address = URI.create(jdbcUrl.substring("jdbc:".length()));
+
+        TestPropertySourceUtils.addInlinedPropertiesToEnvironment(context,
+                "spring.r2dbc.url=r2dbc:postgresql://" + address.getHost() + ":" + address.getPort() + address.getPath(),
+                "spring.r2dbc.username=" + username,
+                "spring.r2dbc.password=" + password,
+                "spring.flyway.url=" + jdbcUrl,
+                "spring.flyway.user=" + username,
+                "spring.flyway.password=" + password);
+    }
+
+    private static synchronized String resolveJdbcUrl(String url, String username, String password) {
+        try {
+            if (keepAlive == null || keepAlive.isClosed()) {
+                keepAlive = DriverManager.getConnection(url, username, password);
+            }
+            return keepAlive.getMetaData().getURL();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot connect to " + url, e);
+        }
+    }
+}
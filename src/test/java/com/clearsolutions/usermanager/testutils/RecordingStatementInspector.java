@@ -0,0 +1,30 @@
+package com.clearsolutions.usermanager.testutils;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate {@link StatementInspector} that records every SQL statement Hibernate prepares,
+ * so tests can inspect the SQL that was actually generated.
+ * Enable it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> getStatements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
@@ -0,0 +1,42 @@
+package com.clearsolutions.usermanager.testutils;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Fills the users table with a large, deterministic data set for benchmarks.
+ * Seeded rows are recognisable by their email prefix, so they can be removed afterwards.
+ */
+public final class UserTableSeeder {
+
+    public static final String SEED_EMAIL_PREFIX = "seed.user";
+
+    private UserTableSeeder() {
+    }
+
+    /**
+     * Inserts the given number of users with birth dates spread between 1940 and 2002
+     * and refreshes the planner statistics.
+     *
+     * @param jdbcTemplate The template used to run the statements.
+     * @param rows         The number of users to insert.
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("""
+                INSERT INTO users (first_name, last_name, email, birth_date, address, phone)
+                SELECT 'First' || g, 'Last' || g, ? || g || '@example.com',
+                       DATE '1940-01-01' + (g::bigint * 7919 % 23000)::int, 'Street ' || g, '+38050' || lpad(g::text, 7, '0')
+                FROM generate_series(1, ?) AS g
+                """, SEED_EMAIL_PREFIX, rows);
+        jdbcTemplate.execute("ANALYZE users");
+    }
+
+    /**
+     * Removes every user inserted by {@link #seed(JdbcTemplate, int)}.
+     *
+     * @param jdbcTemplate The template used to run the statements.
+     */
+    public static void clean(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", SEED_EMAIL_PREFIX + "%");
+        jdbcTemplate.execute("ANALYZE users");
+    }
+}